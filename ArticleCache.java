@@ -0,0 +1,240 @@
+/**
+ * The ArticleCache class keeps the displayed text of recently viewed help articles, so
+ * viewing a popular article again does not go back to the database.
+ *
+ * Responsibilities:
+ * - Map an article id to its displayed text without boxing the id, using an open
+ *   addressing table of int keys.
+ * - Bound the cache by the total characters held, evicting with the clock algorithm
+ *   so articles that are read often stay cached.
+ * - Drop an article when it changes and count hits and misses.
+ *
+ * Like QueryResultCache, a caller takes a stamp before it reads an article and stores
+ * the text with that stamp, so an article changed while it was being read is not
+ * cached. The limit can be changed with the cse360.articleCache.maxChars system property.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+
+class ArticleCache {
+
+	/** ------------ Declarations  ------------ */
+
+	static final long DEFAULT_MAX_CHARS = 4000000;
+	static final String MAX_CHARS_PROPERTY = "cse360.articleCache.maxChars";
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private final long maxChars;
+
+	/** Slots of the table. A slot is in use when values[slot] is not null. */
+	private int[] keys = new int[INITIAL_CAPACITY];
+	private String[] values = new String[INITIAL_CAPACITY];
+	private boolean[] referenced = new boolean[INITIAL_CAPACITY];
+
+	private int size = 0;
+	private int hand = 0;
+	private long totalChars = 0;
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	/** Raised by every invalidation, so a read that overlapped one is not cached. */
+	private long invalidations = 0;
+
+
+	ArticleCache() {
+		this(Long.getLong(MAX_CHARS_PROPERTY, DEFAULT_MAX_CHARS));
+	}
+
+	ArticleCache(long maxChars) {
+		this.maxChars = maxChars;
+	}
+
+
+	/** ------------ Lookup  ------------ */
+
+	/**
+	 * Returns the cached text of an article, or null if it is not cached.
+	 */
+	public synchronized String get(int id) {
+		int slot = find(id);
+		if (slot < 0) {
+			misses++;
+			return null;
+		}
+		referenced[slot] = true;
+		hits++;
+		return values[slot];
+	}
+
+	/**
+	 * Returns the current stamp. Take it before reading the article and pass it to put.
+	 */
+	public synchronized long stamp() {
+		return invalidations;
+	}
+
+	/**
+	 * Caches the text of an article read at the given stamp, evicting others until the
+	 * cache fits its limit. Text read before an article was invalidated, or longer than
+	 * the whole cache, is not kept.
+	 */
+	public synchronized void put(int id, String value, long stamp) {
+		if (stamp != invalidations || value.length() > maxChars) {
+			return;
+		}
+		int slot = find(id);
+		if (slot >= 0) {
+			totalChars += value.length() - values[slot].length();
+			values[slot] = value;
+			referenced[slot] = true;
+		} else {
+			if ((size + 1) * 2 > keys.length) {
+				resize(keys.length * 2);
+			}
+			slot = indexFor(id, keys.length);
+			while (values[slot] != null) {
+				slot = (slot + 1) & (keys.length - 1);
+			}
+			keys[slot] = id;
+			values[slot] = value;
+			// A new entry starts unreferenced, so one that is never read again goes first
+			referenced[slot] = false;
+			size++;
+			totalChars += value.length();
+		}
+
+		while (totalChars > maxChars) {
+			evictOne(id);
+		}
+	}
+
+
+	/** ------------ Invalidation  ------------ */
+
+	/**
+	 * Drops an article, used when it is edited or deleted.
+	 */
+	public synchronized void invalidate(int id) {
+		invalidations++;
+		int slot = find(id);
+		if (slot >= 0) {
+			removeSlot(slot);
+		}
+	}
+
+	public synchronized void clear() {
+		invalidations++;
+		keys = new int[INITIAL_CAPACITY];
+		values = new String[INITIAL_CAPACITY];
+		referenced = new boolean[INITIAL_CAPACITY];
+		size = 0;
+		hand = 0;
+		totalChars = 0;
+	}
+
+	/**
+	 * Returns the entry count, size, hit rate and evictions, for diagnostics.
+	 */
+	public synchronized String getStatistics() {
+		long lookups = hits + misses;
+		return "Entries: " + size + ", Characters: " + totalChars
+				+ ", Hits: " + hits + ", Misses: " + misses
+				+ ", Hit rate: " + (lookups == 0 ? 0 : (100 * hits / lookups)) + "%"
+				+ ", Evictions: " + evictions;
+	}
+
+
+	/** ------------ Table  ------------ */
+
+	private static int indexFor(int id, int capacity) {
+		int h = id * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & (capacity - 1);
+	}
+
+	private int find(int id) {
+		int mask = keys.length - 1;
+		for (int slot = indexFor(id, keys.length); values[slot] != null; slot = (slot + 1) & mask) {
+			if (keys[slot] == id) {
+				return slot;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Advances the clock hand, giving referenced entries a second chance, and evicts
+	 * the first entry that has not been read since the hand last passed it. The entry
+	 * being added is skipped unless it is the only one left.
+	 */
+	private void evictOne(int keep) {
+		int mask = keys.length - 1;
+		while (true) {
+			hand &= mask;
+			if (values[hand] != null && (keys[hand] != keep || size == 1)) {
+				if (referenced[hand]) {
+					referenced[hand] = false;
+				} else {
+					removeSlot(hand);
+					evictions++;
+					return;
+				}
+			}
+			hand++;
+		}
+	}
+
+	/**
+	 * Empties a slot and shifts back the entries after it that probed past it, so every
+	 * remaining entry can still be found without tombstones.
+	 */
+	private void removeSlot(int slot) {
+		int mask = keys.length - 1;
+		totalChars -= values[slot].length();
+		values[slot] = null;
+		referenced[slot] = false;
+		size--;
+
+		int next = (slot + 1) & mask;
+		while (values[next] != null) {
+			int home = indexFor(keys[next], keys.length);
+			// Move the entry back if the emptied slot lies between its home and where it is
+			if (((next - home) & mask) >= ((next - slot) & mask)) {
+				keys[slot] = keys[next];
+				values[slot] = values[next];
+				referenced[slot] = referenced[next];
+				values[next] = null;
+				referenced[next] = false;
+				slot = next;
+			}
+			next = (next + 1) & mask;
+		}
+	}
+
+	private void resize(int capacity) {
+		int[] oldKeys = keys;
+		String[] oldValues = values;
+		boolean[] oldReferenced = referenced;
+		keys = new int[capacity];
+		values = new String[capacity];
+		referenced = new boolean[capacity];
+		hand = 0;
+
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldValues[i] != null) {
+				int slot = indexFor(oldKeys[i], capacity);
+				while (values[slot] != null) {
+					slot = (slot + 1) & (capacity - 1);
+				}
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+				referenced[slot] = oldReferenced[i];
+			}
+		}
+	}
+}
@@ -0,0 +1,252 @@
+/**
+ * The ArticleCatalog class keeps an in-memory copy of the metadata of every live help
+ * article, without the bodies, so the screens that list articles do not have to go
+ * back to the database for titles, levels and groups that rarely change.
+ *
+ * Responsibilities:
+ * - Load the metadata of every article that is not deleted.
+ * - Apply each change made through DatabaseHelper as it is written.
+ * - Serve reads from an immutable snapshot of the catalog.
+ * - Keep the autocomplete of the public articles, and the autocomplete and fuzzy
+ *   title matching of the generic message articles, in step with the catalog.
+ *
+ * Readers never lock: every change builds a new map and publishes it through a
+ * volatile field, so a reader always sees one complete snapshot. Writers are
+ * serialized, which is cheap because articles change far less often than they are
+ * listed.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+
+class ArticleCatalog {
+
+	/** ------------ Declarations  ------------ */
+
+	private static final String CATALOG_COLUMNS = "SELECT id, title, author, level, groupIdentifier, keywords, accessLevel, uniqueID FROM Articles ";
+
+	/** The group of the articles that answer generic messages. */
+	static final String GENERIC_MESSAGE_GROUP = "Query";
+
+	private final Connection connection;
+
+	/** Titles, authors and keywords of the public articles. */
+	private final ArticleCompletions completions = new ArticleCompletions();
+
+	/** Titles of the generic message articles, which are looked up by exact title. */
+	private final ArticleCompletions genericMessageCompletions = new ArticleCompletions();
+
+	/** Titles of the generic message articles, for questions that do not match exactly. */
+	private final FuzzyTitleMatcher genericMessageMatcher = new FuzzyTitleMatcher();
+
+	/** The current snapshot, ordered by id. Replaced, never modified. */
+	private volatile SortedMap<Integer, Entry> articles = Collections.emptySortedMap();
+
+
+	ArticleCatalog(Connection connection) {
+		this.connection = connection;
+	}
+
+
+	/** ------------ Load  ------------ */
+
+	/**
+	 * Replaces the catalog with every live article in the database.
+	 *
+	 * @throws SQLException if there is an error executing the query.
+	 */
+	public synchronized void load() throws SQLException {
+		TreeMap<Integer, Entry> loaded = new TreeMap<>();
+		try (PreparedStatement pstmt = connection.prepareStatement(CATALOG_COLUMNS + "WHERE deletedAt IS NULL");
+		     ResultSet rs = pstmt.executeQuery()) {
+			while (rs.next()) {
+				Entry entry = new Entry(rs);
+				loaded.put(entry.id, entry);
+			}
+		}
+		articles = Collections.unmodifiableSortedMap(loaded);
+		completions.clear();
+		genericMessageCompletions.clear();
+		genericMessageMatcher.clear();
+		for (Entry entry : loaded.values()) {
+			addCompletions(entry);
+		}
+	}
+
+
+	/** ------------ Write Through  ------------ */
+
+	/**
+	 * Reads one article by its unique ID and adds it, used after it is created or restored.
+	 *
+	 * @param uniqueID the unique ID of the article.
+	 * @throws SQLException if there is an error executing the query.
+	 */
+	public synchronized void refresh(long uniqueID) throws SQLException {
+		try (PreparedStatement pstmt = connection.prepareStatement(CATALOG_COLUMNS + "WHERE uniqueID = ? AND deletedAt IS NULL")) {
+			pstmt.setLong(1, uniqueID);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				if (rs.next()) {
+					Entry entry = new Entry(rs);
+					TreeMap<Integer, Entry> updated = new TreeMap<>(articles);
+					updated.put(entry.id, entry);
+					articles = Collections.unmodifiableSortedMap(updated);
+					addCompletions(entry);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Drops one article, used after it is deleted.
+	 */
+	public synchronized void remove(int id) {
+		if (articles.containsKey(id)) {
+			TreeMap<Integer, Entry> updated = new TreeMap<>(articles);
+			updated.remove(id);
+			articles = Collections.unmodifiableSortedMap(updated);
+			completions.remove(id);
+			genericMessageCompletions.remove(id);
+			genericMessageMatcher.remove(id);
+		}
+	}
+
+	/**
+	 * Drops every article, used after a delete all.
+	 */
+	public synchronized void clear() {
+		articles = Collections.emptySortedMap();
+		completions.clear();
+		genericMessageCompletions.clear();
+		genericMessageMatcher.clear();
+	}
+
+	/**
+	 * Adds an article to the autocomplete it belongs in, replacing what an earlier
+	 * version of it added.
+	 */
+	private void addCompletions(Entry entry) {
+		completions.remove(entry.id);
+		genericMessageCompletions.remove(entry.id);
+		genericMessageMatcher.remove(entry.id);
+		if (entry.isPublic()) {
+			completions.put(entry.id, entry.title, entry.author, entry.keywords);
+		}
+		if (GENERIC_MESSAGE_GROUP.equals(entry.groupIdentifier)) {
+			genericMessageCompletions.put(entry.id, entry.title, entry.author, null);
+			genericMessageMatcher.put(entry.id, entry.title);
+		}
+	}
+
+
+	/** ------------ Read  ------------ */
+
+	/**
+	 * Returns the current snapshot, ordered by id. It does not change after it is returned.
+	 */
+	public Collection<Entry> snapshot() {
+		return articles.values();
+	}
+
+	/**
+	 * Returns the articles of the current snapshot with an id above the given one,
+	 * ordered by id, without walking the ones before it.
+	 */
+	public Collection<Entry> snapshotAfter(int afterId) {
+		return articles.tailMap(afterId + 1).values();
+	}
+
+	public boolean isEmpty() {
+		return articles.isEmpty();
+	}
+
+	public ArticleCompletions getCompletions() {
+		return completions;
+	}
+
+	public ArticleCompletions getGenericMessageCompletions() {
+		return genericMessageCompletions;
+	}
+
+	public FuzzyTitleMatcher getGenericMessageMatcher() {
+		return genericMessageMatcher;
+	}
+
+	public Entry get(int id) {
+		return articles.get(id);
+	}
+
+	public int size() {
+		return articles.size();
+	}
+
+	public int countInGroup(String groupIdentifier) {
+		int count = 0;
+		for (Entry entry : articles.values()) {
+			if (groupIdentifier.equals(entry.groupIdentifier)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	public boolean hasUniqueID(long uniqueID) {
+		for (Entry entry : articles.values()) {
+			if (entry.uniqueID == uniqueID) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public boolean hasTitle(String title) {
+		for (Entry entry : articles.values()) {
+			if (entry.title != null && entry.title.equals(title)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * The metadata kept for one article.
+	 */
+	static class Entry {
+		final int id;
+		final String title;
+		final String author;
+		final String level;
+		final String groupIdentifier;
+		final String keywords;
+		final String accessLevel;
+		final long uniqueID;
+
+		private Entry(ResultSet rs) throws SQLException {
+			this.id = rs.getInt("id");
+			this.title = rs.getString("title");
+			this.author = rs.getString("author");
+			this.level = rs.getString("level");
+			this.groupIdentifier = rs.getString("groupIdentifier");
+			this.keywords = rs.getString("keywords");
+			this.accessLevel = rs.getString("accessLevel");
+			this.uniqueID = rs.getLong("uniqueID");
+		}
+
+		boolean isPublic() {
+			return "public".equals(accessLevel);
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/**
+ * The ArticleCompletions class serves autocomplete for one set of articles: their
+ * titles, authors and keywords, each in a CompletionTrie kept up to date as articles
+ * are added and removed.
+ *
+ * Responsibilities:
+ * - Remember what each article added, so it can be taken out again by id alone.
+ * - Split keywords on commas and semicolons into separate completions.
+ * - Return the most common titles, authors or keywords starting with a prefix.
+ *
+ * Articles are added on the database thread and completions are read on the JavaFX
+ * Application Thread, so every method locks; each call takes microseconds.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+
+class ArticleCompletions {
+
+	/** ------------ Declarations  ------------ */
+
+	/** How many completions a field suggests. */
+	static final int SUGGESTIONS = 8;
+
+	private final CompletionTrie titles = new CompletionTrie();
+	private final CompletionTrie authors = new CompletionTrie();
+	private final CompletionTrie keywords = new CompletionTrie();
+
+	/** What each article added: its title, its author, then its keywords. */
+	private final Map<Integer, List<String>> articles = new HashMap<>();
+
+
+	/** ------------ Update  ------------ */
+
+	/**
+	 * Adds an article, replacing what it added before.
+	 *
+	 * @param id the id of the article.
+	 * @param title the plaintext title.
+	 * @param author the author.
+	 * @param keywordList the plaintext keywords, separated by commas or semicolons.
+	 */
+	public synchronized void put(int id, String title, String author, String keywordList) {
+		remove(id);
+		List<String> added = new ArrayList<>();
+		added.add(title);
+		added.add(author);
+		titles.add(title);
+		authors.add(author);
+		for (String keyword : splitKeywords(keywordList)) {
+			added.add(keyword);
+			keywords.add(keyword);
+		}
+		articles.put(id, added);
+	}
+
+	/**
+	 * Takes out what an article added.
+	 */
+	public synchronized void remove(int id) {
+		List<String> added = articles.remove(id);
+		if (added == null) {
+			return;
+		}
+		titles.remove(added.get(0));
+		authors.remove(added.get(1));
+		for (String keyword : added.subList(2, added.size())) {
+			keywords.remove(keyword);
+		}
+	}
+
+	public synchronized void clear() {
+		titles.clear();
+		authors.clear();
+		keywords.clear();
+		articles.clear();
+	}
+
+
+	/** ------------ Complete  ------------ */
+
+	public synchronized List<String> completeTitles(String prefix) {
+		return titles.complete(prefix, SUGGESTIONS);
+	}
+
+	public synchronized List<String> completeAuthors(String prefix) {
+		return authors.complete(prefix, SUGGESTIONS);
+	}
+
+	public synchronized List<String> completeKeywords(String prefix) {
+		return keywords.complete(prefix, SUGGESTIONS);
+	}
+
+	/**
+	 * Completes a search for words: keywords first, then titles, without repeats.
+	 */
+	public synchronized List<String> completeWords(String prefix) {
+		Set<String> seen = new HashSet<>();
+		List<String> completions = new ArrayList<>();
+		for (String completion : keywords.complete(prefix, SUGGESTIONS)) {
+			if (seen.add(completion.toLowerCase(Locale.ROOT))) {
+				completions.add(completion);
+			}
+		}
+		for (String completion : titles.complete(prefix, SUGGESTIONS)) {
+			if (completions.size() < SUGGESTIONS && seen.add(completion.toLowerCase(Locale.ROOT))) {
+				completions.add(completion);
+			}
+		}
+		return completions;
+	}
+
+
+	/** ------------ Helpers  ------------ */
+
+	private static List<String> splitKeywords(String keywordList) {
+		List<String> split = new ArrayList<>();
+		if (keywordList == null) {
+			return split;
+		}
+		for (String keyword : keywordList.split("[,;]")) {
+			if (!keyword.trim().isEmpty()) {
+				split.add(keyword.trim());
+			}
+		}
+		return split;
+	}
+}
@@ -0,0 +1,277 @@
+/**
+ * The ArticleDeltaStore class keeps the edit history of special article bodies. Instead
+ * of a full copy of the body for every version, each edit is stored as the small
+ * change between two versions, with a full snapshot every few versions so that
+ * rebuilding an old version never has to replay a long chain of changes.
+ *
+ * Responsibilities:
+ * - Create the specialArticleDeltas table.
+ * - Compute and apply the change between two versions of a body.
+ * - Record an edit as a change or, every snapshotInterval versions, a full snapshot.
+ * - Rebuild the body of an article as it was at any recorded version.
+ *
+ * A change is stored as the length of the unchanged start, the length of the unchanged
+ * end and the text in between, so a small edit to a large body stores only a few
+ * characters. Every entry is encrypted with the group's key like the body itself.
+ * The snapshot interval can be changed with the cse360.articleHistory.snapshotInterval
+ * system property.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import Encryption.EncryptionHelper;
+
+
+class ArticleDeltaStore {
+
+	/** ------------ Declarations  ------------ */
+
+	static final int DEFAULT_SNAPSHOT_INTERVAL = 20;
+	static final String SNAPSHOT_INTERVAL_PROPERTY = "cse360.articleHistory.snapshotInterval";
+
+	static final String KIND_SNAPSHOT = "S";
+	static final String KIND_DELTA = "D";
+
+	private final Connection connection;
+	private final EncryptionHelper encryptionHelper;
+	private final int snapshotInterval;
+
+
+	ArticleDeltaStore(Connection connection, EncryptionHelper encryptionHelper) {
+		this(connection, encryptionHelper, Integer.getInteger(SNAPSHOT_INTERVAL_PROPERTY, DEFAULT_SNAPSHOT_INTERVAL));
+	}
+
+	ArticleDeltaStore(Connection connection, EncryptionHelper encryptionHelper, int snapshotInterval) {
+		this.connection = connection;
+		this.encryptionHelper = encryptionHelper;
+		this.snapshotInterval = Math.max(1, snapshotInterval);
+	}
+
+	/**
+	 * Returns a history that writes through another connection, such as the one of
+	 * a transaction.
+	 */
+	ArticleDeltaStore on(Connection other) {
+		return new ArticleDeltaStore(other, encryptionHelper, snapshotInterval);
+	}
+
+
+	/** ------------ Create Table  ------------ */
+
+	/**
+	 * Creates the history table. Like specialArticle it is rebuilt on every start,
+	 * unless StorageConfig.KEEP_DATA_PROPERTY is set.
+	 *
+	 * @throws SQLException if there is an error executing SQL commands.
+	 */
+	public void createTable() throws SQLException {
+		try (Statement stmt = connection.createStatement()) {
+			if (!DatabaseCore.getStorage().keepsData()) {
+				stmt.execute("DROP TABLE IF EXISTS specialArticleDeltas");
+			}
+			stmt.execute("CREATE TABLE IF NOT EXISTS specialArticleDeltas ("
+					+ "articleId INT NOT NULL, "
+					+ "version INT NOT NULL, "
+					+ "groupIdentifier VARCHAR(100) NOT NULL, "
+					+ "kind CHAR(1) NOT NULL, "
+					+ "keyVersion INT NOT NULL, "
+					+ "payload TEXT, "
+					+ "changedAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
+					+ "PRIMARY KEY (articleId, version))");
+			stmt.execute("CREATE INDEX IF NOT EXISTS specialArticleDeltasGroup ON specialArticleDeltas (groupIdentifier)");
+		}
+	}
+
+
+	/** ------------ Changes  ------------ */
+
+	/**
+	 * Returns the change that turns one body into another, as
+	 * "prefixLength:suffixLength:replacement".
+	 */
+	static String diff(String from, String to) {
+		int max = Math.min(from.length(), to.length());
+		int prefix = 0;
+		while (prefix < max && from.charAt(prefix) == to.charAt(prefix)) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < max - prefix
+				&& from.charAt(from.length() - 1 - suffix) == to.charAt(to.length() - 1 - suffix)) {
+			suffix++;
+		}
+		return prefix + ":" + suffix + ":" + to.substring(prefix, to.length() - suffix);
+	}
+
+	/**
+	 * Applies a change produced by diff.
+	 */
+	static String apply(String from, String delta) {
+		int first = delta.indexOf(':');
+		int second = delta.indexOf(':', first + 1);
+		int prefix = Integer.parseInt(delta.substring(0, first));
+		int suffix = Integer.parseInt(delta.substring(first + 1, second));
+		return from.substring(0, prefix) + delta.substring(second + 1) + from.substring(from.length() - suffix);
+	}
+
+
+	/** ------------ Record  ------------ */
+
+	/**
+	 * Records an edit. The first edit of an article also stores the body it replaced,
+	 * so the original version can be rebuilt without storing history for articles
+	 * that are never edited.
+	 *
+	 * @param groupIdentifier the group the article belongs to.
+	 * @param articleId the id of the article.
+	 * @param keyVersion the key version to encrypt the entries under.
+	 * @param oldBody the body before the edit.
+	 * @param oldVersion the version before the edit.
+	 * @param newBody the body after the edit.
+	 * @param newVersion the version after the edit.
+	 * @throws Exception if there is an error encrypting or writing the entries.
+	 */
+	public void recordEdit(String groupIdentifier, int articleId, int keyVersion,
+			String oldBody, int oldVersion, String newBody, int newVersion) throws Exception {
+		int lastSnapshot = latestSnapshotAtOrBefore(articleId, oldVersion);
+		if (lastSnapshot < 0) {
+			insert(groupIdentifier, articleId, oldVersion, KIND_SNAPSHOT, keyVersion, nullToEmpty(oldBody));
+			lastSnapshot = oldVersion;
+		}
+
+		if (newVersion - lastSnapshot >= snapshotInterval) {
+			insert(groupIdentifier, articleId, newVersion, KIND_SNAPSHOT, keyVersion, nullToEmpty(newBody));
+		} else {
+			insert(groupIdentifier, articleId, newVersion, KIND_DELTA, keyVersion, diff(nullToEmpty(oldBody), nullToEmpty(newBody)));
+		}
+	}
+
+	private void insert(String groupIdentifier, int articleId, int version, String kind, int keyVersion, String payload) throws Exception {
+		String insert = "MERGE INTO specialArticleDeltas (articleId, version, groupIdentifier, kind, keyVersion, payload) "
+				+ "KEY (articleId, version) VALUES (?, ?, ?, ?, ?, ?)";
+		try (PreparedStatement pstmt = connection.prepareStatement(insert)) {
+			pstmt.setInt(1, articleId);
+			pstmt.setInt(2, version);
+			pstmt.setString(3, groupIdentifier);
+			pstmt.setString(4, kind);
+			pstmt.setInt(5, keyVersion);
+			pstmt.setString(6, encryptionHelper.encrypt(payload, groupIdentifier, keyVersion));
+			pstmt.executeUpdate();
+		}
+	}
+
+	private int latestSnapshotAtOrBefore(int articleId, int version) throws SQLException {
+		String query = "SELECT MAX(version) FROM specialArticleDeltas WHERE articleId = ? AND version <= ? AND kind = ?";
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			pstmt.setInt(1, articleId);
+			pstmt.setInt(2, version);
+			pstmt.setString(3, KIND_SNAPSHOT);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				if (rs.next()) {
+					int snapshot = rs.getInt(1);
+					return rs.wasNull() ? -1 : snapshot;
+				}
+			}
+		}
+		return -1;
+	}
+
+	private static String nullToEmpty(String value) {
+		return value == null ? "" : value;
+	}
+
+
+	/** ------------ Rebuild  ------------ */
+
+	/**
+	 * Rebuilds the body of an article at a version, starting from the nearest snapshot
+	 * at or before it and applying the changes recorded after that snapshot. Every
+	 * version in between must be recorded; a missing one would apply a change to the
+	 * wrong body, so the version is then treated as not in the history.
+	 *
+	 * @param groupIdentifier the group the article belongs to.
+	 * @param articleId the id of the article.
+	 * @param version the version to rebuild.
+	 * @return the body at that version, or null if the version is not in the history.
+	 * @throws Exception if there is an error reading or decrypting the entries.
+	 */
+	public String reconstruct(String groupIdentifier, int articleId, int version) throws Exception {
+		int snapshot = latestSnapshotAtOrBefore(articleId, version);
+		if (snapshot < 0) {
+			return null;
+		}
+
+		String query = "SELECT version, kind, keyVersion, payload FROM specialArticleDeltas "
+				+ "WHERE articleId = ? AND groupIdentifier = ? AND version >= ? AND version <= ? ORDER BY version";
+		String body = null;
+		int reached = -1;
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			pstmt.setInt(1, articleId);
+			pstmt.setString(2, groupIdentifier);
+			pstmt.setInt(3, snapshot);
+			pstmt.setInt(4, version);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					int entryVersion = rs.getInt("version");
+					if (reached >= 0 ? entryVersion != reached + 1 : entryVersion != snapshot) {
+						return null;
+					}
+					String payload = encryptionHelper.decrypt(rs.getString("payload"), groupIdentifier, rs.getInt("keyVersion"));
+					body = KIND_SNAPSHOT.equals(rs.getString("kind")) ? payload : apply(body, payload);
+					reached = entryVersion;
+				}
+			}
+		}
+		return reached == version ? body : null;
+	}
+
+	/**
+	 * Lists the recorded versions of an article with the time each was saved.
+	 *
+	 * @param groupIdentifier the group the article belongs to.
+	 * @param articleId the id of the article.
+	 * @return one line per version, oldest first.
+	 * @throws SQLException if there is an error executing the query.
+	 */
+	public String listVersions(String groupIdentifier, int articleId) throws SQLException {
+		String query = "SELECT version, kind, changedAt FROM specialArticleDeltas WHERE articleId = ? AND groupIdentifier = ? ORDER BY version";
+		String display = "";
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			pstmt.setInt(1, articleId);
+			pstmt.setString(2, groupIdentifier);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					display += "Version: " + rs.getInt("version")
+							+ (KIND_SNAPSHOT.equals(rs.getString("kind")) ? " (snapshot)" : "")
+							+ ", Saved: " + rs.getTimestamp("changedAt") + "\n";
+				}
+			}
+		}
+		return display;
+	}
+
+
+	/** ------------ Remove  ------------ */
+
+	public void removeArticle(int articleId) throws SQLException {
+		try (PreparedStatement pstmt = connection.prepareStatement("DELETE FROM specialArticleDeltas WHERE articleId = ?")) {
+			pstmt.setInt(1, articleId);
+			pstmt.executeUpdate();
+		}
+	}
+
+	public void removeGroup(String groupIdentifier) throws SQLException {
+		try (PreparedStatement pstmt = connection.prepareStatement("DELETE FROM specialArticleDeltas WHERE groupIdentifier = ?")) {
+			pstmt.setString(1, groupIdentifier);
+			pstmt.executeUpdate();
+		}
+	}
+}
@@ -0,0 +1,272 @@
+/**
+ * The ArticleRevisions class keeps the revision history of the help articles. Every
+ * time an article is created, deleted or recovered, a copy of the row is written as a
+ * new revision, so any article can be read as it was at a point in time and a mistaken
+ * delete can be undone without restoring a backup.
+ *
+ * Responsibilities:
+ * - Create the articleRevisions table, keyed by (uniqueID, revision) with a second
+ *   index on (uniqueID, changedAt) so a point in time lookup is one index seek.
+ * - Copy the current state of one or many articles into the history in one statement.
+ * - Find the revision of an article that was current at a given time.
+ * - List the revisions of an article.
+ * - Tell whether another client sharing the database changed the articles.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+class ArticleRevisions {
+
+	/** ------------ Declarations  ------------ */
+
+	static final String CREATED = "C";
+	static final String DELETED = "D";
+	static final String RECOVERED = "R";
+
+	private static final String ARTICLE_COLUMNS = "title, author, description, body, level, groupIdentifier, keywords, accessLevel, other, links_misc";
+
+	private final Connection connection;
+
+	/**
+	 * The revisions in the table when last counted, and those this client wrote since.
+	 * Writes happen on any thread, so the written count is taken and reset in one step.
+	 */
+	private long counted;
+	private final AtomicLong written;
+
+
+	ArticleRevisions(Connection connection) {
+		this(connection, new AtomicLong());
+	}
+
+	private ArticleRevisions(Connection connection, AtomicLong written) {
+		this.connection = connection;
+		this.written = written;
+	}
+
+	/**
+	 * Returns a history that records through another connection of this client, such
+	 * as the one of a transaction. What it writes counts as written by this client.
+	 */
+	ArticleRevisions on(Connection other) {
+		return new ArticleRevisions(other, written);
+	}
+
+
+	/** ------------ Create Table  ------------ */
+
+	/**
+	 * Creates the revision table. Like Articles it is rebuilt on every start, unless
+	 * StorageConfig.KEEP_DATA_PROPERTY is set.
+	 *
+	 * @throws SQLException if there is an error executing SQL commands.
+	 */
+	public void createTable() throws SQLException {
+		try (Statement stmt = connection.createStatement()) {
+			if (!DatabaseCore.getStorage().keepsData()) {
+				stmt.execute("DROP TABLE IF EXISTS articleRevisions");
+			}
+			stmt.execute("CREATE TABLE IF NOT EXISTS articleRevisions ("
+					+ "uniqueID BIGINT NOT NULL, "
+					+ "revision INT NOT NULL, "
+					+ "operation CHAR(1) NOT NULL, "
+					+ "articleId INT, "
+					+ "title VARCHAR(255), "
+					+ "author VARCHAR(255), "
+					+ "description VARCHAR(500), "
+					+ "body TEXT, "
+					+ "level VARCHAR(255), "
+					+ "groupIdentifier VARCHAR(100), "
+					+ "keywords VARCHAR(500), "
+					+ "accessLevel VARCHAR(255), "
+					+ "other VARCHAR(500), "
+					+ "links_misc VARCHAR(500), "
+					+ "changedAt TIMESTAMP NOT NULL, "
+					+ "PRIMARY KEY (uniqueID, revision))");
+			stmt.execute("CREATE INDEX IF NOT EXISTS articleRevisionsTime ON articleRevisions (uniqueID, changedAt)");
+		}
+		counted = count();
+	}
+
+
+	/** ------------ Record  ------------ */
+
+	/**
+	 * Copies the current state of one article into the history.
+	 *
+	 * @param id the id of the article in Articles.
+	 * @param operation CREATED, DELETED or RECOVERED.
+	 * @param changedAt the time of the change.
+	 * @throws SQLException if there is an error executing the insert.
+	 */
+	public void recordArticle(int id, String operation, Timestamp changedAt) throws SQLException {
+		try (PreparedStatement pstmt = connection.prepareStatement(recordStatement("a.id = ?"))) {
+			pstmt.setString(1, operation);
+			pstmt.setTimestamp(2, changedAt);
+			pstmt.setInt(3, id);
+			written.addAndGet(pstmt.executeUpdate());
+		}
+	}
+
+	/**
+	 * Copies the current state of one article, found by its unique ID, into the history.
+	 *
+	 * @param uniqueID the unique ID of the article.
+	 * @param operation CREATED, DELETED or RECOVERED.
+	 * @param changedAt the time of the change.
+	 * @throws SQLException if there is an error executing the insert.
+	 */
+	public void recordUniqueID(long uniqueID, String operation, Timestamp changedAt) throws SQLException {
+		try (PreparedStatement pstmt = connection.prepareStatement(recordStatement("a.uniqueID = ?"))) {
+			pstmt.setString(1, operation);
+			pstmt.setTimestamp(2, changedAt);
+			pstmt.setLong(3, uniqueID);
+			written.addAndGet(pstmt.executeUpdate());
+		}
+	}
+
+	/**
+	 * Copies every article deleted at the given time into the history, used for a
+	 * delete all or the recovery of one, so the whole set is written in one statement.
+	 *
+	 * @param deletedAt the deletedAt value shared by the articles.
+	 * @param operation DELETED or RECOVERED.
+	 * @param changedAt the time of the change.
+	 * @return the number of revisions written.
+	 * @throws SQLException if there is an error executing the insert.
+	 */
+	public int recordDeletedAt(Timestamp deletedAt, String operation, Timestamp changedAt) throws SQLException {
+		try (PreparedStatement pstmt = connection.prepareStatement(recordStatement("a.deletedAt = ?"))) {
+			pstmt.setString(1, operation);
+			pstmt.setTimestamp(2, changedAt);
+			pstmt.setTimestamp(3, deletedAt);
+			int recorded = pstmt.executeUpdate();
+			written.addAndGet(recorded);
+			return recorded;
+		}
+	}
+
+	/**
+	 * Builds the insert that copies the matching Articles rows as their next revision.
+	 * The next revision number is read from the primary key of the history.
+	 */
+	private static String recordStatement(String condition) {
+		return "INSERT INTO articleRevisions (uniqueID, revision, operation, changedAt, articleId, " + ARTICLE_COLUMNS + ") "
+				+ "SELECT a.uniqueID, COALESCE((SELECT MAX(r.revision) FROM articleRevisions r WHERE r.uniqueID = a.uniqueID), 0) + 1, "
+				+ "?, ?, a.id, a.title, a.author, a.description, a.body, a.level, a.groupIdentifier, a.keywords, a.accessLevel, a.other, a.links_misc "
+				+ "FROM Articles a WHERE " + condition;
+	}
+
+
+	/** ------------ Read  ------------ */
+
+	/**
+	 * Tells whether the revisions grew by other than what this client wrote since the
+	 * last call. Every article change writes a revision, so any difference means another
+	 * client sharing the database changed articles. A rolled back write of this client
+	 * also shows as a difference, which only costs a reload.
+	 *
+	 * @return true if the articles may have changed elsewhere.
+	 * @throws SQLException if there is an error executing the query.
+	 */
+	public boolean changedElsewhere() throws SQLException {
+		long expected = counted + written.getAndSet(0);
+		counted = count();
+		return counted != expected;
+	}
+
+	private long count() throws SQLException {
+		try (Statement stmt = connection.createStatement();
+				ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM articleRevisions")) {
+			rs.next();
+			return rs.getLong(1);
+		}
+	}
+
+	/**
+	 * Returns an article as it was at a point in time, read from the latest revision
+	 * saved at or before that time.
+	 *
+	 * @param uniqueID the unique ID of the article.
+	 * @param asOf the point in time.
+	 * @return the article, a note if it was deleted at that time, or an empty string
+	 *         if it did not exist yet.
+	 * @throws SQLException if there is an error executing the query.
+	 */
+	public String getArticleAsOf(long uniqueID, Timestamp asOf) throws SQLException {
+		String query = "SELECT * FROM articleRevisions WHERE uniqueID = ? AND changedAt <= ? "
+				+ "ORDER BY changedAt DESC, revision DESC LIMIT 1";
+		String display = "";
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			pstmt.setLong(1, uniqueID);
+			pstmt.setTimestamp(2, asOf);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				if (!rs.next()) {
+					return display;
+				}
+				if (DELETED.equals(rs.getString("operation"))) {
+					return "The article was deleted at " + rs.getTimestamp("changedAt") + "\n";
+				}
+				display += "ID: " + rs.getInt("articleId") + "\n";
+				display += "Revision: " + rs.getInt("revision") + " (" + rs.getTimestamp("changedAt") + ")\n";
+				display += "Title: " + rs.getString("title") + "\n";
+				display += "Author: " + rs.getString("author") + "\n";
+				display += "Description: " + rs.getString("description") + "\n";
+				display += "Body: " + rs.getString("body") + "\n";
+				display += "Level: " + rs.getString("level") + "\n";
+				display += "Group Identifier: " + rs.getString("groupIdentifier") + "\n";
+				display += "Keywords: " + rs.getString("keywords") + "\n";
+				display += "Access Level: " + rs.getString("accessLevel") + "\n";
+				display += "Other: " + rs.getString("other") + "\n";
+				display += "Links: " + rs.getString("links_misc") + "\n";
+			}
+		}
+		return display;
+	}
+
+	/**
+	 * Lists the revisions of an article, oldest first.
+	 *
+	 * @param uniqueID the unique ID of the article.
+	 * @return one line per revision, empty if it has none.
+	 * @throws SQLException if there is an error executing the query.
+	 */
+	public String listRevisions(long uniqueID) throws SQLException {
+		String query = "SELECT revision, operation, title, changedAt FROM articleRevisions WHERE uniqueID = ? ORDER BY revision";
+		String display = "";
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			pstmt.setLong(1, uniqueID);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					display += "Revision: " + rs.getInt("revision")
+							+ ", " + describe(rs.getString("operation"))
+							+ ", Title: " + rs.getString("title")
+							+ ", Saved: " + rs.getTimestamp("changedAt") + "\n";
+				}
+			}
+		}
+		return display;
+	}
+
+	private static String describe(String operation) {
+		if (DELETED.equals(operation)) {
+			return "Deleted";
+		}
+		if (RECOVERED.equals(operation)) {
+			return "Recovered";
+		}
+		return "Created";
+	}
+}
@@ -0,0 +1,81 @@
+/**
+ * The AutoComplete class suggests completions under a text field as the user types,
+ * from an in-memory source such as ArticleCompletions, so no query is run per key.
+ *
+ * Responsibilities:
+ * - Show the completions of the text in a drop down menu under the field.
+ * - Fill the field with a completion when it is picked.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.util.List;
+import java.util.function.Function;
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.TextField;
+
+
+class AutoComplete {
+
+	private final TextField field;
+	private final Function<String, List<String>> source;
+	private final ContextMenu menu = new ContextMenu();
+	private boolean filling = false;
+
+
+	private AutoComplete(TextField field, Function<String, List<String>> source) {
+		this.field = field;
+		this.source = source;
+	}
+
+
+	/**
+	 * Suggests completions for a field.
+	 *
+	 * @param field the field to complete.
+	 * @param source returns the completions of the text typed so far.
+	 */
+	static void attach(TextField field, Function<String, List<String>> source) {
+		AutoComplete autoComplete = new AutoComplete(field, source);
+		field.textProperty().addListener((observable, oldText, newText) -> autoComplete.suggest(newText));
+		field.focusedProperty().addListener((observable, wasFocused, focused) -> {
+			if (!focused) {
+				autoComplete.menu.hide();
+			}
+		});
+	}
+
+	private void suggest(String text) {
+		if (filling || !field.isFocused() || text.trim().isEmpty()) {
+			menu.hide();
+			return;
+		}
+		List<String> completions = source.apply(text);
+		if (completions.isEmpty() || (completions.size() == 1 && completions.get(0).equalsIgnoreCase(text.trim()))) {
+			menu.hide();
+			return;
+		}
+		menu.getItems().clear();
+		for (String completion : completions) {
+			MenuItem item = new MenuItem(completion);
+			item.setOnAction(e -> fill(completion));
+			menu.getItems().add(item);
+		}
+		if (!menu.isShowing()) {
+			menu.show(field, Side.BOTTOM, 0, 0);
+		}
+	}
+
+	private void fill(String completion) {
+		filling = true;
+		field.setText(completion);
+		field.positionCaret(completion.length());
+		filling = false;
+		menu.hide();
+	}
+}
@@ -0,0 +1,193 @@
+/**
+ * The ClientStatistics class keeps a row per running copy of the help system in the
+ * cse360Clients table, so an admin can see who shares the store in server mode and
+ * how much database work each client does.
+ *
+ * Responsibilities:
+ * - Register this client when it connects and remove it when it exits.
+ * - Count the database tasks this client ran, the time they took, and how often its
+ *   in-memory article copies were reloaded because another client changed them.
+ * - Write the counts to the table when asked, and describe every client's row.
+ *
+ * A client that exits without removing its row stops being seen; rows not seen for
+ * STALE_AFTER_MILLIS are shown as not responding and cleared when a client registers.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+class ClientStatistics {
+
+	/** ------------ Declarations  ------------ */
+
+	/** How long a client may go without reporting before it counts as gone. */
+	static final long STALE_AFTER_MILLIS = 60000;
+
+	private static final String CLIENT_ID = UUID.randomUUID().toString();
+	private static final Timestamp CONNECTED_AT = new Timestamp(System.currentTimeMillis());
+
+	private static final AtomicLong tasks = new AtomicLong();
+	private static final AtomicLong busyNanos = new AtomicLong();
+	private static final AtomicLong reloads = new AtomicLong();
+
+
+	/**
+	 * Returns the id this client is registered under, for rows it takes ownership of.
+	 */
+	static String clientId() {
+		return CLIENT_ID;
+	}
+
+
+	/** ------------ Count  ------------ */
+
+	/**
+	 * Counts a task run on the database thread, called by DatabaseTasks.
+	 */
+	static void taskRan(long nanos) {
+		tasks.incrementAndGet();
+		busyNanos.addAndGet(nanos);
+	}
+
+	/**
+	 * Counts a reload of the article copies after another client's change.
+	 */
+	static void reloaded() {
+		reloads.incrementAndGet();
+	}
+
+
+	/** ------------ Register  ------------ */
+
+	/**
+	 * Creates the table if needed, clears the rows of clients that are gone, and adds
+	 * this client.
+	 *
+	 * @param connection the connection of this client.
+	 * @throws SQLException if there is an error executing SQL commands.
+	 */
+	static void register(Connection connection) throws SQLException {
+		try (Statement stmt = connection.createStatement()) {
+			stmt.execute("CREATE TABLE IF NOT EXISTS cse360Clients ("
+					+ "clientId VARCHAR(36) PRIMARY KEY, "
+					+ "host VARCHAR(255), "
+					+ "processId BIGINT, "
+					+ "connectedAt TIMESTAMP, "
+					+ "lastSeen TIMESTAMP, "
+					+ "tasks BIGINT, "
+					+ "busyMillis BIGINT, "
+					+ "reloads BIGINT)");
+		}
+		try (PreparedStatement pstmt = connection.prepareStatement("DELETE FROM cse360Clients WHERE lastSeen < ?")) {
+			pstmt.setTimestamp(1, new Timestamp(System.currentTimeMillis() - STALE_AFTER_MILLIS));
+			pstmt.executeUpdate();
+		}
+		String insert = "MERGE INTO cse360Clients (clientId, host, processId, connectedAt, lastSeen, tasks, busyMillis, reloads) "
+				+ "KEY (clientId) VALUES (?, ?, ?, ?, ?, 0, 0, 0)";
+		try (PreparedStatement pstmt = connection.prepareStatement(insert)) {
+			pstmt.setString(1, CLIENT_ID);
+			pstmt.setString(2, hostName());
+			pstmt.setLong(3, ProcessHandle.current().pid());
+			pstmt.setTimestamp(4, CONNECTED_AT);
+			pstmt.setTimestamp(5, new Timestamp(System.currentTimeMillis()));
+			pstmt.executeUpdate();
+		}
+		report(connection);
+	}
+
+	/**
+	 * Writes this client's counts and marks it as seen now.
+	 */
+	static void report(Connection connection) throws SQLException {
+		String update = "UPDATE cse360Clients SET lastSeen = ?, tasks = ?, busyMillis = ?, reloads = ? WHERE clientId = ?";
+		try (PreparedStatement pstmt = connection.prepareStatement(update)) {
+			pstmt.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+			pstmt.setLong(2, tasks.get());
+			pstmt.setLong(3, busyNanos.get() / 1000000);
+			pstmt.setLong(4, reloads.get());
+			pstmt.setString(5, CLIENT_ID);
+			pstmt.executeUpdate();
+		}
+	}
+
+	/**
+	 * Removes this client's row, when it closes its connection or exits.
+	 */
+	static void unregister(Connection connection) {
+		if (connection == null) {
+			return;
+		}
+		try (PreparedStatement pstmt = connection.prepareStatement("DELETE FROM cse360Clients WHERE clientId = ?")) {
+			pstmt.setString(1, CLIENT_ID);
+			pstmt.executeUpdate();
+		} catch (SQLException se) {
+			se.printStackTrace();
+		}
+	}
+
+
+	/** ------------ Display  ------------ */
+
+	/**
+	 * Describes every client sharing the store, after writing this client's counts.
+	 *
+	 * @param connection the connection of this client.
+	 * @return one block per client, this one marked.
+	 * @throws SQLException if there is an error executing the query.
+	 */
+	static String describe(Connection connection) throws SQLException {
+		report(connection);
+		String display = "";
+		int clients = 0;
+		long staleBefore = System.currentTimeMillis() - STALE_AFTER_MILLIS;
+		String query = "SELECT clientId, host, processId, connectedAt, lastSeen, tasks, busyMillis, reloads "
+				+ "FROM cse360Clients ORDER BY connectedAt";
+		try (Statement stmt = connection.createStatement(); ResultSet rs = stmt.executeQuery(query)) {
+			while (rs.next()) {
+				clients++;
+				Timestamp lastSeen = rs.getTimestamp("lastSeen");
+				display += "Client: " + rs.getString("host") + " (process " + rs.getLong("processId") + ")";
+				if (CLIENT_ID.equals(rs.getString("clientId"))) {
+					display += " - this client";
+				} else if (lastSeen.getTime() < staleBefore) {
+					display += " - not responding";
+				}
+				display += "\n";
+				display += "Connected: " + rs.getTimestamp("connectedAt") + "\n";
+				display += "Last Seen: " + lastSeen + "\n";
+				display += "Database Tasks: " + rs.getLong("tasks") + " taking " + rs.getLong("busyMillis") + " ms\n";
+				display += "Reloads After Other Clients' Changes: " + rs.getLong("reloads") + "\n\n";
+			}
+		}
+		int sessions = 0;
+		try (Statement stmt = connection.createStatement();
+				ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS")) {
+			if (rs.next()) {
+				sessions = rs.getInt(1);
+			}
+		}
+		return "Clients: " + clients + ", open database sessions: " + sessions + "\n\n" + display;
+	}
+
+	private static String hostName() {
+		try {
+			return InetAddress.getLocalHost().getHostName();
+		} catch (UnknownHostException e) {
+			return "unknown";
+		}
+	}
+}
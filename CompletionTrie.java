@@ -0,0 +1,279 @@
+/**
+ * The CompletionTrie class is a compressed prefix tree of strings for autocomplete.
+ * Each edge holds a run of characters rather than one, so a chain of single children
+ * takes one node, and every node records the highest count below it, so the most
+ * frequent completions of a prefix are found without visiting the rest of its subtree.
+ *
+ * Responsibilities:
+ * - Add and remove strings, counting how many times each was added.
+ * - Return the most frequent strings starting with a prefix, ignoring case.
+ *
+ * A completion costs the length of the prefix plus a few steps per result, whatever
+ * the number of strings. The class is not thread safe; ArticleCompletions locks it.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+
+class CompletionTrie {
+
+	/** ------------ Declarations  ------------ */
+
+	private static final class Node {
+		/** The characters on the edge from the parent, empty for the root. */
+		String edge;
+		/** The children by the first character of their edge. */
+		final Map<Character, Node> children = new HashMap<>(4);
+		/** The string as first added, if one ends here. */
+		String value;
+		/** How many times the string ending here was added. */
+		int count;
+		/** The highest count in this subtree. */
+		int best;
+
+		Node(String edge) {
+			this.edge = edge;
+		}
+	}
+
+	private Node root = new Node("");
+	private int size = 0;
+
+
+	/** ------------ Update  ------------ */
+
+	/**
+	 * Adds a string, or counts it once more if it is already there.
+	 */
+	public void add(String text) {
+		String key = normalize(text);
+		if (key.isEmpty()) {
+			return;
+		}
+		List<Node> path = new ArrayList<>();
+		path.add(root);
+		Node node = root;
+		int i = 0;
+		while (i < key.length()) {
+			Node child = node.children.get(key.charAt(i));
+			if (child == null) {
+				child = new Node(key.substring(i));
+				node.children.put(key.charAt(i), child);
+				node = child;
+				path.add(node);
+				i = key.length();
+				break;
+			}
+			int common = commonPrefix(child.edge, key, i);
+			if (common < child.edge.length()) {
+				// Split the edge where the key leaves it
+				Node middle = new Node(child.edge.substring(0, common));
+				child.edge = child.edge.substring(common);
+				middle.children.put(child.edge.charAt(0), child);
+				middle.best = child.best;
+				node.children.put(middle.edge.charAt(0), middle);
+				child = middle;
+			}
+			node = child;
+			path.add(node);
+			i += common;
+		}
+		if (node.count == 0) {
+			node.value = text.trim();
+			size++;
+		}
+		node.count++;
+		updateBest(path);
+	}
+
+	/**
+	 * Removes one count of a string, and the string when its count reaches zero.
+	 */
+	public void remove(String text) {
+		String key = normalize(text);
+		List<Node> path = find(key, true);
+		if (path == null) {
+			return;
+		}
+		Node node = path.get(path.size() - 1);
+		if (node.count == 0) {
+			return;
+		}
+		node.count--;
+		if (node.count == 0) {
+			node.value = null;
+			size--;
+			prune(path);
+		}
+		updateBest(path);
+	}
+
+	public void clear() {
+		root = new Node("");
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+
+	/** ------------ Complete  ------------ */
+
+	/**
+	 * Returns the most frequently added strings that start with the prefix, most
+	 * frequent first, shorter first among equals.
+	 *
+	 * @param prefix the text typed so far, matched ignoring case.
+	 * @param limit the most completions to return.
+	 */
+	public List<String> complete(String prefix, int limit) {
+		List<String> completions = new ArrayList<>();
+		List<Node> path = find(normalize(prefix), false);
+		if (path == null || limit <= 0) {
+			return completions;
+		}
+
+		// Best first: a subtree is ranked by its best count, a string by its own count.
+		// Among equals the newest candidate wins, so ties are followed depth first.
+		PriorityQueue<Candidate> queue = new PriorityQueue<>();
+		int order = 0;
+		queue.add(new Candidate(path.get(path.size() - 1), false, order++));
+		while (!queue.isEmpty() && completions.size() < limit) {
+			Candidate candidate = queue.poll();
+			if (candidate.whole) {
+				completions.add(candidate.node.value);
+				continue;
+			}
+			if (candidate.node.count > 0) {
+				queue.add(new Candidate(candidate.node, true, order++));
+			}
+			for (Node child : candidate.node.children.values()) {
+				queue.add(new Candidate(child, false, order++));
+			}
+		}
+		return completions;
+	}
+
+	private static final class Candidate implements Comparable<Candidate> {
+		final Node node;
+		final boolean whole;
+		final int order;
+
+		Candidate(Node node, boolean whole, int order) {
+			this.node = node;
+			this.whole = whole;
+			this.order = order;
+		}
+
+		int weight() {
+			return whole ? node.count : node.best;
+		}
+
+		@Override
+		public int compareTo(Candidate other) {
+			if (weight() != other.weight()) {
+				return Integer.compare(other.weight(), weight());
+			}
+			if (whole != other.whole) {
+				return whole ? -1 : 1;
+			}
+			return Integer.compare(other.order, order);
+		}
+	}
+
+
+	/** ------------ Helpers  ------------ */
+
+	private static String normalize(String text) {
+		return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private static int commonPrefix(String edge, String key, int offset) {
+		int length = Math.min(edge.length(), key.length() - offset);
+		int i = 0;
+		while (i < length && edge.charAt(i) == key.charAt(offset + i)) {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * Walks the key from the root and returns the nodes passed. With exact, the key must
+	 * end on a node; otherwise it may end inside an edge, and the node below is last.
+	 *
+	 * @return the path, or null if no string starts with the key.
+	 */
+	private List<Node> find(String key, boolean exact) {
+		List<Node> path = new ArrayList<>();
+		path.add(root);
+		Node node = root;
+		int i = 0;
+		while (i < key.length()) {
+			Node child = node.children.get(key.charAt(i));
+			if (child == null) {
+				return null;
+			}
+			int common = commonPrefix(child.edge, key, i);
+			if (common < child.edge.length()) {
+				if (exact || i + common < key.length()) {
+					return null;
+				}
+			}
+			node = child;
+			path.add(node);
+			i += common;
+		}
+		return path;
+	}
+
+	/**
+	 * Removes the nodes a removal left empty and merges a node that is left with one
+	 * child into it, so the tree stays compressed.
+	 */
+	private void prune(List<Node> path) {
+		for (int i = path.size() - 1; i > 0; i--) {
+			Node node = path.get(i);
+			Node parent = path.get(i - 1);
+			if (node.count > 0) {
+				return;
+			}
+			if (node.children.isEmpty()) {
+				parent.children.remove(node.edge.charAt(0));
+				path.remove(i);
+			} else if (node.children.size() == 1) {
+				Node child = node.children.values().iterator().next();
+				child.edge = node.edge + child.edge;
+				parent.children.put(child.edge.charAt(0), child);
+				path.set(i, child);
+				return;
+			} else {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Recomputes the best count of the nodes on a path, from the bottom up.
+	 */
+	private static void updateBest(List<Node> path) {
+		for (int i = path.size() - 1; i >= 0; i--) {
+			Node node = path.get(i);
+			int best = node.count;
+			for (Node child : node.children.values()) {
+				best = Math.max(best, child.best);
+			}
+			node.best = best;
+		}
+	}
+}
@@ -0,0 +1,191 @@
+/**
+ * The DatabaseCore class is the data access core that DatabaseHelper and
+ * SpecialAccessGroups build on. Both work against one embedded H2 database, so they
+ * share one connection to it instead of each opening a session of their own.
+ *
+ * Responsibilities:
+ * - Hold the database configuration constants and the storage configuration.
+ * - Open the shared connection the first time either class connects, and close it.
+ * - Keep a pool of connections, from which the shared connection and the connections
+ *   of background jobs are taken.
+ * - Run work across the tables of both classes in one transaction, on a connection
+ *   borrowed from the pool.
+ *
+ * The shared connection stays in auto-commit mode and never holds a transaction open,
+ * so a statement another thread runs on it can never become part of one. Each
+ * transaction runs on a pooled connection of its own, which the work is handed and
+ * must use for every statement that belongs to it. Transactions of different threads
+ * run side by side, and one opened inside another on the same thread joins it.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import org.h2.jdbcx.JdbcConnectionPool;
+
+
+abstract class DatabaseCore {
+
+	/** ------------ Declarations  ------------ */
+
+	/**
+	 * Database configuration constant for the H2 database connection, the JDBC driver.
+	 * The URL and the user credentials come from the storage configuration.
+	 */
+	static final String JDBC_DRIVER = "org.h2.Driver";
+
+	/**
+	 * Work run in a transaction, which may throw like the method running it does. Its
+	 * statements go through the connection it is given.
+	 */
+	interface Transaction<T, E extends Exception> {
+		T run(Connection transaction) throws E, SQLException;
+	}
+
+	/** Where and how the database is stored, read once at startup. */
+	private static StorageConfig storage = StorageConfig.load();
+
+	/** The one connection of the application, opened by whichever class connects first. */
+	protected static Connection connection = null;
+
+	/**
+	 * The connections of this client, at most the pool size of the storage configuration.
+	 * In server mode each is a session on the server.
+	 */
+	private static JdbcConnectionPool pool = null;
+
+	/** The connection of the transaction each thread has open, if any. */
+	private static final ThreadLocal<Connection> openTransaction = new ThreadLocal<>();
+
+
+	public static Connection getConnection()
+	{
+		return connection;
+	}
+
+	public static StorageConfig getStorage()
+	{
+		return storage;
+	}
+
+
+	/** ------------ Connect  ------------ */
+
+	/**
+	 * Opens the shared connection unless it is already open. In server mode the
+	 * DatabaseServer is started first if it is not running.
+	 *
+	 * @return the shared connection.
+	 * @throws SQLException if there is an error connecting to the database.
+	 * @throws ClassNotFoundException if the JDBC driver is missing.
+	 */
+	static synchronized Connection openConnection() throws SQLException, ClassNotFoundException {
+		if (connection == null || connection.isClosed()) {
+			Class.forName(JDBC_DRIVER); // Load the JDBC driver
+			System.out.println("Connecting to database... " + storage);
+			if (storage.isServer()) {
+				DatabaseServer.ensureRunning(storage);
+			}
+			if (pool != null) {
+				pool.dispose();
+			}
+			pool = JdbcConnectionPool.create(storage.jdbcUrl(), storage.getUser(), storage.getPassword());
+			pool.setMaxConnections(storage.getPoolSize());
+			connection = pool.getConnection();
+			ClientStatistics.register(connection);
+		}
+		return connection;
+	}
+
+	/**
+	 * Takes a connection of its own from the pool, for work on another thread that
+	 * should not join the transactions of the shared connection. Closing it returns it
+	 * to the pool.
+	 *
+	 * @throws SQLException if the database is not connected or no connection frees up.
+	 */
+	static synchronized Connection borrowConnection() throws SQLException {
+		if (pool == null) {
+			throw new SQLException("The database is not connected");
+		}
+		return pool.getConnection();
+	}
+
+	/**
+	 * Closes the shared connection, for both classes, and the connections of the pool.
+	 */
+	static synchronized void closeSharedConnection() {
+		try {
+			if (connection != null) {
+				ClientStatistics.unregister(connection);
+				connection.close();
+			}
+		} catch (SQLException se) {
+			se.printStackTrace();
+		}
+		connection = null;
+		if (pool != null) {
+			pool.dispose();
+			pool = null;
+		}
+	}
+
+	/**
+	 * Describes the storage and how many pooled connections are in use.
+	 */
+	static synchronized String getPoolStatistics() {
+		String display = storage + "\n";
+		if (pool != null) {
+			display += "Connections In Use: " + pool.getActiveConnections() + " of " + pool.getMaxConnections() + "\n";
+		}
+		return display;
+	}
+
+	/**
+	 * Closes the shared connection and stores the database elsewhere from the next
+	 * connect on, for StorageBenchmark to compare profiles in one run.
+	 */
+	static synchronized void useStorage(StorageConfig config) {
+		closeSharedConnection();
+		storage = config;
+	}
+
+
+	/** ------------ Transactions  ------------ */
+
+	/**
+	 * Runs work in one transaction on a connection borrowed from the pool, committing
+	 * if it returns and rolling back if it throws. Called inside a transaction of the 
+	 * same thread, the work joins it, so the outermost caller decides the boundary.
+	 *
+	 * @param work the database work, which may touch any table.
+	 * @return the result of the work.
+	 * @throws E whatever the work throws, after the rollback.
+	 * @throws SQLException if no connection frees up or the commit or rollback fails.
+	 */
+	static <T, E extends Exception> T inTransaction(Transaction<T, E> work) throws E, SQLException {
+		Connection open = openTransaction.get();
+		if (open != null) {
+			return work.run(open);
+		}
+		try (Connection transaction = borrowConnection()) {
+			transaction.setAutoCommit(false);
+			openTransaction.set(transaction);
+			try {
+				T result = work.run(transaction);
+				transaction.commit();
+				return result;
+			} catch (Throwable e) {
+				transaction.rollback();
+				throw e;
+			} finally {
+				openTransaction.remove();
+				transaction.setAutoCommit(true);
+			}
+		}
+	}
+}
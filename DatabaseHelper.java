@@ -24,7 +24,6 @@
 package simpleDatabase;
 import java.sql.*;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Base64;
@@ -36,6 +35,13 @@ import java.io.FileWriter;
 import java.sql.*;
 import java.util.Base64;
 import java.util.UUID;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import Encryption.EncryptionHelper;
 import org.bouncycastle.util.Arrays;
 import Encryption.EncryptionUtils;
@@ -45,30 +51,51 @@ import simpleDatabase.SpecialAccessGroups;
 
 
 
-class DatabaseHelper {
+class DatabaseHelper extends DatabaseCore {
 	
 	/** ------------ Declarations  ------------ */
 
+	/** The statement object for executing SQL queries, on the connection shared through DatabaseCore. */
+	private Statement statement = null; 
+	
+	private EncryptionHelper encryptionHelper;
+	
 	/**
-	 * Database configuration constants for the H2 database connection, including JDBC driver, URL, user credentials,
-	 * and connection and statement objects for executing SQL queries.
+	 * Hashes passwords before they are stored and remembers recently verified sessions
+	 * so privileged actions do not have to re-hash the password.
 	 */
-	static final String JDBC_DRIVER = "org.h2.Driver";   
-	static final String DB_URL = "jdbc:h2:~/firstDatabase";  
-
+	private final PasswordHasher passwordHasher = new PasswordHasher();
+	private final VerifiedSessionCache verifiedSessions = new VerifiedSessionCache();
 	
-	static final String USER = "sa"; 
-	static final String PASS = ""; 
-
-	private static Connection connection = null;
-	private Statement statement = null; 
+	/**
+	 * Keeps a revision of every article change, so deleted articles can be recovered
+	 * and any article can be read as it was at an earlier time.
+	 */
+	private ArticleRevisions revisions;
 	
-	private EncryptionHelper encryptionHelper;
+	/**
+	 * An in-memory copy of the metadata of the live articles, kept up to date by every 
+	 * write below, so listings do not have to query the database.
+	 */
+	private ArticleCatalog catalog;
 	
-	public static Connection getConnection()
-	{
-		return connection;
-	}
+	/**
+	 * Keeps the displayed text of recently viewed articles, dropped when an article is 
+	 * deleted.
+	 */
+	private final ArticleCache articleCache = new ArticleCache();
+	
+	/**
+	 * Keeps the listings by author and by group. Every write below raises the version of 
+	 * the article's group and author, which retires their cached listings.
+	 */
+	private final QueryResultCache queryCache = new QueryResultCache();
+	
+	/** How many close titles a generic message falls back to. */
+	static final int GENERIC_MESSAGE_SUGGESTIONS = 3;
+	
+	/** The access scope of the listings below, which only show public articles. */
+	private static final String PUBLIC_SCOPE = "public";
 	
 	
 	
@@ -87,10 +114,7 @@ class DatabaseHelper {
 	
 	public void connectToDatabase() throws SQLException {
 		try {
-			Class.forName(JDBC_DRIVER); // Load the JDBC driver
-			System.out.println("Connecting to database...");
-			connection = DriverManager.getConnection(DB_URL, USER, PASS);
-			statement = connection.createStatement(); 
+			statement = openConnection().createStatement(); 
 			createTables(); 
 			createHelpTable();
 			// Create the necessary tables if they don't exist
@@ -110,11 +134,13 @@ class DatabaseHelper {
 	 * @throws SQLException if there is an error executing SQL commands.
 	 */
 	private void createTables() throws SQLException {
-		String destroy = "DROP TABLE IF EXISTS cse360users ";
-		statement.execute(destroy);
+		if (!getStorage().keepsData()) {
+			String destroy = "DROP TABLE IF EXISTS cse360users ";
+			statement.execute(destroy);
+		}
 		String userTable = "CREATE TABLE IF NOT EXISTS cse360users ("
 				+ "id INT AUTO_INCREMENT PRIMARY KEY, "
-				+ "username VARCHAR(255), "
+				+ "username VARCHAR(255) UNIQUE, "
 				+ "password VARCHAR(255),"
 				+ "role VARCHAR(20), "
 				+ "email VARCHAR(255) UNIQUE, "
@@ -125,6 +151,14 @@ class DatabaseHelper {
 				+ "skillLevel VARCHAR(255)) "; //Advanced, intermediate, etc.
 		
 		statement.execute(userTable);
+		
+		// Logins look a user up by name alone, so a name must belong to one row. A kept 
+		// table from before the constraint gets it here, unless it already has duplicates.
+		try {
+			statement.execute("CREATE UNIQUE INDEX IF NOT EXISTS cse360usersUsername ON cse360users (username)");
+		} catch (SQLException se) {
+			System.err.println("Usernames are not unique in the kept cse360users table: " + se.getMessage());
+		}
 		String inviteTable = "CREATE TABLE IF NOT EXISTS invites ("
 				+ "id INT AUTO_INCREMENT PRIMARY KEY, "
 				+ "code VARCHAR(255), "
@@ -145,8 +179,10 @@ class DatabaseHelper {
 	
 
 	private void createHelpTable() throws SQLException {
-		String destroy = "DROP TABLE IF EXISTS Articles ";
-		statement.execute(destroy);
+		if (!getStorage().keepsData()) {
+			String destroy = "DROP TABLE IF EXISTS Articles ";
+			statement.execute(destroy);
+		}
 		
 		String articlesTable = "CREATE TABLE IF NOT EXISTS Articles ("
                 + "id INT PRIMARY KEY AUTO_INCREMENT, "
@@ -160,10 +196,18 @@ class DatabaseHelper {
                 + "accessLevel VARCHAR(255), "
                 + "other VARCHAR(500), "
                 + "links_misc VARCHAR(500), "
-                + "uniqueID BIGINT UNIQUE"
+                + "uniqueID BIGINT UNIQUE, "
+                + "deletedAt TIMESTAMP"  // Set when the article is deleted, null while it is live
                 + ")";
 		
         statement.execute(articlesTable);
+        statement.execute("CREATE INDEX IF NOT EXISTS ArticlesDeletedAt ON Articles (deletedAt)");
+        
+        revisions = new ArticleRevisions(connection);
+        revisions.createTable();
+        
+        catalog = new ArticleCatalog(connection);
+        catalog.load();
         
         String studentQueries = "CREATE TABLE IF NOT EXISTS queries ("
         		+ "id INT PRIMARY KEY AUTO_INCREMENT, "
@@ -208,16 +252,20 @@ class DatabaseHelper {
 	 * @param oneTimePassword indicates if a one-time password should be used.
 	 * @param passwordExpired the date when the password expires.
 	 * @param skillLevel the skill level of the new user (e.g., Advanced, Intermediate).
+	 * @return true if the user was added, false if the username is already taken.
 	 * @throws SQLException if there is an error executing the insert command.
 	 */
 	public boolean register(String username, String password, String role, String email, String fullName, 
 			String prefName, 
             boolean oneTimePassword, Date passwordExpired, String skillLevel) throws SQLException {
+		if (doesUserExist(username)) {
+			return false;
+		}
 		String insertUser = "INSERT INTO cse360users (username, password, role, email, fullName, prefName, "
 				+ "oneTimePassword, passwordExpired, skillLevel) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
 		try (PreparedStatement pstmt = connection.prepareStatement(insertUser)) {
 			pstmt.setString(1, username);
-			pstmt.setString(2, password);
+			pstmt.setString(2, passwordHasher.hash(password));
 			pstmt.setString(3, role);
 			pstmt.setString(4, email);
 			pstmt.setString(5, fullName);
@@ -254,21 +302,28 @@ class DatabaseHelper {
 		String insertArticle = "INSERT INTO Articles (title, author, description, body, level, groupIdentifier, keywords, accessLevel, other, links_misc, uniqueID) "
 				+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?,?, ?)";
 		
-		try (PreparedStatement pstmt = connection.prepareStatement(insertArticle))
-		{
-			pstmt.setString(1, title);
-			pstmt.setString(2, author);
-			pstmt.setString(3, description);
-			pstmt.setString(4, body);
-			pstmt.setString(5, level);
-			pstmt.setString(6, groupIdentifier);
-		    pstmt.setString(7, keywords);
-		    pstmt.setString(8, accessLevel);
-		    pstmt.setString(9, other);
-		    pstmt.setString(10, links);
-		    pstmt.setLong(11, uniqueID);
-		    pstmt.executeUpdate();
-		} 
+		// The article and its first revision are written together
+		inTransaction(transaction -> {
+			try (PreparedStatement pstmt = transaction.prepareStatement(insertArticle))
+			{
+				pstmt.setString(1, title);
+				pstmt.setString(2, author);
+				pstmt.setString(3, description);
+				pstmt.setString(4, body);
+				pstmt.setString(5, level);
+				pstmt.setString(6, groupIdentifier);
+			    pstmt.setString(7, keywords);
+			    pstmt.setString(8, accessLevel);
+			    pstmt.setString(9, other);
+			    pstmt.setString(10, links);
+			    pstmt.setLong(11, uniqueID);
+			    pstmt.executeUpdate();
+			} 
+			revisions.on(transaction).recordUniqueID(uniqueID, ArticleRevisions.CREATED, now());
+			return null;
+		});
+		catalog.refresh(uniqueID);
+		queryCache.articleChanged(groupIdentifier, author);
 	}
 	
 	
@@ -285,26 +340,75 @@ class DatabaseHelper {
 	 * */
 public String listArticles() throws Exception{ 
 		
-		String findArticle = "SELECT * FROM Articles WHERE accessLevel = 'public' "; 
-		String display = "";
-		try (PreparedStatement stmt = connection.prepareStatement(findArticle);
-		         ResultSet rs = stmt.executeQuery()) {
-
-		        while (rs.next()) {
-		            int id = rs.getInt("id");
-		            String title = rs.getString("title");
-		            String level = rs.getString("level");
-		            String groupID = rs.getString("groupIdentifier");
-
-		            display += "ID: " + id + "\n";
-		            display += "Title: " + title + "\n";
-		            display += "Level: " + level + "\n";
-		            display += "Group Identifier: " + groupID + "\n";
-		        }
-		    }
-		
+		// Served from the in-memory catalog, which holds the same columns as Articles
+		StringBuilder display = new StringBuilder();
+		for (ArticleCatalog.Entry article : catalog.snapshot()) {
+			if (!article.isPublic()) {
+				continue;
+			}
+			display.append("ID: ").append(article.id).append("\n");
+			display.append("Title: ").append(article.title).append("\n");
+			display.append("Level: ").append(article.level).append("\n");
+			display.append("Group Identifier: ").append(article.groupIdentifier).append("\n");
+		}
 			
-		return display;	
+		return display.toString();	
+	}
+	
+	/**
+	 * Lists the public articles of one group in the same short form as listArticles, 
+	 * served from the in-memory catalog.
+	 * 
+	 * @param groupIdentifier
+	 * @return
+	 */
+	public String listArticlesByGroup(String groupIdentifier) {
+		StringBuilder display = new StringBuilder();
+		for (ArticleCatalog.Entry article : catalog.snapshot()) {
+			if (!article.isPublic() || !groupIdentifier.equals(article.groupIdentifier)) {
+				continue;
+			}
+			display.append("ID: ").append(article.id).append("\n");
+			display.append("Title: ").append(article.title).append("\n");
+			display.append("Author: ").append(article.author).append("\n");
+			display.append("Level: ").append(article.level).append("\n");
+		}
+		return display.toString();
+	}
+
+	/**
+	 * Counts the public articles, for a paged listing.
+	 */
+	public int countPublicArticles() {
+		int count = 0;
+		for (ArticleCatalog.Entry article : catalog.snapshot()) {
+			if (article.isPublic()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Lists one page of the public articles in id order, one line each, served from the
+	 * in-memory catalog starting after an id.
+	 * 
+	 * @param afterId the last id of the page before, or PagedListView.FIRST_PAGE.
+	 * @param limit the most articles to return.
+	 */
+	public List<ListingRow> listArticlesPage(int afterId, int limit) {
+		List<ListingRow> page = new ArrayList<>();
+		for (ArticleCatalog.Entry article : catalog.snapshotAfter(afterId)) {
+			if (!article.isPublic()) {
+				continue;
+			}
+			if (page.size() == limit) {
+				break;
+			}
+			page.add(new ListingRow(article.id, "ID: " + article.id + ", Title: " + article.title
+					+ ", Level: " + article.level + ", Group: " + article.groupIdentifier));
+		}
+		return page;
 	}
 	
 
@@ -319,7 +423,13 @@ public String listArticles() throws Exception{
 		
 	public String displayArticle(int id) throws Exception
 	{
-		 	String query = "SELECT * FROM Articles WHERE id = ? AND accessLevel = 'public' ";
+			String cached = articleCache.get(id);
+			if (cached != null) {
+				return cached;
+			}
+			long stamp = articleCache.stamp();
+			
+		 	String query = "SELECT * FROM Articles WHERE id = ? AND accessLevel = 'public' AND deletedAt IS NULL ";
 		    String display = "";
 
 		    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
@@ -344,7 +454,7 @@ public String listArticles() throws Exception{
 		                    
 		                    display += "ID: " + newid + "\n";
 		    	            display += "Title: " + title + "\n";
-		    	            display += "Author: " + title + "\n";
+		    	            display += "Author: " + author + "\n";
 		    	            display += "Description: " + description + "\n";
 		    	            display += "Body: " + body + "\n";
 		    	            display += "Level: " + level + "\n";
@@ -357,7 +467,10 @@ public String listArticles() throws Exception{
 		        }
 		    }
 		    
-		  
+		    // Only found articles are cached, so a deleted or private one is looked up again
+		    if (!display.isEmpty()) {
+		    	articleCache.put(id, display, stamp);
+		    }
 		    return display;
 	}
 	
@@ -372,7 +485,13 @@ public String listArticles() throws Exception{
 	 * ***/
 public String displayArticleByGroup(String groupIdentifier) throws Exception {
 	    
-	    String query = "SELECT * FROM Articles WHERE groupIdentifier = ? and accessLevel = 'public' ";
+	    String cached = queryCache.get(QueryResultCache.BY_GROUP, PUBLIC_SCOPE, groupIdentifier);
+	    if (cached != null) {
+	    	return cached;
+	    }
+	    long version = queryCache.stamp(QueryResultCache.BY_GROUP, groupIdentifier);
+	    
+	    String query = "SELECT * FROM Articles WHERE groupIdentifier = ? and accessLevel = 'public' AND deletedAt IS NULL ";
 	    
 	    String display = "";
 
@@ -412,7 +531,7 @@ public String displayArticleByGroup(String groupIdentifier) throws Exception {
 	        }
 	    }
 	    
-	    
+	    queryCache.put(QueryResultCache.BY_GROUP, PUBLIC_SCOPE, groupIdentifier, version, display);
 	    return display;
 	}
 	
@@ -511,8 +630,14 @@ public String displayArticleByGroup(String groupIdentifier) throws Exception {
 	
 	
 	public String displayArticleByAuthor(String author) throws Exception {
+	    String cached = queryCache.get(QueryResultCache.BY_AUTHOR, PUBLIC_SCOPE, author);
+	    if (cached != null) {
+	    	return cached;
+	    }
+	    long version = queryCache.stamp(QueryResultCache.BY_AUTHOR, author);
+	    
 	    // Query to search for articles by a specific author with public access level
-	    String query = "SELECT * FROM Articles WHERE author = ? AND accessLevel = 'public' ";
+	    String query = "SELECT * FROM Articles WHERE author = ? AND accessLevel = 'public' AND deletedAt IS NULL ";
 	    String display = "";
 
 	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
@@ -547,6 +672,7 @@ public String displayArticleByGroup(String groupIdentifier) throws Exception {
 	            }
 	        }
 	    }
+	    queryCache.put(QueryResultCache.BY_AUTHOR, PUBLIC_SCOPE, author, version, display);
 	    return display;
 	}
 	
@@ -556,7 +682,7 @@ public String displayArticleByGroup(String groupIdentifier) throws Exception {
 	    String display = "";
 
 	    
-	    String query = "SELECT * FROM Articles WHERE (title LIKE ? OR description LIKE ? OR keywords LIKE ?) AND accessLevel = 'public' ";
+	    String query = "SELECT * FROM Articles WHERE (title LIKE ? OR description LIKE ? OR keywords LIKE ?) AND accessLevel = 'public' AND deletedAt IS NULL ";
 	    
 	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
 	       
@@ -596,6 +722,88 @@ public String displayArticleByGroup(String groupIdentifier) throws Exception {
 	        }
 	    return display;
 	}
+
+	/**
+	 * Counts the public articles searchArticlesByWord would find, for a paged listing.
+	 */
+	public int countArticlesByWord(String searchTerm) throws SQLException {
+	    String searchPattern = "%" + searchTerm + "%";
+	    String query = "SELECT COUNT(*) FROM Articles WHERE (title LIKE ? OR description LIKE ? OR keywords LIKE ?) AND accessLevel = 'public' AND deletedAt IS NULL";
+	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	        pstmt.setString(1, searchPattern);
+	        pstmt.setString(2, searchPattern);
+	        pstmt.setString(3, searchPattern);
+	        try (ResultSet rs = pstmt.executeQuery()) {
+	            return rs.next() ? rs.getInt(1) : 0;
+	        }
+	    }
+	}
+
+	/**
+	 * Lists one page of the public articles matching a word in id order, one line each.
+	 * Only the short columns are read; the body is fetched when an article is opened.
+	 * The page starts after an id rather than at an offset, so no earlier rows are read.
+	 * 
+	 * @param searchTerm the word to look for in the title, description and keywords.
+	 * @param afterId the last id of the page before, or PagedListView.FIRST_PAGE.
+	 * @param limit the most articles to return.
+	 */
+	public List<ListingRow> searchArticlesByWordPage(String searchTerm, int afterId, int limit) throws SQLException {
+	    String searchPattern = "%" + searchTerm + "%";
+	    String query = "SELECT id, title, author, level FROM Articles WHERE id > ? AND (title LIKE ? OR description LIKE ? OR keywords LIKE ?) "
+	    		+ "AND accessLevel = 'public' AND deletedAt IS NULL ORDER BY id LIMIT ?";
+	    List<ListingRow> page = new ArrayList<>();
+	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	        pstmt.setInt(1, afterId);
+	        pstmt.setString(2, searchPattern);
+	        pstmt.setString(3, searchPattern);
+	        pstmt.setString(4, searchPattern);
+	        pstmt.setInt(5, limit);
+	        try (ResultSet rs = pstmt.executeQuery()) {
+	            while (rs.next()) {
+	                int id = rs.getInt("id");
+	                page.add(new ListingRow(id, "ID: " + id + ", Title: " + rs.getString("title")
+	                		+ ", Author: " + rs.getString("author") + ", Level: " + rs.getString("level")));
+	            }
+	        }
+	    }
+	    return page;
+	}
+
+	/**
+	 * Finds the public articles matching a word for the search as you type, keeping the
+	 * searched fields in each hit so a longer search can be filtered from them.
+	 * 
+	 * @param searchTerm the word to look for in the title, description and keywords.
+	 */
+	public List<SearchHit> searchArticleHits(String searchTerm) throws SQLException {
+	    String searchPattern = "%" + searchTerm + "%";
+	    String query = "SELECT id, title, author, description, keywords FROM Articles WHERE (title LIKE ? OR description LIKE ? OR keywords LIKE ?) "
+	    		+ "AND accessLevel = 'public' AND deletedAt IS NULL ORDER BY id";
+	    List<SearchHit> hits = new ArrayList<>();
+	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	        pstmt.setString(1, searchPattern);
+	        pstmt.setString(2, searchPattern);
+	        pstmt.setString(3, searchPattern);
+	        try (ResultSet rs = pstmt.executeQuery()) {
+	            while (rs.next()) {
+	                int id = rs.getInt("id");
+	                String title = rs.getString("title");
+	                hits.add(new SearchHit(id, "ID: " + id + ", Title: " + title + ", Author: " + rs.getString("author"),
+	                		title, rs.getString("description"), rs.getString("keywords")));
+	            }
+	        }
+	    }
+	    return hits;
+	}
+
+	/**
+	 * Returns the version of the public articles searched by searchArticleHits, which
+	 * changes whenever an article is written.
+	 */
+	public long getSearchVersion() {
+	    return queryCache.latest();
+	}
 	
 	public void addSpecificMessage(String username, String message) throws SQLException {
 	    String insertMessage = "INSERT INTO queries (username, question, answered) VALUES (?, ?, FALSE)";
@@ -625,48 +833,78 @@ public String displayArticleByGroup(String groupIdentifier) throws Exception {
 		    pstmt.setLong(8, uniqueID);
 		    pstmt.executeUpdate();
 		} 
+		revisions.recordUniqueID(uniqueID, ArticleRevisions.CREATED, now());
+		catalog.refresh(uniqueID);
+		queryCache.articleChanged("Query", author);
 	}
 
+/**
+ * Displays the generic message article whose title is the question. When no title
+ * matches exactly, the closest titles are shown instead, so a typo or a difference in
+ * case does not leave the student without an answer.
+ * 
+ * @param inputTitle the question the student typed.
+ * @return the matching articles, or an empty string if none is close.
+ */
 public String displayGenericMessageArticles(String inputTitle) throws Exception {
 	    
-	    String query = "SELECT * FROM Articles WHERE title = ? AND groupIdentifier = 'Query'";
+	    String query = "SELECT * FROM Articles WHERE title = ? AND groupIdentifier = 'Query' AND deletedAt IS NULL";
 	    
-	    String display = "";
-
 	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
 	        pstmt.setString(1, inputTitle);
 
 	        try (ResultSet rs = pstmt.executeQuery()) {
-	            if (!rs.next()) {
-	                return display;
+	            if (rs.next()) {
+	                return formatGenericArticle(rs);
 	            }
+	        }
+	    }
 
-	            int newid = rs.getInt("id");
-	            String title = rs.getString("title");
-	            String author = rs.getString("author");
-	            String description = rs.getString("description");
-	            String body = rs.getString("body");
-	            String level = rs.getString("level");
-	            String groupIdentifier = rs.getString("groupIdentifier");
-	            String keywords = rs.getString("keywords");
-	            String accessLevel = rs.getString("accessLevel");
-	            String other = rs.getString("other");
-	            String links = rs.getString("links_misc");
-
-	            display += "ID: " + newid + "\n";
-	            display += "Title: " + title + "\n";
-	            display += "Author: " + author + "\n";
-	            display += "Description: " + description + "\n";
-	            display += "Body: " + body + "\n";
-	            display += "Level: " + level + "\n";
-	            display += "Group Identifier: " + groupIdentifier + "\n";
-	            display += "Keywords: " + keywords + "\n";
-	            display += "Access Level: " + accessLevel + "\n";
-	            display += "Other: " + other + "\n";
-	            display += "Links: " + links;
-	            return display;
+	    // No exact title, so fall back to the closest ones
+	    String display = "";
+	    String byId = "SELECT * FROM Articles WHERE id = ? AND groupIdentifier = 'Query' AND deletedAt IS NULL";
+	    try (PreparedStatement pstmt = connection.prepareStatement(byId)) {
+	        for (int id : catalog.getGenericMessageMatcher().closest(inputTitle, GENERIC_MESSAGE_SUGGESTIONS)) {
+	            pstmt.setInt(1, id);
+	            try (ResultSet rs = pstmt.executeQuery()) {
+	                if (rs.next()) {
+	                    display += (display.isEmpty() ? "Closest matches:\n\n" : "\n\n") + formatGenericArticle(rs);
+	                }
+	            }
 	        }
 	    }
+	    return display;
+	}
+
+	/**
+	 * Formats a generic message article for displayGenericMessageArticles.
+	 */
+	private static String formatGenericArticle(ResultSet rs) throws SQLException {
+		String display = "";
+		int newid = rs.getInt("id");
+		String title = rs.getString("title");
+		String author = rs.getString("author");
+		String description = rs.getString("description");
+		String body = rs.getString("body");
+		String level = rs.getString("level");
+		String groupIdentifier = rs.getString("groupIdentifier");
+		String keywords = rs.getString("keywords");
+		String accessLevel = rs.getString("accessLevel");
+		String other = rs.getString("other");
+		String links = rs.getString("links_misc");
+
+		display += "ID: " + newid + "\n";
+		display += "Title: " + title + "\n";
+		display += "Author: " + author + "\n";
+		display += "Description: " + description + "\n";
+		display += "Body: " + body + "\n";
+		display += "Level: " + level + "\n";
+		display += "Group Identifier: " + groupIdentifier + "\n";
+		display += "Keywords: " + keywords + "\n";
+		display += "Access Level: " + accessLevel + "\n";
+		display += "Other: " + other + "\n";
+		display += "Links: " + links;
+		return display;
 	}
 
 
@@ -711,10 +949,35 @@ public String displayUnansweredStudentQueries() throws SQLException {
 	 */
 	public void restorationAdd(String title, String author, String description, String body, String level, String groupIdentifier, 
 			String keywords, String accessLevel, String other, String links_misc, long UID) throws SQLException
+	{
+		inTransaction(transaction -> {
+			insertRestored(transaction, revisions.on(transaction), title, author, description, body, level, groupIdentifier,
+					keywords, accessLevel, other, links_misc, UID);
+			return null;
+		});
+		catalog.refresh(UID);
+		queryCache.articleChanged(groupIdentifier, author);
+	}
+	
+	/**
+	 * Inserts a restored article and its first revision through the given connection. 
+	 * The in-memory copies are left to the caller, which updates them once the insert 
+	 * is committed.
+	 */
+	private static void insertRestored(Connection restore, ArticleRevisions history, String title, String author, 
+			String description, String body, String level, String groupIdentifier, String keywords, String accessLevel, 
+			String other, String links_misc, long UID) throws SQLException
 	{
 			String insertArticle = "INSERT INTO Articles (title, author, description, body, level, groupIdentifier, keywords, accessLevel, other, links_misc, uniqueID) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 		
-		try (PreparedStatement pstmt = connection.prepareStatement(insertArticle))
+		// A deleted copy of the same article would block the unique ID; its history is kept
+		try (PreparedStatement pstmt = restore.prepareStatement("DELETE FROM Articles WHERE uniqueID = ? AND deletedAt IS NOT NULL"))
+		{
+			pstmt.setLong(1, UID);
+			pstmt.executeUpdate();
+		}
+		
+		try (PreparedStatement pstmt = restore.prepareStatement(insertArticle))
 		{
 			pstmt.setString(1, title);
 			pstmt.setString(2, author);
@@ -729,6 +992,7 @@ public String displayUnansweredStudentQueries() throws SQLException {
 		    pstmt.setLong(11, UID);
 		    pstmt.executeUpdate();
 		} 
+		history.recordUniqueID(UID, ArticleRevisions.CREATED, now());
 	}
 	
 	
@@ -740,37 +1004,25 @@ public String displayUnansweredStudentQueries() throws SQLException {
 	 */
 	public void backupHelpSystemToFile(String file) throws Exception
 	{
-		String backup = "SELECT * FROM Articles";
+		backupHelpSystemToFile(file, ProgressListener.NONE);
+	}
+	
+	/**
+	 * Backs up the entire database into a given backup file, reporting the rows written 
+	 * as it goes. Stops early if the task running it is cancelled.
+	 * 
+	 * @param file
+	 * @param listener
+	 * @throws Exception
+	 */
+	public void backupHelpSystemToFile(String file, ProgressListener listener) throws Exception
+	{
+		String backup = "SELECT * FROM Articles WHERE deletedAt IS NULL";
 	    
-	    try(Statement stmt = connection.createStatement())
+	    try(Statement stmt = connection.createStatement();
+	    	ResultSet rs = stmt.executeQuery(backup))
 	    {
-	    	ResultSet rs = stmt.executeQuery(backup);
-	    	BufferedWriter writer = new BufferedWriter(new FileWriter(file));
-	    	
-	    	writer.write("Title, Author, Description, Body, Level, Group Identifier, Keywords, Access Level, Other, Links, Unique ID");
-	        writer.newLine();
-	    	
-	    	while (rs.next()) {
-	            String title = rs.getString("title");
-	            String author = rs.getString("author");
-	            String description = rs.getString("description");
-	            String body = rs.getString("body");
-	            String level = rs.getString("level");
-	            String groupIdentifier = rs.getString("groupIdentifier");
-	            String keywords = rs.getString("keywords");
-	            String accessLevel = rs.getString("accessLevel");
-	            String other = rs.getString("other");
-	            String links = rs.getString("links_misc");
-	            String uniqueID = rs.getString("uniqueID");
-	            
-	            writer.write(title + "&&" + author + "&&" + description + "&&" + body + "&&" + level + "&&" +
-	                         groupIdentifier + "&&" + keywords + "&&" + accessLevel +
-	                         "&&" + other + "&&" + links + "&&" + uniqueID);
-	            writer.newLine();
-	        }
-	    	
-	    	writer.close();
-	    	rs.close(); 
+	    	writeBackup(file, rs, new TransferProgress(listener, catalog.size(), TransferProgress.UNKNOWN));
 	    }
 
 	}
@@ -784,71 +1036,296 @@ public String displayUnansweredStudentQueries() throws SQLException {
 	 * @throws Exception
 	 */
 	public void backUpGroupToFile(String file, String groupIdentifier) throws Exception {
-	    String backup = "SELECT * FROM Articles WHERE groupIdentifier = ?";
+		backUpGroupToFile(file, groupIdentifier, ProgressListener.NONE);
+	}
+	
+	/**
+	 * Backs up only articles that belong to the group identifier, reporting the rows 
+	 * written as it goes. Stops early if the task running it is cancelled.
+	 * 
+	 * @param file
+	 * @param groupIdentifier
+	 * @param listener
+	 * @throws Exception
+	 */
+	public void backUpGroupToFile(String file, String groupIdentifier, ProgressListener listener) throws Exception {
+	    String backup = "SELECT * FROM Articles WHERE groupIdentifier = ? AND deletedAt IS NULL";
 
 	    try (PreparedStatement pstmt = connection.prepareStatement(backup)) {
 	        pstmt.setString(1, groupIdentifier); 
 
-	        ResultSet rs = pstmt.executeQuery();
-	        BufferedWriter writer = new BufferedWriter(new FileWriter(file));
-
-	        writer.write("Title, Author, Description, Body, Level, Group Identifier, Keywords, Access Level, Other, Links");
-	        writer.newLine();
-
-	        while (rs.next()) {
-	            String title = rs.getString("title");
-	            String author = rs.getString("author");
-	            String description = rs.getString("description");
-	            String body = rs.getString("body");
-	            String level = rs.getString("level");
-	            String groupID = rs.getString("groupIdentifier");
-	            String keywords = rs.getString("keywords");
-	            String accessLevel = rs.getString("accessLevel");
-	            String other = rs.getString("other");
-	            String links = rs.getString("links_misc");
-	            String uniqueID = rs.getString("uniqueID");
-
-	            writer.write(title + "&&" + author + "&&" + description + "&&" + body + "&&" + level + "&&" +
-                        groupID + "&&" + keywords + "&&" + accessLevel +
-                        "&&" + other + "&&" + links + "&&" + uniqueID);
-	            writer.newLine();
+	        try (ResultSet rs = pstmt.executeQuery()) {
+	        	writeBackup(file, rs, new TransferProgress(listener, catalog.countInGroup(groupIdentifier), TransferProgress.UNKNOWN));
 	        }
-
-	        writer.close();
-	        rs.close(); 
 	    }
 	}
 	
 	/**
-	 * Deletes an article given its unique ID.
+	 * Writes the articles of a result set to a backup file, one "&&" separated row each.
+	 */
+	private void writeBackup(String file, ResultSet rs, TransferProgress progress) throws Exception {
+		try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, StandardCharsets.UTF_8))) {
+			String header = "Title, Author, Description, Body, Level, Group Identifier, Keywords, Access Level, Other, Links, Unique ID";
+			writer.write(header);
+			writer.newLine();
+			progress.advance(0, TransferProgress.lineBytes(header));
+
+			while (rs.next()) {
+				DatabaseTasks.checkCancelled();
+				String title = rs.getString("title");
+				String author = rs.getString("author");
+				String description = rs.getString("description");
+				String body = rs.getString("body");
+				String level = rs.getString("level");
+				String groupIdentifier = rs.getString("groupIdentifier");
+				String keywords = rs.getString("keywords");
+				String accessLevel = rs.getString("accessLevel");
+				String other = rs.getString("other");
+				String links = rs.getString("links_misc");
+				String uniqueID = rs.getString("uniqueID");
+
+				String row = title + "&&" + author + "&&" + description + "&&" + body + "&&" + level + "&&" +
+						groupIdentifier + "&&" + keywords + "&&" + accessLevel +
+						"&&" + other + "&&" + links + "&&" + uniqueID;
+				writer.write(row);
+				writer.newLine();
+				progress.advance(1, TransferProgress.lineBytes(row));
+			}
+		}
+		progress.finish();
+	}
+	
+	/**
+	 * Deletes an article given its unique ID. The row is only marked as deleted, so it
+	 * can be recovered with recoverArticle.
 	 * 
 	 * @param id
 	 * @return
 	 * @throws SQLException
 	 */
 	public boolean deleteArticle(int id) throws SQLException {
-	    String query = "DELETE FROM Articles WHERE id = ?";
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-	        pstmt.setInt(1, id);
-	        int rowsAffected = pstmt.executeUpdate();
-	        return rowsAffected > 0;
-		}
-	        
+	    String query = "UPDATE Articles SET deletedAt = ? WHERE id = ? AND deletedAt IS NULL";
+	    Timestamp deletedAt = now();
+	    boolean deleted = inTransaction(transaction -> {
+	    	try (PreparedStatement pstmt = transaction.prepareStatement(query)) {
+	    		pstmt.setTimestamp(1, deletedAt);
+	    		pstmt.setInt(2, id);
+	    		if (pstmt.executeUpdate() == 0) {
+	    			return false;
+	    		}
+	    	}
+	    	revisions.on(transaction).recordArticle(id, ArticleRevisions.DELETED, deletedAt);
+	    	return true;
+	    });
+	    if (deleted) {
+	    	articleChanged(catalog.get(id));
+	    	catalog.remove(id);
+	    	articleCache.invalidate(id);
+	    }
+	    return deleted;
 	}
 	
 	/**
 	 * Deletes all articles from the database. Only 
-	 * for instructor and admin. 
+	 * for instructor and admin. Every article is marked with the same deletion time, 
+	 * so the whole delete can be undone with recoverLastDeletion.
 	 * 
 	 * @throws Exception
 	 */
 	public void deleteAll() throws Exception
 	{
-		String deleteAll = "DELETE FROM Articles";
-		try (PreparedStatement pstmt = connection.prepareStatement(deleteAll))
+		inTransaction(transaction -> {
+			markAllDeleted(transaction, revisions.on(transaction), now());
+			return null;
+		});
+		catalog.clear();
+		articleCache.clear();
+		queryCache.allChanged();
+	}
+	
+	/**
+	 * Marks every article deleted at one time and records the deletes, through the 
+	 * given connection.
+	 */
+	private static void markAllDeleted(Connection restore, ArticleRevisions history, Timestamp deletedAt) throws SQLException
+	{
+		String deleteAll = "UPDATE Articles SET deletedAt = ? WHERE deletedAt IS NULL";
+		try (PreparedStatement pstmt = restore.prepareStatement(deleteAll))
 		{
+			pstmt.setTimestamp(1, deletedAt);
 			pstmt.executeUpdate();
 		}
+		history.recordDeletedAt(deletedAt, ArticleRevisions.DELETED, deletedAt);
+	}
+	
+	
+	/** ------------ Article Recovery and History  ------------ */
+	
+	/**
+	 * Recovers a deleted article given its ID.
+	 * 
+	 * @param id
+	 * @return true if a deleted article was recovered.
+	 * @throws SQLException
+	 */
+	public boolean recoverArticle(int id) throws SQLException {
+		String query = "UPDATE Articles SET deletedAt = NULL WHERE id = ? AND deletedAt IS NOT NULL";
+		boolean recovered = inTransaction(transaction -> {
+			try (PreparedStatement pstmt = transaction.prepareStatement(query)) {
+				pstmt.setInt(1, id);
+				if (pstmt.executeUpdate() == 0) {
+					return false;
+				}
+			}
+			revisions.on(transaction).recordArticle(id, ArticleRevisions.RECOVERED, now());
+			return true;
+		});
+		if (!recovered) {
+			return false;
+		}
+		catalog.refresh(getUniqueID(id));
+		articleChanged(catalog.get(id));
+		return true;
+	}
+	
+	/**
+	 * Recovers every article removed by the most recent delete, whether that was a 
+	 * single article or a delete all.
+	 * 
+	 * @return the number of articles recovered.
+	 * @throws SQLException
+	 */
+	public int recoverLastDeletion() throws SQLException {
+		Timestamp deletedAt = null;
+		try (PreparedStatement pstmt = connection.prepareStatement("SELECT MAX(deletedAt) FROM Articles");
+		     ResultSet rs = pstmt.executeQuery()) {
+			if (rs.next()) {
+				deletedAt = rs.getTimestamp(1);
+			}
+		}
+		if (deletedAt == null) {
+			return 0;
+		}
+		
+		Timestamp lastDeletion = deletedAt;
+		int recovered = inTransaction(transaction -> {
+			revisions.on(transaction).recordDeletedAt(lastDeletion, ArticleRevisions.RECOVERED, now());
+			try (PreparedStatement pstmt = transaction.prepareStatement("UPDATE Articles SET deletedAt = NULL WHERE deletedAt = ?")) {
+				pstmt.setTimestamp(1, lastDeletion);
+				return pstmt.executeUpdate();
+			}
+		});
+		catalog.load();
+		queryCache.allChanged();
+		return recovered;
+	}
+	
+	/**
+	 * Returns an article as it was at a given time, including articles that have
+	 * since been deleted.
+	 * 
+	 * @param id
+	 * @param asOf
+	 * @return the article, or an empty string if it did not exist at that time.
+	 * @throws SQLException
+	 */
+	public String getArticleAsOf(int id, Timestamp asOf) throws SQLException {
+		long uniqueID = getUniqueID(id);
+		return uniqueID == 0 ? "" : revisions.getArticleAsOf(uniqueID, asOf);
+	}
+	
+	/**
+	 * Lists the revisions of an article, including one that has been deleted.
+	 * 
+	 * @param id
+	 * @return
+	 * @throws SQLException
+	 */
+	public String listArticleRevisions(int id) throws SQLException {
+		long uniqueID = getUniqueID(id);
+		return uniqueID == 0 ? "" : revisions.listRevisions(uniqueID);
+	}
+	
+	private long getUniqueID(int id) throws SQLException {
+		try (PreparedStatement pstmt = connection.prepareStatement("SELECT uniqueID FROM Articles WHERE id = ?")) {
+			pstmt.setInt(1, id);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				return rs.next() ? rs.getLong(1) : 0;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the size and hit rate of the article cache, for diagnostics.
+	 */
+	public String getArticleCacheStatistics() {
+		return articleCache.getStatistics();
+	}
+	
+	/**
+	 * Returns the size and hit rate of the listing cache, for diagnostics.
+	 */
+	public String getQueryCacheStatistics() {
+		return queryCache.getStatistics();
+	}
+	
+	/**
+	 * Returns the clients sharing the store, with their database work, and the 
+	 * connections this client has open, for the admin.
+	 */
+	public String getClientStatistics() throws SQLException {
+		return getPoolStatistics() + "\n" + ClientStatistics.describe(connection);
+	}
+	
+	/**
+	 * Reloads the in-memory copies of the articles if another client sharing the store 
+	 * changed them, and reports this client's statistics. Called every few seconds in 
+	 * server mode.
+	 * 
+	 * @return true if the copies were reloaded.
+	 * @throws SQLException if there is an error executing SQL commands.
+	 */
+	public boolean syncWithOtherClients() throws SQLException {
+		boolean changed = revisions.changedElsewhere();
+		if (changed) {
+			catalog.load();
+			articleCache.clear();
+			queryCache.allChanged();
+			ClientStatistics.reloaded();
+		}
+		ClientStatistics.report(connection);
+		return changed;
+	}
+	
+	/**
+	 * Returns the autocomplete of the titles, authors and keywords of the public
+	 * articles, kept up to date by the catalog.
+	 */
+	public ArticleCompletions getCompletions() {
+		return catalog.getCompletions();
+	}
+	
+	/**
+	 * Returns the autocomplete of the generic message titles.
+	 */
+	public ArticleCompletions getGenericMessageCompletions() {
+		return catalog.getGenericMessageCompletions();
+	}
+	
+	/**
+	 * Retires the cached listings of an article's group and author. If the article is 
+	 * not in the catalog its group is unknown, so every listing is retired.
+	 */
+	private void articleChanged(ArticleCatalog.Entry article) {
+		if (article == null) {
+			queryCache.allChanged();
+		} else {
+			queryCache.articleChanged(article.groupIdentifier, article.author);
+		}
+	}
+	
+	private static Timestamp now() {
+		return new Timestamp(System.currentTimeMillis());
 	}
 	
 	
@@ -859,30 +1336,97 @@ public String displayUnansweredStudentQueries() throws SQLException {
 	 * @throws Exception
 	 */
 	public void restoreSystem(String file) throws Exception {
-	    if (hasArticles()) {
-	        deleteAll();
-	    }
+		restoreSystem(file, ProgressListener.NONE);
+	}
+	
+	/**
+	 * Restores a backup file after deleting all files from database, reporting the rows 
+	 * read as it goes. The delete and the restore are one transaction, so if the restore 
+	 * fails or is cancelled the articles are left as they were.
+	 * 
+	 * @param file
+	 * @param listener
+	 * @throws Exception
+	 */
+	public void restoreSystem(String file, ProgressListener listener) throws Exception {
+		inRestoreTransaction((restore, history) -> {
+		    if (hasArticles()) {
+		        markAllDeleted(restore, history, now());
+		    }
 
+		    // Articles keep the unique ID from the file, so a later restore without deleting 
+		    // recognizes them
+		    readBackup(file, listener, data -> {
+		    	long UID = data.length > 10 ? Long.parseLong(data[10].trim()) : generateUniqueID();
+		    	insertRestored(restore, history, data[0], data[1], data[2], data[3], data[4], data[5], data[6], data[7], data[8], data[9], UID);
+		    });
+		});
+	}
+	
+	/**
+	 * A row of a backup file that passed validation, split into its columns.
+	 */
+	private interface BackupRow {
+		void restore(String[] data) throws Exception;
+	}
+	
+	/**
+	 * Reads a backup file and hands every valid row to the given action. A row has the 
+	 * columns written by writeBackup: title, author, description, body, level, group, 
+	 * keywords, access level, other, links and unique ID.
+	 */
+	private void readBackup(String file, ProgressListener listener, BackupRow action) throws Exception {
 	    String row;
 	    String delimiter = "&&";
+	    TransferProgress progress = new TransferProgress(listener, TransferProgress.UNKNOWN, Files.size(Paths.get(file)));
 
-	    try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-	        reader.readLine(); 
+	    try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+	        String header = reader.readLine(); 
+	        if (header != null) {
+	        	progress.advance(0, TransferProgress.lineBytes(header));
+	        }
 
 	        while ((row = reader.readLine()) != null) {
+	        	DatabaseTasks.checkCancelled();
 	            String[] data = row.split(delimiter);
 
-	            if (data.length >= 9) {
-	                if (isValidLevel(data[3]) && isValidAccessLevel(data[6])) {
-	                    createHelpArticle( data[0], data[1], data[2], data[3], data[4], data[5], data[6], data[7], data[8], data[9]);
+	            if (data.length >= 10) {
+	                if (isValidLevel(data[4]) && isValidAccessLevel(data[7])) {
+	                    action.restore(data);
 	                } else {
 	                    System.out.println("Invalid data in row (level/accessLevel constraints): " + row);
 	                }
 	            } else {
-	                System.out.println("Could not read row. Incorrect number of columns.");
+	                System.out.println("Could not read row. Incorrect number of columns: " + row);
 	            }
+	            progress.advance(1, TransferProgress.lineBytes(row));
 	        }
 	    }
+	    progress.finish();
+	}
+	
+	/**
+	 * Work of a restore, given the connection it runs on and a history that records 
+	 * through it.
+	 */
+	private interface RestoreWork {
+		void run(Connection restore, ArticleRevisions history) throws Exception;
+	}
+	
+	/**
+	 * Runs a restore as one transaction. If it fails or is cancelled everything it 
+	 * wrote is rolled back and the in-memory copies of the articles are left as they 
+	 * were. They are rebuilt only once the restore is committed, so they never show 
+	 * rows that were not.
+	 */
+	private void inRestoreTransaction(RestoreWork work) throws Exception {
+		inTransaction(restore -> {
+			work.run(restore, revisions.on(restore));
+			return null;
+		});
+		catalog.load();
+		articleCache.clear();
+		queryCache.allChanged();
 	}
 
 	/**
@@ -916,16 +1460,7 @@ public String displayUnansweredStudentQueries() throws SQLException {
 	 * @throws SQLException
 	 */
 	public boolean articleExists(String title) throws SQLException {
-		String query = "SELECT COUNT(*) FROM articles WHERE title = ?";
-		try (PreparedStatement statement = connection.prepareStatement(query)) {
-			statement.setString(1, title);
-			try (ResultSet result = statement.executeQuery()) {
-				if (result.next()) {
-					return result.getInt(1) > 0; 
-				}
-			}
-		}
-		return false;
+		return catalog.hasTitle(title);
 	}
 	
 	
@@ -936,14 +1471,7 @@ public String displayUnansweredStudentQueries() throws SQLException {
 	 * @throws SQLException
 	 */
 	public boolean hasArticles() throws SQLException {
-	    String query = "SELECT COUNT(*) FROM Articles";
-	    try (PreparedStatement pstmt = connection.prepareStatement(query);
-	         ResultSet rs = pstmt.executeQuery()) {
-	        if (rs.next()) {
-	            return rs.getInt(1) > 0;
-	        }
-	    }
-	    return false;
+	    return !catalog.isEmpty();
 	}
 
 	/**
@@ -954,31 +1482,31 @@ public String displayUnansweredStudentQueries() throws SQLException {
 	 * @throws Exception
 	 */
 	public void restoreSystemExisting(String file) throws Exception {
-	    String row;
-	    String delimiter = "&&";
-
-	    try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-	        reader.readLine(); // Skip header
-
-	        while ((row = reader.readLine()) != null) {
-	            String[] data = row.split(delimiter);
-
-	            if (data.length >= 10) {
-	                if (isValidLevel(data[3]) && isValidAccessLevel(data[6])) {
-	                    if (!articleExists(data[9])) { 
-	                        long UID = Long.parseLong(data[9]);
-	                        restorationAdd(data[0], data[1], data[2], data[3], data[4], data[5], data[6], data[7], data[8], data[9], UID);
-	                    } else {
-	                        System.out.println("Duplicate uniqueID detected: " + data[9]);
-	                    }
-	                } else {
-	                    System.out.println("Invalid data in row (level/accessLevel constraints): " + row);
-	                }
-	            } else {
-	                System.out.println("Could not read row. Incorrect number of columns: " + row);
-	            }
-	        }
-	    }
+		restoreSystemExisting(file, ProgressListener.NONE);
+	}
+	
+	/**
+	 * Restores system if the database is not empty and makes sure no duplicates are made, 
+	 * reporting the rows read as it goes. If it fails or is cancelled nothing is added.
+	 * 
+	 * @param file
+	 * @param listener
+	 * @throws Exception
+	 */
+	public void restoreSystemExisting(String file, ProgressListener listener) throws Exception {
+		inRestoreTransaction((restore, history) -> {
+			// The catalog only changes after the commit, so the articles added by this 
+			// restore are tracked here
+			Set<Long> added = new HashSet<>();
+			readBackup(file, listener, data -> {
+				long UID = data.length > 10 ? Long.parseLong(data[10].trim()) : generateUniqueID();
+				if (!catalog.hasUniqueID(UID) && added.add(UID)) { 
+					insertRestored(restore, history, data[0], data[1], data[2], data[3], data[4], data[5], data[6], data[7], data[8], data[9], UID);
+				} else {
+					System.out.println("Duplicate uniqueID detected: " + UID);
+				}
+			});
+		});
 	}
 
 	
@@ -997,17 +1525,111 @@ public String displayUnansweredStudentQueries() throws SQLException {
 	 * @throws SQLException if there is an error executing the query.
 	 */
 	public boolean login(String username, String password, String role) throws SQLException {
-		String query = "SELECT * FROM cse360users WHERE username = ? AND password = ? AND role = ?";
+		String query = "SELECT password FROM cse360users WHERE username = ? AND role = ?";
 		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
 			pstmt.setString(1, username);
-			pstmt.setString(2, password);
-			pstmt.setString(3, role);
+			pstmt.setString(2, role);
 			try (ResultSet rs = pstmt.executeQuery()) {
-				return rs.next();
+				return rs.next() && passwordHasher.verify(password, rs.getString("password"));
 			}
 		}
 	}
 
+	/**
+	 * Authenticates a user and loads their session in one pass. The user row, role
+	 * and special access group rights are read once here so that screens can use the
+	 * returned session instead of looking the identity up again on each action.
+	 *
+	 * @param username the username of the user attempting to log in.
+	 * @param password the password of the user attempting to log in.
+	 * @return the session of the user, or null if the credentials are invalid.
+	 * @throws SQLException if there is an error executing the query.
+	 */
+	public UserSession startSession(String username, String password) throws SQLException {
+		String query = "SELECT id, username, password, role, fullName, prefName, skillLevel FROM cse360users "
+				+ "WHERE username = ?";
+		UserSession session = null;
+		String stored = null;
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			pstmt.setString(1, username);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				if (!rs.next()) {
+					return null;
+				}
+				stored = rs.getString("password");
+				if (!passwordHasher.verify(password, stored)) {
+					return null;
+				}
+				session = new UserSession(rs.getInt("id"), rs.getString("username"), rs.getString("role"),
+						rs.getString("fullName"), rs.getString("prefName"), rs.getString("skillLevel"));
+			}
+		}
+		if (passwordHasher.needsRehash(stored)) {
+			storePassword(username, password);
+		}
+		session.setVerificationToken(verifiedSessions.issue(username));
+		SpecialAccessGroups.loadGroupRights(session);
+		return session;
+	}
+	
+	/**
+	 * Checks if the session's user proved their password recently enough to perform a
+	 * privileged action without being asked again.
+	 * 
+	 * @param session the session of the logged in user.
+	 * @return true if the session's verification token has not expired.
+	 */
+	public boolean isSessionVerified(UserSession session) {
+		return session != null && verifiedSessions.isVerified(session.getVerificationToken(), session.getUsername());
+	}
+	
+	/**
+	 * Verifies the password of an already logged in user again and issues a new
+	 * verification token, used when the previous token has expired.
+	 * 
+	 * @param session the session of the logged in user.
+	 * @param password the password entered by the user.
+	 * @return true if the password is correct.
+	 * @throws SQLException if there is an error executing the query.
+	 */
+	public boolean reverifySession(UserSession session, String password) throws SQLException {
+		String query = "SELECT password FROM cse360users WHERE username = ?";
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			pstmt.setString(1, session.getUsername());
+			try (ResultSet rs = pstmt.executeQuery()) {
+				if (!rs.next() || !passwordHasher.verify(password, rs.getString("password"))) {
+					return false;
+				}
+			}
+		}
+		verifiedSessions.revoke(session.getVerificationToken());
+		session.setVerificationToken(verifiedSessions.issue(session.getUsername()));
+		return true;
+	}
+	
+	/**
+	 * Ends a session by revoking its verification token.
+	 * 
+	 * @param session the session of the user logging out.
+	 */
+	public void endSession(UserSession session) {
+		if (session != null) {
+			verifiedSessions.revoke(session.getVerificationToken());
+		}
+	}
+	
+	/**
+	 * Stores a new hash of a password, used when a legacy or outdated hash is upgraded.
+	 */
+	private void storePassword(String username, String password) throws SQLException {
+		String sql = "UPDATE cse360users SET password = ? WHERE username = ?";
+		try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+			pstmt.setString(1, passwordHasher.hash(password));
+			pstmt.setString(2, username);
+			pstmt.executeUpdate();
+		}
+	}
+
 	/**
 	 * Checks if a user exists in the cse360users table based on the provided username. 
 	 * 
@@ -1039,43 +1661,81 @@ public String displayUnansweredStudentQueries() throws SQLException {
 	 * @throws SQLException if there is an error executing the SQL query.
 	 */
 	public String displayUsersByAdmin() throws SQLException{
-		String sql = "SELECT * FROM cse360users"; 
+		String sql = "SELECT id, username, email, role, fullName, prefName, oneTimePassword, passwordExpired, skillLevel FROM cse360users"; 
 		Statement stmt = connection.createStatement();
 		ResultSet rs = stmt.executeQuery(sql); 
 		String output = "";
 
 		while(rs.next()) { 
-			// Retrieve by column name 
-			int id  = rs.getInt("id"); 
-			String  username = rs.getString("username"); 
-			String password = rs.getString("password"); 
-			String  email = rs.getString("email"); 
-			String role = rs.getString("role");  
-			String fullName = rs.getString("fullName");
-			String prefName = rs.getString("prefName");
-			boolean oneTime = rs.getBoolean("oneTimePassword");
-			Date expireDate = rs.getDate("passwordExpired");
-			String skill = rs.getString("skillLevel");
-
-			// Display values 
-			output += "ID: " + id;
-			output += ", Username: " + username; 
-			output += ", Pass: " + password; 
-			output += ", Role: " + role; 
-			if(role.compareTo("admin") != 0) {
-				output += ", Email: " + email; 
-				output += ", Full Name: " + fullName; 
-				output += ", Pref Name: " + prefName; 
-				output += ", One-Time Pass: " + oneTime; 
-				output += ", Expire Date: " + expireDate; 
-				output += ", Skill Level: " + skill + "\n"; 
-			}else {
-				output += "\n";
-			}
+			output += formatUser(rs) + "\n";
 		} 
 		return output;
 	}
 
+	/**
+	 * Formats one row of cse360users the way displayUsersByAdmin shows it, leaving out
+	 * the personal details of admins.
+	 */
+	private static String formatUser(ResultSet rs) throws SQLException {
+		// Retrieve by column name 
+		int id  = rs.getInt("id"); 
+		String  username = rs.getString("username"); 
+		String  email = rs.getString("email"); 
+		String role = rs.getString("role");  
+		String fullName = rs.getString("fullName");
+		String prefName = rs.getString("prefName");
+		boolean oneTime = rs.getBoolean("oneTimePassword");
+		Date expireDate = rs.getDate("passwordExpired");
+		String skill = rs.getString("skillLevel");
+
+		// Display values 
+		String output = "ID: " + id;
+		output += ", Username: " + username; 
+		output += ", Role: " + role; 
+		if(role.compareTo("admin") != 0) {
+			output += ", Email: " + email; 
+			output += ", Full Name: " + fullName; 
+			output += ", Pref Name: " + prefName; 
+			output += ", One-Time Pass: " + oneTime; 
+			output += ", Expire Date: " + expireDate; 
+			output += ", Skill Level: " + skill; 
+		}
+		return output;
+	}
+
+	/**
+	 * Counts the users, for a paged listing.
+	 */
+	public int countUsers() throws SQLException {
+		try (Statement stmt = connection.createStatement();
+				ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM cse360users")) {
+			return rs.next() ? rs.getInt(1) : 0;
+		}
+	}
+
+	/**
+	 * Lists one page of users in id order, formatted as in displayUsersByAdmin. The 
+	 * page starts after an id, found on the primary key, rather than at an offset.
+	 * 
+	 * @param afterId the last id of the page before, or PagedListView.FIRST_PAGE.
+	 * @param limit the most users to return.
+	 */
+	public List<ListingRow> listUsersPage(int afterId, int limit) throws SQLException {
+		String sql = "SELECT id, username, email, role, fullName, prefName, oneTimePassword, passwordExpired, skillLevel "
+				+ "FROM cse360users WHERE id > ? ORDER BY id LIMIT ?";
+		List<ListingRow> page = new ArrayList<>();
+		try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+			pstmt.setInt(1, afterId);
+			pstmt.setInt(2, limit);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					page.add(new ListingRow(rs.getInt("id"), formatUser(rs)));
+				}
+			}
+		}
+		return page;
+	}
+
 	/**
 	 * Displays all users in the cse360users table from the perspective of a regular user.
 	 * Regular users can view their own details, but sensitive information such as 
@@ -1084,7 +1744,7 @@ public String displayUnansweredStudentQueries() throws SQLException {
 	 * @throws SQLException if there is an error executing the SQL query.
 	 */
 	public void displayUsersByUser() throws SQLException{
-		String sql = "SELECT * FROM cse360users"; 
+		String sql = "SELECT id, username, email, role, fullName, prefName, oneTimePassword, passwordExpired, skillLevel FROM cse360users"; 
 		Statement stmt = connection.createStatement();
 		ResultSet rs = stmt.executeQuery(sql); 
 	
@@ -1092,7 +1752,6 @@ public String displayUnansweredStudentQueries() throws SQLException {
 			// Retrieve by column name 
 			int id  = rs.getInt("id"); 
 			String  username = rs.getString("username"); 
-			String password = rs.getString("password"); 
 			String  email = rs.getString("email"); 
 			String role = rs.getString("role");  
 			String fullName = rs.getString("fullName");
@@ -1104,7 +1763,6 @@ public String displayUnansweredStudentQueries() throws SQLException {
 			// Display values 
 			System.out.print("ID: " + id); 
 			System.out.print(", Username: " + username); 
-			System.out.print(", Pass: " + password); 
 			System.out.print(", Role: " + role); 
 			if(role.compareTo("admin") != 0) {
 				System.out.print(", Email: " + email); 
@@ -1134,6 +1792,7 @@ public String displayUnansweredStudentQueries() throws SQLException {
 			pstmt.setString(1, username);
 			pstmt.executeUpdate();
 		}
+		verifiedSessions.revokeUser(username);
 	}
 	
 	
@@ -1257,12 +1916,12 @@ public String displayUnansweredStudentQueries() throws SQLException {
 		String sql = "UPDATE cse360users SET password = ?, passwordExpired = ?, oneTimePassword = true WHERE username = ?";
 		
 		try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-			pstmt.setString(1, password);
+			pstmt.setString(1, passwordHasher.hash(password));
 	        pstmt.setDate(2, expiration);
 	        pstmt.setString(3, username);
 	        pstmt.executeUpdate();
 		}
-		
+		verifiedSessions.revokeUser(username);
 	}
 	
 	/**
@@ -1273,19 +1932,16 @@ public String displayUnansweredStudentQueries() throws SQLException {
 	 */
 	public boolean isPasswordValid(String username, String password) throws SQLException {
 	    boolean isValid = false;
-	    String sql = "SELECT FROM cse360users WHERE username = ? AND password = ? AND oneTimePassword = true";
+	    String sql = "SELECT password FROM cse360users WHERE username = ? AND oneTimePassword = true";
 	    
 	    try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
 	    	pstmt.setString(1, username); 
-	        pstmt.setString(2, password);
-	        
-	        
-	        ResultSet rs = pstmt.executeQuery();
 	        
+	        try (ResultSet rs = pstmt.executeQuery()) {
 	            if (rs.next()) {
-	                isValid = true;
-	                return isValid;
-	            }    
+	                isValid = passwordHasher.verify(password, rs.getString("password"));
+	            }
+	        }
 	    }
 	    return isValid;
 	}
@@ -1323,7 +1979,7 @@ public String displayUnansweredStudentQueries() throws SQLException {
 	    String sql = "UPDATE cse360users SET password = ? WHERE username = ?";
 	    
 	    try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-	        pstmt.setString(1, givenPassword);  
+	        pstmt.setString(1, passwordHasher.hash(givenPassword));  
 	        pstmt.setString(2, username);  
 	        pstmt.executeUpdate();
 	
@@ -1378,10 +2034,6 @@ public String displayUnansweredStudentQueries() throws SQLException {
 		} catch(SQLException se2) { 
 			se2.printStackTrace();
 		} 
-		try { 
-			if(connection!=null) connection.close(); 
-		} catch(SQLException se){ 
-			se.printStackTrace(); 
-		} 
+		closeSharedConnection();
 	}
 }
@@ -0,0 +1,162 @@
+/**
+ * The DatabaseServer class runs the H2 TCP server for server mode, so several copies
+ * of the help system, on this machine or on a lab network, can share one store. An
+ * embedded database locks its file to a single process; here only the server process
+ * opens the file and every client connects to it over TCP.
+ *
+ * Responsibilities:
+ * - Open the configured database and serve it on the configured port.
+ * - Start the server as a separate local process when a client in server mode finds
+ *   none running, so it outlives the client that started it.
+ *
+ * Usage: java simpleDatabase.DatabaseServer, with the same cse360.db properties as the
+ * clients. The server only accepts connections from this machine unless
+ * cse360.db.server.allowOthers is set, which also requires cse360.db.password, so the
+ * store is never open to the network with H2's default empty password. Its output goes
+ * to cse360-db-server.log in the temporary directory when a client starts it.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import org.h2.tools.Server;
+
+
+class DatabaseServer {
+
+	/** ------------ Declarations  ------------ */
+
+	/** How long a client waits for the server it started to accept connections. */
+	static final long START_TIMEOUT_MILLIS = 15000;
+
+	static final String LOG_FILE = "cse360-db-server.log";
+
+
+	/** ------------ Serve  ------------ */
+
+	public static void main(String[] args) throws Exception {
+		StorageConfig storage = DatabaseCore.getStorage();
+		checkSecured(storage);
+		Class.forName(DatabaseCore.JDBC_DRIVER);
+
+		// Opened here so clients find the database, which stays open while none is connected
+		Connection keepOpen = DriverManager.getConnection(storage.localUrl(), storage.getUser(), storage.getPassword());
+
+		List<String> options = new ArrayList<>();
+		options.add("-tcpPort");
+		options.add(String.valueOf(storage.getServerPort()));
+		if (storage.allowsOthers()) {
+			options.add("-tcpAllowOthers");
+		}
+		Server server = Server.createTcpServer(options.toArray(new String[0])).start();
+		System.out.println("Serving " + storage.localUrl() + " at " + server.getURL());
+
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			server.stop();
+			try {
+				keepOpen.close();
+			} catch (SQLException e) {
+				e.printStackTrace();
+			}
+		}));
+	}
+
+
+	/**
+	 * Refuses a server open to other machines without a password.
+	 *
+	 * @throws IllegalStateException if allowOthers is set and no password is configured.
+	 */
+	static void checkSecured(StorageConfig storage) {
+		if (storage.allowsOthers() && !storage.hasPassword()) {
+			throw new IllegalStateException(StorageConfig.SERVER_ALLOW_OTHERS_PROPERTY + " requires "
+					+ StorageConfig.PASSWORD_PROPERTY + " to be set");
+		}
+	}
+
+
+	/** ------------ Start  ------------ */
+
+	/**
+	 * Makes sure the server of a configuration is accepting connections. A server on
+	 * this machine that is not running is started as a separate process; a remote one
+	 * is left to the connection to report.
+	 *
+	 * @param storage the configuration the client connects with.
+	 * @throws SQLException if the server could not be started.
+	 */
+	static void ensureRunning(StorageConfig storage) throws SQLException {
+		if (isListening(storage) || !isLocal(storage.getServerHost())) {
+			return;
+		}
+		try {
+			checkSecured(storage);
+		} catch (IllegalStateException e) {
+			throw new SQLException("The database server was not started: " + e.getMessage(), e);
+		}
+
+		File log = new File(System.getProperty("java.io.tmpdir"), LOG_FILE);
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		for (String name : System.getProperties().stringPropertyNames()) {
+			if (name.startsWith("cse360.db.")) {
+				command.add("-D" + name + "=" + System.getProperty(name));
+			}
+		}
+		command.add(DatabaseServer.class.getName());
+		System.out.println("Starting the database server, logging to " + log);
+		try {
+			new ProcessBuilder(command)
+					.redirectErrorStream(true)
+					.redirectOutput(ProcessBuilder.Redirect.appendTo(log))
+					.start();
+		} catch (IOException e) {
+			throw new SQLException("The database server could not be started: " + e.getMessage(), e);
+		}
+
+		long deadline = System.currentTimeMillis() + START_TIMEOUT_MILLIS;
+		while (!isListening(storage)) {
+			if (System.currentTimeMillis() > deadline) {
+				throw new SQLException("The database server did not start within " + START_TIMEOUT_MILLIS + " ms, see " + log);
+			}
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SQLException("Interrupted while waiting for the database server", e);
+			}
+		}
+	}
+
+	private static boolean isListening(StorageConfig storage) {
+		try (Socket socket = new Socket()) {
+			socket.connect(new InetSocketAddress(storage.getServerHost(), storage.getServerPort()), 500);
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private static boolean isLocal(String host) {
+		try {
+			return InetAddress.getByName(host).isLoopbackAddress();
+		} catch (IOException e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,182 @@
+/**
+ * The DatabaseTasks class runs database work for the user interface off the JavaFX
+ * Application Thread, so a long search, backup or restore never freezes the windows.
+ *
+ * Responsibilities:
+ * - Run each piece of work as a JavaFX Task on one dedicated database thread, so work
+ *   from the interface reaches the shared connection one piece at a time.
+ * - Hand the result or the error back on the JavaFX Application Thread.
+ * - Show a progress window with a Cancel button for long running work, with a
+ *   progress bar and status line for work that reports its progress.
+ *
+ * Cancelling marks the task rather than interrupting the database thread, since an
+ * interrupt during file I/O can close the database file. Work that loops over many
+ * rows calls checkCancelled between rows; a single statement finishes first, and its
+ * result is then dropped.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import javafx.concurrent.Task;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+
+class DatabaseTasks {
+
+	/** ------------ Declarations  ------------ */
+
+	/**
+	 * A piece of database work, which may throw like the DatabaseHelper methods do.
+	 */
+	interface Work<T> {
+		T call() throws Exception;
+	}
+
+	/**
+	 * A piece of database work that reports its progress to the given listener.
+	 */
+	interface ProgressWork<T> {
+		T call(ProgressListener listener) throws Exception;
+	}
+
+	/** The task running on the database thread, for checkCancelled. */
+	private static final ThreadLocal<Task<?>> CURRENT = new ThreadLocal<>();
+
+	private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "cse360-database");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+
+	/** ------------ Run  ------------ */
+
+	/**
+	 * Runs work on the database thread. The handlers are called on the JavaFX
+	 * Application Thread; neither is called if the task is cancelled.
+	 *
+	 * @param work the database work.
+	 * @param onSuccess called with the result.
+	 * @param onFailure called with the error.
+	 * @return the task, which can be cancelled.
+	 */
+	static <T> Task<T> run(Work<T> work, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+		return start(listener -> work.call(), onSuccess, onFailure);
+	}
+
+	/**
+	 * Creates and starts the task. Progress reported by the work is passed to the
+	 * task's progress and message, which JavaFX hands to the Application Thread.
+	 */
+	private static <T> Task<T> start(ProgressWork<T> work, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+		Task<T> task = new Task<T>() {
+			@Override
+			protected T call() throws Exception {
+				CURRENT.set(this);
+				long start = System.nanoTime();
+				try {
+					return work.call(progress -> {
+						double fraction = progress.getFraction();
+						if (fraction == TransferProgress.UNKNOWN) {
+							updateProgress(-1, 1);
+						} else {
+							updateProgress(fraction, 1);
+						}
+						updateMessage(progress.toString());
+					});
+				} finally {
+					CURRENT.remove();
+					ClientStatistics.taskRan(System.nanoTime() - start);
+				}
+			}
+		};
+		task.setOnSucceeded(e -> onSuccess.accept(task.getValue()));
+		task.setOnFailed(e -> onFailure.accept(task.getException()));
+		EXECUTOR.execute(task);
+		return task;
+	}
+
+	/**
+	 * Runs work on the database thread while a small window shows that it is busy and
+	 * offers to cancel it. The window closes when the work ends.
+	 *
+	 * @param title the title of the progress window.
+	 * @param message what the work is doing.
+	 * @param work the database work.
+	 * @param onSuccess called with the result.
+	 * @param onFailure called with the error.
+	 * @return the task, which can be cancelled.
+	 */
+	static <T> Task<T> runWithProgress(String title, String message, Work<T> work,
+			Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+		return runWithProgress(title, message, (ProgressWork<T>) listener -> work.call(), onSuccess, onFailure);
+	}
+
+	/**
+	 * Runs work that reports its progress on the database thread, showing a progress
+	 * bar, the rows, bytes, throughput and time left, and a Cancel button. The window
+	 * closes when the work ends.
+	 *
+	 * @param title the title of the progress window.
+	 * @param message what the work is doing.
+	 * @param work the database work.
+	 * @param onSuccess called with the result.
+	 * @param onFailure called with the error.
+	 * @return the task, which can be cancelled.
+	 */
+	static <T> Task<T> runWithProgress(String title, String message, ProgressWork<T> work,
+			Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+		Stage progressStage = new Stage();
+		progressStage.setTitle(title);
+
+		ProgressBar progressBar = new ProgressBar(ProgressBar.INDETERMINATE_PROGRESS);
+		progressBar.setPrefWidth(320);
+		Label status = new Label();
+		Button cancelButton = new Button("Cancel");
+		VBox layout = new VBox(10, new Label(message), progressBar, status, cancelButton);
+		layout.setPadding(new javafx.geometry.Insets(20));
+		layout.setAlignment(Pos.CENTER);
+		progressStage.setScene(new Scene(layout, 400, 200));
+
+		Task<T> task = start(work, result -> {
+			progressStage.close();
+			onSuccess.accept(result);
+		}, error -> {
+			progressStage.close();
+			onFailure.accept(error);
+		});
+		task.setOnCancelled(e -> progressStage.close());
+		progressBar.progressProperty().bind(task.progressProperty());
+		status.textProperty().bind(task.messageProperty());
+
+		cancelButton.setOnAction(e -> task.cancel(false));
+		progressStage.setOnCloseRequest(e -> task.cancel(false));
+		progressStage.show();
+		return task;
+	}
+
+	/**
+	 * Checks whether the work running on this thread was cancelled, for loops over
+	 * many rows. Does nothing when called outside a task.
+	 *
+	 * @throws InterruptedException if it was cancelled.
+	 */
+	static void checkCancelled() throws InterruptedException {
+		Task<?> task = CURRENT.get();
+		if (task != null && task.isCancelled()) {
+			throw new InterruptedException("Cancelled");
+		}
+	}
+}
@@ -0,0 +1,108 @@
+/**
+ * The EncryptionBenchmark class measures the encrypt and decrypt throughput of
+ * EncryptionHelper for article sized values, and compares it with creating a new
+ * Cipher for every value.
+ *
+ * Usage: java Encryption.EncryptionBenchmark [seconds per measurement]
+ *
+ * A temporary key file is used, so the key of the database is never touched.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package Encryption;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+
+class EncryptionBenchmark {
+
+	/**
+	 * Value sizes that are measured: a short field, a typical body and a long body.
+	 */
+	static final int[] SIZES = { 256, 4 * 1024, 64 * 1024, 1024 * 1024 };
+
+	private static volatile int sink;
+
+	public static void main(String[] args) throws Exception {
+		double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 1.0;
+		long budgetNanos = (long) (seconds * 1000000000L);
+
+		Path keyFile = Files.createTempFile("cse360-benchmark", ".key");
+		Files.delete(keyFile);
+		try {
+			EncryptionHelper helper = new EncryptionHelper(keyFile);
+			SecretKey key = helper.getGroupKey("benchmark", 1);
+			byte[] aad = EncryptionUtils.toBytes("benchmark");
+			SecureRandom random = new SecureRandom();
+
+			// Let the JIT compile the cipher before anything is timed
+			byte[] warmUp = new byte[4 * 1024];
+			for (int i = 0; i < 20000; i++) {
+				sink += helper.decrypt(helper.encrypt(warmUp, key, aad), key, aad).length;
+				sink += encryptWithNewCipher(warmUp, key, aad, random).length;
+			}
+
+			System.out.println(String.format("%-10s %-16s %-16s %-16s", "Size", "Encrypt (MB/s)", "Decrypt (MB/s)", "New Cipher (MB/s)"));
+			for (int size : SIZES) {
+				byte[] plaintext = new byte[size];
+				random.nextBytes(plaintext);
+				byte[] ciphertext = helper.encrypt(plaintext, key, aad);
+
+				long bytes = 0;
+				long start = System.nanoTime();
+				while (System.nanoTime() - start < budgetNanos) {
+					sink += helper.encrypt(plaintext, key, aad).length;
+					bytes += size;
+				}
+				double encrypt = megabytesPerSecond(bytes, System.nanoTime() - start);
+
+				bytes = 0;
+				start = System.nanoTime();
+				while (System.nanoTime() - start < budgetNanos) {
+					sink += helper.decrypt(ciphertext, key, aad).length;
+					bytes += size;
+				}
+				double decrypt = megabytesPerSecond(bytes, System.nanoTime() - start);
+
+				bytes = 0;
+				start = System.nanoTime();
+				while (System.nanoTime() - start < budgetNanos) {
+					sink += encryptWithNewCipher(plaintext, key, aad, random).length;
+					bytes += size;
+				}
+				double newCipher = megabytesPerSecond(bytes, System.nanoTime() - start);
+
+				System.out.println(String.format("%-10s %-16.1f %-16.1f %-16.1f", formatSize(size), encrypt, decrypt, newCipher));
+			}
+		} finally {
+			Files.deleteIfExists(keyFile);
+		}
+	}
+
+	/**
+	 * Encrypts the way a caller without a cached Cipher would, for comparison.
+	 */
+	private static byte[] encryptWithNewCipher(byte[] plaintext, SecretKey key, byte[] aad, SecureRandom random) throws Exception {
+		byte[] iv = new byte[EncryptionHelper.IV_BYTES];
+		random.nextBytes(iv);
+		Cipher cipher = Cipher.getInstance(EncryptionHelper.CIPHER_ALGORITHM);
+		cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(EncryptionHelper.TAG_BITS, iv));
+		cipher.updateAAD(aad);
+		return cipher.doFinal(plaintext);
+	}
+
+	private static double megabytesPerSecond(long bytes, long nanos) {
+		return bytes / (1024.0 * 1024.0) / (nanos / 1000000000.0);
+	}
+
+	private static String formatSize(int size) {
+		return size >= 1024 ? (size / 1024) + " KB" : size + " B";
+	}
+}
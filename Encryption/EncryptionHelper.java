@@ -0,0 +1,270 @@
+/**
+ * The EncryptionHelper class encrypts and decrypts the contents of special access
+ * group articles. Each group has its own AES key, derived from a master key that is
+ * kept in a key file next to the database, and every value is encrypted with
+ * AES-GCM under a fresh random IV.
+ *
+ * Responsibilities:
+ * - Load the master key, creating it on first use.
+ * - Derive a separate AES key for every special access group and key version, so a
+ *   group's key can be rotated while rows under older versions stay readable.
+ * - Encrypt and decrypt article fields, binding each ciphertext to its group so it
+ *   cannot be read under another group's key.
+ * - Reuse one Cipher instance per thread instead of creating one for every value.
+ * - Turn search terms into keyed tokens, so articles can be indexed without storing
+ *   their words in plaintext.
+ *
+ * Ciphertext is stored as Base64 text of the IV followed by the GCM output.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package Encryption;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+
+public class EncryptionHelper {
+
+	/** ------------ Declarations  ------------ */
+
+	/**
+	 * Cipher settings. The key file location can be changed with the cse360.keyFile
+	 * system property.
+	 */
+	static final String CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+	static final String KEY_DERIVATION_ALGORITHM = "HmacSHA256";
+	static final int KEY_BYTES = 32;
+	static final int IV_BYTES = 12;
+	static final int TAG_BITS = 128;
+	static final String KEY_FILE_PROPERTY = "cse360.keyFile";
+	static final String DEFAULT_KEY_FILE = System.getProperty("user.home") + "/firstDatabase.key";
+
+	/**
+	 * One Cipher per thread. Cipher.getInstance does a provider lookup on every call,
+	 * so instances are kept and re-initialised with the key and IV of each value.
+	 */
+	private static final ThreadLocal<Cipher> CIPHERS = ThreadLocal.withInitial(() -> {
+		try {
+			return Cipher.getInstance(CIPHER_ALGORITHM);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("AES-GCM unavailable: " + e.getMessage(), e);
+		}
+	});
+
+	/**
+	 * One Mac per thread for search tokens, re-initialised with the key of each group.
+	 */
+	private static final ThreadLocal<Mac> MACS = ThreadLocal.withInitial(() -> {
+		try {
+			return Mac.getInstance(KEY_DERIVATION_ALGORITHM);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("HMAC-SHA256 unavailable: " + e.getMessage(), e);
+		}
+	});
+
+	static final int SEARCH_TOKEN_BYTES = 16;
+
+	private final byte[] masterKey;
+	private final SecureRandom random = new SecureRandom();
+	private final ConcurrentHashMap<String, SecretKey> groupKeys = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, SecretKey> searchKeys = new ConcurrentHashMap<>();
+
+
+	/**
+	 * Creates a helper using the configured key file, creating the key on first use.
+	 *
+	 * @throws Exception if the key file cannot be read or written.
+	 */
+	public EncryptionHelper() throws Exception {
+		this(Paths.get(System.getProperty(KEY_FILE_PROPERTY, DEFAULT_KEY_FILE)));
+	}
+
+	/**
+	 * Creates a helper using the given key file, creating the key on first use.
+	 *
+	 * @param keyFile the file holding the Base64 master key.
+	 * @throws Exception if the key file cannot be read or written.
+	 */
+	public EncryptionHelper(Path keyFile) throws Exception {
+		this.masterKey = loadOrCreateMasterKey(keyFile);
+	}
+
+
+	/** ------------ Group Keys  ------------ */
+
+	/**
+	 * Returns the AES key of a special access group at a key version. Keys are derived
+	 * from the master key, so they never have to be stored and every older version
+	 * can still be derived after a rotation. They are cached after the first use.
+	 *
+	 * @param groupIdentifier the group the key belongs to.
+	 * @param version the key version, starting at 1.
+	 * @return the AES key of the group.
+	 */
+	public SecretKey getGroupKey(String groupIdentifier, int version) {
+		String label = version == 1 ? "article-key|" + groupIdentifier
+				: "article-key|" + version + "|" + groupIdentifier;
+		return groupKeys.computeIfAbsent(version + "|" + groupIdentifier,
+				cacheKey -> new SecretKeySpec(derive(label), "AES"));
+	}
+
+	/**
+	 * Returns the key used for the search tokens of a group. It is separate from the
+	 * AES key, so the index reveals nothing about the encrypted fields.
+	 */
+	SecretKey getSearchKey(String groupIdentifier) {
+		return searchKeys.computeIfAbsent(groupIdentifier,
+				group -> new SecretKeySpec(derive("search-key|" + group), KEY_DERIVATION_ALGORITHM));
+	}
+
+	/**
+	 * Derives key material for a purpose label with HMAC-SHA256 over the master key.
+	 */
+	byte[] derive(String label) {
+		try {
+			Mac mac = Mac.getInstance(KEY_DERIVATION_ALGORITHM);
+			mac.init(new SecretKeySpec(masterKey, KEY_DERIVATION_ALGORITHM));
+			return mac.doFinal(EncryptionUtils.toBytes(label));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Key derivation failed: " + e.getMessage(), e);
+		}
+	}
+
+
+	/** ------------ Encrypt and Decrypt  ------------ */
+
+	/**
+	 * Encrypts a field of a special article with its group's key. Null values stay null.
+	 *
+	 * @param plaintext the value to encrypt.
+	 * @param groupIdentifier the group the article belongs to.
+	 * @param version the key version to encrypt under.
+	 * @return Base64 text of the IV and ciphertext.
+	 * @throws Exception if encryption fails.
+	 */
+	public String encrypt(String plaintext, String groupIdentifier, int version) throws Exception {
+		if (plaintext == null) {
+			return null;
+		}
+		byte[] data = encrypt(EncryptionUtils.toBytes(plaintext), getGroupKey(groupIdentifier, version),
+				EncryptionUtils.toBytes(groupIdentifier));
+		return EncryptionUtils.toBase64(data);
+	}
+
+	/**
+	 * Decrypts a field of a special article with its group's key. Null values stay null.
+	 *
+	 * @param ciphertext Base64 text produced by encrypt.
+	 * @param groupIdentifier the group the article belongs to.
+	 * @param version the key version the value was encrypted under.
+	 * @return the plaintext value.
+	 * @throws Exception if the value was not encrypted for this group or was altered.
+	 */
+	public String decrypt(String ciphertext, String groupIdentifier, int version) throws Exception {
+		if (ciphertext == null) {
+			return null;
+		}
+		byte[] data = decrypt(EncryptionUtils.fromBase64(ciphertext), getGroupKey(groupIdentifier, version),
+				EncryptionUtils.toBytes(groupIdentifier));
+		return EncryptionUtils.toText(data);
+	}
+
+	/**
+	 * Encrypts bytes under a key with a new random IV.
+	 *
+	 * @param plaintext the bytes to encrypt.
+	 * @param key the AES key.
+	 * @param associatedData data that is authenticated but not encrypted.
+	 * @return the IV followed by the ciphertext and tag.
+	 * @throws GeneralSecurityException if encryption fails.
+	 */
+	public byte[] encrypt(byte[] plaintext, SecretKey key, byte[] associatedData) throws GeneralSecurityException {
+		byte[] iv = new byte[IV_BYTES];
+		random.nextBytes(iv);
+
+		Cipher cipher = CIPHERS.get();
+		cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+		cipher.updateAAD(associatedData);
+
+		byte[] out = new byte[IV_BYTES + cipher.getOutputSize(plaintext.length)];
+		System.arraycopy(iv, 0, out, 0, IV_BYTES);
+		cipher.doFinal(plaintext, 0, plaintext.length, out, IV_BYTES);
+		return out;
+	}
+
+	/**
+	 * Decrypts bytes produced by encrypt.
+	 *
+	 * @param data the IV followed by the ciphertext and tag.
+	 * @param key the AES key.
+	 * @param associatedData the data authenticated when the value was encrypted.
+	 * @return the plaintext bytes.
+	 * @throws GeneralSecurityException if the key is wrong or the data was altered.
+	 */
+	public byte[] decrypt(byte[] data, SecretKey key, byte[] associatedData) throws GeneralSecurityException {
+		if (data.length < IV_BYTES) {
+			throw new GeneralSecurityException("Ciphertext too short");
+		}
+		Cipher cipher = CIPHERS.get();
+		cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, data, 0, IV_BYTES));
+		cipher.updateAAD(associatedData);
+		return cipher.doFinal(data, IV_BYTES, data.length - IV_BYTES);
+	}
+
+
+	/** ------------ Search Tokens  ------------ */
+
+	/**
+	 * Returns the keyed token of a normalized search term within a group. The same
+	 * term gives the same token in a group and an unrelated token in any other group.
+	 *
+	 * @param term a normalized search term.
+	 * @param groupIdentifier the group being indexed or searched.
+	 * @return Base64 text of the truncated HMAC of the term.
+	 * @throws GeneralSecurityException if the token cannot be computed.
+	 */
+	public String searchToken(String term, String groupIdentifier) throws GeneralSecurityException {
+		Mac mac = MACS.get();
+		mac.init(getSearchKey(groupIdentifier));
+		byte[] digest = mac.doFinal(EncryptionUtils.toBytes(term));
+		return EncryptionUtils.toBase64(Arrays.copyOf(digest, SEARCH_TOKEN_BYTES));
+	}
+
+
+	/** ------------ Master Key  ------------ */
+
+	private byte[] loadOrCreateMasterKey(Path keyFile) throws IOException {
+		if (Files.exists(keyFile)) {
+			byte[] key = EncryptionUtils.fromBase64(new String(Files.readAllBytes(keyFile)).trim());
+			if (key.length != KEY_BYTES) {
+				throw new IOException("Invalid key file: " + keyFile);
+			}
+			return key;
+		}
+
+		byte[] key = new byte[KEY_BYTES];
+		random.nextBytes(key);
+		Files.write(keyFile, EncryptionUtils.toBytes(EncryptionUtils.toBase64(key)));
+		try {
+			Files.setPosixFilePermissions(keyFile, PosixFilePermissions.fromString("rw-------"));
+		} catch (UnsupportedOperationException e) {
+			// Not a POSIX file system, the file keeps the default permissions
+		}
+		return key;
+	}
+}
@@ -0,0 +1,48 @@
+/**
+ * The EncryptionUtils class holds small conversion helpers shared by the
+ * encryption classes, so that ciphertext can be stored in the text columns
+ * of the H2 database.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package Encryption;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+
+public class EncryptionUtils {
+
+	private EncryptionUtils() {
+	}
+
+	/**
+	 * Encodes bytes as Base64 text for storage in a text column.
+	 */
+	public static String toBase64(byte[] bytes) {
+		return Base64.getEncoder().encodeToString(bytes);
+	}
+
+	/**
+	 * Decodes Base64 text read from a text column.
+	 */
+	public static byte[] fromBase64(String text) {
+		return Base64.getDecoder().decode(text);
+	}
+
+	/**
+	 * Converts text to UTF-8 bytes before it is encrypted.
+	 */
+	public static byte[] toBytes(String text) {
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Converts decrypted UTF-8 bytes back to text.
+	 */
+	public static String toText(byte[] bytes) {
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
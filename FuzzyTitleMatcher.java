@@ -0,0 +1,205 @@
+/**
+ * The FuzzyTitleMatcher class finds the titles closest to a question even when it has
+ * typos, different case or punctuation, for the generic help messages that otherwise
+ * need the exact title.
+ *
+ * Responsibilities:
+ * - Index each title by its character trigrams.
+ * - Gather the titles sharing trigrams with a question and rank them by trigram overlap
+ *   and edit distance.
+ * - Add and remove titles as articles change.
+ *
+ * Only titles that share a trigram with the question are scored, so a lookup reads a
+ * few posting lists instead of comparing the question with every title. Articles are
+ * added on the database thread and matched on the JavaFX Application Thread, so every
+ * method locks.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+
+class FuzzyTitleMatcher {
+
+	/** ------------ Declarations  ------------ */
+
+	/** The lowest score, from 0 to 1, of a title worth suggesting. */
+	static final double MIN_SCORE = 0.45;
+
+	/** How many titles, best trigram overlap first, get the edit distance computed. */
+	static final int CANDIDATES = 32;
+
+	/** The titles by id, normalized. */
+	private final Map<Integer, String> titles = new HashMap<>();
+
+	/** How many distinct trigrams each title has. */
+	private final Map<Integer, Integer> gramCounts = new HashMap<>();
+
+	/** The ids of the titles holding each trigram. */
+	private final Map<String, Set<Integer>> postings = new HashMap<>();
+
+
+	/** ------------ Update  ------------ */
+
+	/**
+	 * Adds an article's title, replacing the one it had.
+	 */
+	public synchronized void put(int id, String title) {
+		remove(id);
+		String normalized = normalize(title);
+		if (normalized.isEmpty()) {
+			return;
+		}
+		Set<String> grams = trigrams(normalized);
+		titles.put(id, normalized);
+		gramCounts.put(id, grams.size());
+		for (String gram : grams) {
+			postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+		}
+	}
+
+	public synchronized void remove(int id) {
+		String normalized = titles.remove(id);
+		if (normalized == null) {
+			return;
+		}
+		gramCounts.remove(id);
+		for (String gram : trigrams(normalized)) {
+			Set<Integer> ids = postings.get(gram);
+			ids.remove(id);
+			if (ids.isEmpty()) {
+				postings.remove(gram);
+			}
+		}
+	}
+
+	public synchronized void clear() {
+		titles.clear();
+		gramCounts.clear();
+		postings.clear();
+	}
+
+
+	/** ------------ Match  ------------ */
+
+	/**
+	 * Finds the titles closest to a question.
+	 *
+	 * @param question the text the user typed.
+	 * @param limit the most ids to return.
+	 * @return the ids of the closest titles, best first, scoring at least MIN_SCORE.
+	 */
+	public synchronized List<Integer> closest(String question, int limit) {
+		List<Integer> closest = new ArrayList<>();
+		String normalized = normalize(question);
+		if (normalized.isEmpty()) {
+			return closest;
+		}
+		Set<String> grams = trigrams(normalized);
+
+		// Count the trigrams each title shares with the question
+		Map<Integer, Integer> shared = new HashMap<>();
+		for (String gram : grams) {
+			Set<Integer> ids = postings.get(gram);
+			if (ids != null) {
+				for (int id : ids) {
+					shared.merge(id, 1, Integer::sum);
+				}
+			}
+		}
+
+		// Keep the best by overlap, then score those by edit distance as well
+		List<Match> matches = new ArrayList<>();
+		for (Map.Entry<Integer, Integer> entry : shared.entrySet()) {
+			double dice = 2.0 * entry.getValue() / (grams.size() + gramCounts.get(entry.getKey()));
+			matches.add(new Match(entry.getKey(), titles.get(entry.getKey()), dice));
+		}
+		matches.sort((a, b) -> Double.compare(b.dice, a.dice));
+		List<Match> scored = new ArrayList<>(matches.subList(0, Math.min(CANDIDATES, matches.size())));
+		for (Match match : scored) {
+			double similarity = 1.0 - (double) distance(normalized, match.title)
+					/ Math.max(normalized.length(), match.title.length());
+			match.score = (match.dice + similarity) / 2;
+		}
+		scored.sort((a, b) -> Double.compare(b.score, a.score));
+		for (Match match : scored) {
+			if (closest.size() == limit || match.score < MIN_SCORE) {
+				break;
+			}
+			closest.add(match.id);
+		}
+		return closest;
+	}
+
+	private static final class Match {
+		final int id;
+		final String title;
+		final double dice;
+		double score;
+
+		Match(int id, String title, double dice) {
+			this.id = id;
+			this.title = title;
+			this.dice = dice;
+		}
+	}
+
+
+	/** ------------ Helpers  ------------ */
+
+	/**
+	 * Lower cases the text and turns every run of punctuation and spaces into one space.
+	 */
+	static String normalize(String text) {
+		if (text == null) {
+			return "";
+		}
+		return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+	}
+
+	/**
+	 * Returns the distinct three character pieces of the text, padded with a space at
+	 * each end so the first and last letters count as much as the middle ones.
+	 */
+	static Set<String> trigrams(String normalized) {
+		String padded = " " + normalized + " ";
+		Set<String> grams = new LinkedHashSet<>();
+		for (int i = 0; i + 3 <= padded.length(); i++) {
+			grams.add(padded.substring(i, i + 3));
+		}
+		return grams;
+	}
+
+	/**
+	 * Returns the Levenshtein distance between two strings, keeping two rows of the table.
+	 */
+	static int distance(String a, String b) {
+		int[] previous = new int[b.length() + 1];
+		int[] current = new int[b.length() + 1];
+		for (int j = 0; j <= b.length(); j++) {
+			previous[j] = j;
+		}
+		for (int i = 1; i <= a.length(); i++) {
+			current[0] = i;
+			for (int j = 1; j <= b.length(); j++) {
+				int substitute = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+				current[j] = Math.min(substitute, Math.min(previous[j], current[j - 1]) + 1);
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return previous[b.length()];
+	}
+}
@@ -0,0 +1,185 @@
+/**
+ * The IncrementalSearch class runs a search as the user types into a field and shows
+ * the hits in a list, without a query for every keystroke.
+ *
+ * Responsibilities:
+ * - Wait until typing pauses for DEBOUNCE before searching; Enter searches at once.
+ * - Cancel the previous query when a newer one starts, so a stale result is never
+ *   shown and a query still waiting for the database thread never runs.
+ * - Keep the hits of recent searches, and answer a search that can only narrow one
+ *   of them by filtering those hits instead of querying again.
+ * - Drop the kept hits when the version of the searched articles changes, so a
+ *   search after a write queries again.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javafx.animation.PauseTransition;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.util.Duration;
+
+
+class IncrementalSearch {
+
+	/** ------------ Declarations  ------------ */
+
+	static final Duration DEBOUNCE = Duration.millis(250);
+
+	/** The most recent searches whose hits are kept for reuse. */
+	static final int REMEMBERED_SEARCHES = 16;
+
+	/**
+	 * How a search is run and how its hits can be narrowed.
+	 */
+	interface Searcher {
+		/** Runs the search on the database thread. */
+		List<SearchHit> search(String text) throws Exception;
+
+		/** Whether every hit for text is also a hit for the earlier search. */
+		boolean narrows(String earlier, String text);
+
+		/** Whether a hit of a wider search is a hit for text. */
+		boolean matches(SearchHit hit, String text);
+
+		/**
+		 * The QueryResultCache version of the articles searched, which changes when one
+		 * of them is written.
+		 */
+		long version();
+	}
+
+	private final Searcher searcher;
+	private final ObservableList<SearchHit> hits = FXCollections.observableArrayList();
+	private final ListView<SearchHit> listView = new ListView<>(hits);
+	private final Label status = new Label("Start typing to search.");
+	private final PauseTransition pause = new PauseTransition(DEBOUNCE);
+	private final Map<String, List<SearchHit>> remembered = new LinkedHashMap<String, List<SearchHit>>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, List<SearchHit>> eldest) {
+			return size() > REMEMBERED_SEARCHES;
+		}
+	};
+	private long rememberedVersion;
+	private Task<List<SearchHit>> running;
+	private String shown = "";
+
+
+	/**
+	 * Searches as the user types into the field.
+	 *
+	 * @param field the field holding the search text.
+	 * @param searcher how to run the search.
+	 */
+	IncrementalSearch(TextField field, Searcher searcher) {
+		this.searcher = searcher;
+		this.rememberedVersion = searcher.version();
+		pause.setOnFinished(e -> search(field.getText().trim()));
+		field.textProperty().addListener((observable, oldText, newText) -> pause.playFromStart());
+		field.setOnAction(e -> searchNow(field));
+	}
+
+	ListView<SearchHit> getListView() {
+		return listView;
+	}
+
+	Label getStatus() {
+		return status;
+	}
+
+
+	/** ------------ Search  ------------ */
+
+	/**
+	 * Searches for the text in the field without waiting for typing to pause.
+	 */
+	void searchNow(TextField field) {
+		pause.stop();
+		search(field.getText().trim());
+	}
+
+	private void search(String text) {
+		long version = searcher.version();
+		if (version != rememberedVersion) {
+			remembered.clear();
+			rememberedVersion = version;
+			shown = null;
+		}
+		if (text.equals(shown) && running == null) {
+			return;
+		}
+		if (running != null) {
+			running.cancel(false);
+			running = null;
+		}
+		if (text.isEmpty()) {
+			show(text, new ArrayList<>());
+			return;
+		}
+
+		List<SearchHit> known = remembered.get(text);
+		if (known != null) {
+			show(text, known);
+			return;
+		}
+		List<SearchHit> wider = widerHits(text);
+		if (wider != null) {
+			List<SearchHit> narrowed = new ArrayList<>();
+			for (SearchHit hit : wider) {
+				if (searcher.matches(hit, text)) {
+					narrowed.add(hit);
+				}
+			}
+			remembered.put(text, narrowed);
+			show(text, narrowed);
+			return;
+		}
+
+		status.setText("Searching...");
+		running = DatabaseTasks.run(() -> searcher.search(text), found -> {
+			running = null;
+			// A write that landed while the query ran leaves the hits for this search only
+			if (version == rememberedVersion && version == searcher.version()) {
+				remembered.put(text, found);
+			}
+			show(text, found);
+		}, error -> {
+			running = null;
+			status.setText("Error: " + error.getMessage());
+		});
+	}
+
+	/**
+	 * Finds the remembered search with the fewest hits that the text narrows.
+	 */
+	private List<SearchHit> widerHits(String text) {
+		List<SearchHit> best = null;
+		for (Map.Entry<String, List<SearchHit>> entry : remembered.entrySet()) {
+			if (searcher.narrows(entry.getKey(), text) && (best == null || entry.getValue().size() < best.size())) {
+				best = entry.getValue();
+			}
+		}
+		return best;
+	}
+
+	private void show(String text, List<SearchHit> found) {
+		shown = text;
+		hits.setAll(found);
+		if (text.isEmpty()) {
+			status.setText("Start typing to search.");
+		} else {
+			status.setText(found.isEmpty() ? "No articles were found." : found.size() + " article(s), double click one to open it");
+		}
+	}
+}
@@ -0,0 +1,341 @@
+/**
+ * The KeyRotationJob class re-encrypts the articles of a special access group, and their
+ * edit history, under a new key version in the background. Rows are rotated in small
+ * batches with a pause between them, and progress is saved after every batch, so the
+ * job can be stopped and resumed and the application stays responsive while it runs.
+ *
+ * Responsibilities:
+ * - Read the articles of the group that are still under an older key version.
+ * - Decrypt each with its recorded version and encrypt it under the new one.
+ * - Write a row back only if it was not edited in between, retrying it otherwise.
+ * - Re-encrypt the group's edit history in specialArticleDeltas the same way.
+ * - Record the last article id, the count rotated and the status in keyRotationJobs.
+ *
+ * A job is created when it is queued and given a connection of its own when it starts,
+ * so queued jobs hold no connection. Reads keep working during a rotation because every
+ * row records its key version.
+ * The batch size and pause can be changed with the cse360.keyRotation.batchSize and
+ * cse360.keyRotation.pauseMillis system properties.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import Encryption.EncryptionHelper;
+
+
+class KeyRotationJob {
+
+	/** ------------ Declarations  ------------ */
+
+	static final int DEFAULT_BATCH_SIZE = 100;
+	static final long DEFAULT_PAUSE_MILLIS = 50;
+	static final String BATCH_SIZE_PROPERTY = "cse360.keyRotation.batchSize";
+	static final String PAUSE_PROPERTY = "cse360.keyRotation.pauseMillis";
+
+	static final String STATUS_RUNNING = "running";
+	static final String STATUS_PAUSED = "paused";
+	static final String STATUS_COMPLETE = "complete";
+	static final String STATUS_FAILED = "failed";
+
+	/** The encrypted columns, rotated together so a row is always under one version. */
+	private static final String[] ENCRYPTED_COLUMNS = { "description", "body", "keywords", "other", "links_misc" };
+
+	/** The connection the job runs on, given when it starts. */
+	private Connection connection;
+	private final EncryptionHelper encryptionHelper;
+	private final String groupIdentifier;
+	private final String articleTable;
+	private final int targetVersion;
+	private final int batchSize;
+	private final long pauseMillis;
+
+	private volatile boolean stopRequested = false;
+	private volatile int processed = 0;
+	private volatile int total = 0;
+	private volatile String status = STATUS_RUNNING;
+
+
+	KeyRotationJob(EncryptionHelper encryptionHelper, String groupIdentifier, String articleTable, int targetVersion) {
+		this(encryptionHelper, groupIdentifier, articleTable, targetVersion,
+				Integer.getInteger(BATCH_SIZE_PROPERTY, DEFAULT_BATCH_SIZE), Long.getLong(PAUSE_PROPERTY, DEFAULT_PAUSE_MILLIS));
+	}
+
+	KeyRotationJob(EncryptionHelper encryptionHelper, String groupIdentifier, String articleTable, int targetVersion,
+			int batchSize, long pauseMillis) {
+		this.encryptionHelper = encryptionHelper;
+		this.groupIdentifier = groupIdentifier;
+		this.articleTable = articleTable;
+		this.targetVersion = targetVersion;
+		this.batchSize = batchSize;
+		this.pauseMillis = pauseMillis;
+	}
+
+
+	/** ------------ Progress  ------------ */
+
+	/**
+	 * Asks the job to stop after the current batch. It is saved as paused and can be
+	 * resumed from where it stopped.
+	 */
+	public void stop() {
+		stopRequested = true;
+	}
+
+	public String getGroupIdentifier() {
+		return groupIdentifier;
+	}
+
+	public int getTargetVersion() {
+		return targetVersion;
+	}
+
+	public int getProcessed() {
+		return processed;
+	}
+
+	public int getTotal() {
+		return total;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public boolean isFinished() {
+		return !STATUS_RUNNING.equals(status);
+	}
+
+
+	/** ------------ Rotation  ------------ */
+
+	/**
+	 * Runs the rotation until it completes, is stopped or fails.
+	 *
+	 * @param connection the connection to run on, not shared with other threads.
+	 */
+	public void run(Connection connection) {
+		this.connection = connection;
+		try {
+			int lastId = loadProgress();
+			total = processed + countRemaining();
+			saveProgress(lastId);
+
+			String batchQuery = "SELECT id, keyVersion, description, body, keywords, other, links_misc FROM " + articleTable + " "
+					+ "WHERE groupIdentifier = ? AND id > ? AND keyVersion < ? ORDER BY id LIMIT ?";
+			while (true) {
+				int rowsInBatch = 0;
+				try (PreparedStatement pstmt = connection.prepareStatement(batchQuery)) {
+					pstmt.setString(1, groupIdentifier);
+					pstmt.setInt(2, lastId);
+					pstmt.setInt(3, targetVersion);
+					pstmt.setInt(4, batchSize);
+					try (ResultSet rs = pstmt.executeQuery()) {
+						while (rs.next()) {
+							int id = rs.getInt("id");
+							rotateRow(id, rs.getInt("keyVersion"), readEncryptedColumns(rs));
+							lastId = id;
+							processed++;
+							rowsInBatch++;
+						}
+					}
+				}
+
+				if (rowsInBatch == 0) {
+					break;
+				}
+				if (pauseBetweenBatches(lastId)) {
+					return;
+				}
+			}
+
+			// The edit history holds old bodies of the same articles, under the same keys
+			while (rotateHistoryBatch() > 0) {
+				if (pauseBetweenBatches(lastId)) {
+					return;
+				}
+			}
+			status = STATUS_COMPLETE;
+			saveProgress(lastId);
+		} catch (InterruptedException e) {
+			status = STATUS_PAUSED;
+			Thread.currentThread().interrupt();
+			saveStatusQuietly();
+		} catch (Exception e) {
+			status = STATUS_FAILED;
+			e.printStackTrace();
+			saveStatusQuietly();
+		}
+	}
+
+	/**
+	 * Saves progress after a batch and waits before the next one.
+	 *
+	 * @return true if the job was asked to stop and has been saved as paused.
+	 */
+	private boolean pauseBetweenBatches(int lastId) throws SQLException, InterruptedException {
+		saveProgress(lastId);
+		if (stopRequested) {
+			status = STATUS_PAUSED;
+			saveProgress(lastId);
+			return true;
+		}
+		Thread.sleep(pauseMillis);
+		return false;
+	}
+
+	/**
+	 * Re-encrypts one row. The update only applies if the row still has the version
+	 * and body that were read, so an edit made in between is never overwritten; the
+	 * row is read again and retried instead.
+	 */
+	private void rotateRow(int id, int version, String[] ciphertexts) throws Exception {
+		String update = "UPDATE " + articleTable + " SET description = ?, body = ?, keywords = ?, other = ?, links_misc = ?, keyVersion = ? "
+				+ "WHERE id = ? AND keyVersion = ? AND body IS NOT DISTINCT FROM ?";
+		String reread = "SELECT keyVersion, description, body, keywords, other, links_misc FROM " + articleTable + " WHERE id = ?";
+
+		while (version < targetVersion) {
+			try (PreparedStatement pstmt = connection.prepareStatement(update)) {
+				for (int i = 0; i < ENCRYPTED_COLUMNS.length; i++) {
+					String plaintext = encryptionHelper.decrypt(ciphertexts[i], groupIdentifier, version);
+					pstmt.setString(i + 1, encryptionHelper.encrypt(plaintext, groupIdentifier, targetVersion));
+				}
+				pstmt.setInt(6, targetVersion);
+				pstmt.setInt(7, id);
+				pstmt.setInt(8, version);
+				pstmt.setString(9, ciphertexts[1]);
+				if (pstmt.executeUpdate() > 0) {
+					return;
+				}
+			}
+
+			try (PreparedStatement pstmt = connection.prepareStatement(reread)) {
+				pstmt.setInt(1, id);
+				try (ResultSet rs = pstmt.executeQuery()) {
+					if (!rs.next()) {
+						return; // Deleted in the meantime
+					}
+					version = rs.getInt("keyVersion");
+					ciphertexts = readEncryptedColumns(rs);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Re-encrypts a batch of history entries still under an older key version. Like
+	 * rotateRow, an entry is only written back if it still has the version and payload
+	 * that were read; one rewritten in between stays under its old version and is
+	 * picked up again by the next batch.
+	 *
+	 * @return the number of entries read, 0 once the whole history is rotated.
+	 */
+	private int rotateHistoryBatch() throws Exception {
+		String batchQuery = "SELECT articleId, version, keyVersion, payload FROM specialArticleDeltas "
+				+ "WHERE groupIdentifier = ? AND keyVersion < ? ORDER BY articleId, version LIMIT ?";
+		String update = "UPDATE specialArticleDeltas SET payload = ?, keyVersion = ? "
+				+ "WHERE articleId = ? AND version = ? AND keyVersion = ? AND payload IS NOT DISTINCT FROM ?";
+		int rowsInBatch = 0;
+		try (PreparedStatement select = connection.prepareStatement(batchQuery);
+				PreparedStatement pstmt = connection.prepareStatement(update)) {
+			select.setString(1, groupIdentifier);
+			select.setInt(2, targetVersion);
+			select.setInt(3, batchSize);
+			try (ResultSet rs = select.executeQuery()) {
+				while (rs.next()) {
+					int version = rs.getInt("keyVersion");
+					String ciphertext = rs.getString("payload");
+					String plaintext = encryptionHelper.decrypt(ciphertext, groupIdentifier, version);
+					pstmt.setString(1, encryptionHelper.encrypt(plaintext, groupIdentifier, targetVersion));
+					pstmt.setInt(2, targetVersion);
+					pstmt.setInt(3, rs.getInt("articleId"));
+					pstmt.setInt(4, rs.getInt("version"));
+					pstmt.setInt(5, version);
+					pstmt.setString(6, ciphertext);
+					if (pstmt.executeUpdate() > 0) {
+						processed++;
+					}
+					rowsInBatch++;
+				}
+			}
+		}
+		return rowsInBatch;
+	}
+
+	private static String[] readEncryptedColumns(ResultSet rs) throws SQLException {
+		String[] values = new String[ENCRYPTED_COLUMNS.length];
+		for (int i = 0; i < ENCRYPTED_COLUMNS.length; i++) {
+			values[i] = rs.getString(ENCRYPTED_COLUMNS[i]);
+		}
+		return values;
+	}
+
+	private int countRemaining() throws SQLException {
+		String query = "SELECT (SELECT COUNT(*) FROM " + articleTable + " WHERE groupIdentifier = ? AND keyVersion < ?) "
+				+ "+ (SELECT COUNT(*) FROM specialArticleDeltas WHERE groupIdentifier = ? AND keyVersion < ?)";
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			pstmt.setString(1, groupIdentifier);
+			pstmt.setInt(2, targetVersion);
+			pstmt.setString(3, groupIdentifier);
+			pstmt.setInt(4, targetVersion);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				return rs.next() ? rs.getInt(1) : 0;
+			}
+		}
+	}
+
+
+	/** ------------ Saved State  ------------ */
+
+	/**
+	 * Reads where an earlier run of this rotation stopped.
+	 *
+	 * @return the last article id rotated, or 0 for a new rotation.
+	 */
+	private int loadProgress() throws SQLException {
+		String query = "SELECT lastId, processed FROM keyRotationJobs WHERE groupIdentifier = ? AND targetVersion = ?";
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			pstmt.setString(1, groupIdentifier);
+			pstmt.setInt(2, targetVersion);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				if (rs.next()) {
+					processed = rs.getInt("processed");
+					return rs.getInt("lastId");
+				}
+			}
+		}
+		return 0;
+	}
+
+	private void saveProgress(int lastId) throws SQLException {
+		String merge = "MERGE INTO keyRotationJobs (groupIdentifier, targetVersion, lastId, processed, total, status, updatedAt) "
+				+ "KEY (groupIdentifier, targetVersion) VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
+		try (PreparedStatement pstmt = connection.prepareStatement(merge)) {
+			pstmt.setString(1, groupIdentifier);
+			pstmt.setInt(2, targetVersion);
+			pstmt.setInt(3, lastId);
+			pstmt.setInt(4, processed);
+			pstmt.setInt(5, total);
+			pstmt.setString(6, status);
+			pstmt.executeUpdate();
+		}
+	}
+
+	private void saveStatusQuietly() {
+		String update = "UPDATE keyRotationJobs SET status = ?, updatedAt = CURRENT_TIMESTAMP WHERE groupIdentifier = ? AND targetVersion = ?";
+		try (PreparedStatement pstmt = connection.prepareStatement(update)) {
+			pstmt.setString(1, status);
+			pstmt.setString(2, groupIdentifier);
+			pstmt.setInt(3, targetVersion);
+			pstmt.executeUpdate();
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+	}
+}
@@ -0,0 +1,27 @@
+/**
+ * The ListingRow class is one row of a paged listing: the id of the article or user it
+ * stands for and the text shown for it.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+
+class ListingRow {
+
+	final int id;
+	final String text;
+
+
+	ListingRow(int id, String text) {
+		this.id = id;
+		this.text = text;
+	}
+
+	@Override
+	public String toString() {
+		return text;
+	}
+}
@@ -0,0 +1,210 @@
+/**
+ * The PagedListView class shows a listing of any size in a window without loading it
+ * all. The list view only creates cells for the rows on screen, and rows are fetched
+ * from the database a page at a time as they come into view, so the cost of opening
+ * and scrolling the listing does not grow with the number of results.
+ *
+ * Responsibilities:
+ * - Count the results, then size the list with empty placeholders.
+ * - Fetch pages in id order on the database thread, each one starting after the last
+ *   id of the page before, until the rows shown are loaded.
+ * - Trim the list when the results end before the count said they would.
+ * - Count and load the listing again when Refresh is pressed.
+ * - Open a row on double click.
+ *
+ * A page is found by the id it follows rather than by its offset, so the database
+ * seeks to it on the id index instead of reading and skipping every earlier row. The
+ * pages are therefore loaded in order, and scrolling far down loads the pages above
+ * on the way.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+
+class PagedListView {
+
+	/** ------------ Declarations  ------------ */
+
+	static final int PAGE_SIZE = 50;
+
+	/** The id the first page follows; the ids of every listing start at 1. */
+	static final int FIRST_PAGE = 0;
+
+	/**
+	 * Where the rows of a listing come from.
+	 */
+	interface PageSource {
+		int count() throws Exception;
+
+		/** Returns up to limit rows in id order, starting after the given id. */
+		List<ListingRow> fetchAfter(int afterId, int limit) throws Exception;
+	}
+
+	private final PageSource source;
+	private final String emptyMessage;
+	private final String openHint;
+	private final ObservableList<ListingRow> rows = FXCollections.observableArrayList();
+	private final ListView<ListingRow> listView = new ListView<>(rows);
+	private final Label status = new Label("Loading...");
+
+	/** Rows loaded from the top, the last row a cell has asked for, and whether a page is on its way. */
+	private int loaded = 0;
+	private int wanted = -1;
+	private boolean fetching = false;
+
+	/** Raised on refresh, so a page fetched for the listing before it is dropped. */
+	private int generation = 0;
+
+
+	private PagedListView(PageSource source, String emptyMessage, String openHint) {
+		this.source = source;
+		this.emptyMessage = emptyMessage;
+		this.openHint = openHint;
+	}
+
+
+	/** ------------ Show  ------------ */
+
+	/**
+	 * Opens a window with the listing.
+	 *
+	 * @param title the title of the window.
+	 * @param emptyMessage the text shown when there are no results.
+	 * @param source where the rows come from.
+	 * @param onOpen called with a row when it is double clicked, or null.
+	 * @return the window, already showing.
+	 */
+	static Stage show(String title, String emptyMessage, PageSource source, Consumer<ListingRow> onOpen) {
+		PagedListView view = new PagedListView(source, emptyMessage, onOpen != null ? ", double click one to open it" : "");
+		Stage stage = new Stage();
+		stage.setTitle(title);
+
+		view.listView.setCellFactory(list -> view.new PagedCell());
+		if (onOpen != null) {
+			view.listView.setOnMouseClicked(e -> {
+				ListingRow selected = view.listView.getSelectionModel().getSelectedItem();
+				if (e.getClickCount() == 2 && selected != null) {
+					onOpen.accept(selected);
+				}
+			});
+		}
+
+		Button refreshButton = new Button("Refresh");
+		refreshButton.setOnAction(e -> view.refresh());
+		Button closeButton = new Button("Close");
+		closeButton.setOnAction(e -> stage.close());
+		HBox buttons = new HBox(10, refreshButton, closeButton);
+		buttons.setAlignment(Pos.CENTER);
+		VBox layout = new VBox(10, view.status, view.listView, buttons);
+		VBox.setVgrow(view.listView, Priority.ALWAYS);
+		layout.setPadding(new javafx.geometry.Insets(20));
+		layout.setAlignment(Pos.CENTER);
+		stage.setScene(new Scene(layout, 500, 500));
+		stage.show();
+
+		view.refresh();
+		return stage;
+	}
+
+
+	/** ------------ Paging  ------------ */
+
+	/**
+	 * Counts the results again and starts the listing over, dropping every loaded row
+	 * and any page still on its way.
+	 */
+	private void refresh() {
+		int current = ++generation;
+		loaded = 0;
+		wanted = -1;
+		fetching = false;
+		rows.clear();
+		status.setText("Loading...");
+		DatabaseTasks.run(source::count, count -> {
+			if (current != generation) {
+				return;
+			}
+			showCount(count);
+			rows.setAll(Collections.nCopies(count, (ListingRow) null));
+		}, error -> {
+			if (current == generation) {
+				status.setText("Error: " + error.getMessage());
+			}
+		});
+	}
+
+	private void showCount(int count) {
+		status.setText(count == 0 ? emptyMessage : count + " result(s)" + openHint);
+	}
+
+	/**
+	 * Loads pages until the given row is loaded, unless a page is already on its way;
+	 * when it arrives, loading continues from there.
+	 */
+	private void requestRow(int index) {
+		wanted = Math.max(wanted, index);
+		if (fetching || loaded > wanted || loaded >= rows.size()) {
+			return;
+		}
+		int current = generation;
+		int afterId = loaded == 0 ? FIRST_PAGE : rows.get(loaded - 1).id;
+		fetching = true;
+		DatabaseTasks.run(() -> source.fetchAfter(afterId, PAGE_SIZE), page -> {
+			if (current != generation) {
+				return;
+			}
+			for (int i = 0; i < page.size() && loaded < rows.size(); i++) {
+				rows.set(loaded++, page.get(i));
+			}
+			// Rows removed since the count leave placeholders that no page will fill
+			if (page.size() < PAGE_SIZE && loaded < rows.size()) {
+				rows.remove(loaded, rows.size());
+				showCount(loaded);
+			}
+			fetching = false;
+			requestRow(wanted);
+		}, error -> {
+			if (current == generation) {
+				fetching = false;
+				status.setText("Error: " + error.getMessage());
+			}
+		});
+	}
+
+	/**
+	 * A cell that shows its row, or asks for the row's page if it is not loaded yet.
+	 */
+	private class PagedCell extends ListCell<ListingRow> {
+		@Override
+		protected void updateItem(ListingRow row, boolean empty) {
+			super.updateItem(row, empty);
+			if (empty) {
+				setText(null);
+			} else if (row == null) {
+				setText("Loading...");
+				requestRow(getIndex());
+			} else {
+				setText(row.text);
+			}
+		}
+	}
+}
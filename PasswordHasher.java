@@ -0,0 +1,150 @@
+/**
+ * The PasswordHasher class turns user passwords into salted PBKDF2 hashes before
+ * they are stored in the cse360users table, and verifies login attempts against
+ * those hashes. The work factor (iteration count) is configurable so it can be
+ * tuned against the login latency budget with PasswordHasherBenchmark.
+ *
+ * Responsibilities:
+ * - Hash passwords with a random per-user salt and a configurable work factor.
+ * - Verify a password against a stored hash in constant time.
+ * - Report when a stored hash was made with a different work factor so it can be
+ *   re-hashed on the next successful login.
+ *
+ * Stored hashes have the form pbkdf2$<iterations>$<salt>$<hash>, with the salt
+ * and hash Base64 encoded, so the work factor can change without breaking
+ * existing accounts.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.spec.KeySpec;
+import java.util.Base64;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+
+class PasswordHasher {
+
+	/** ------------ Declarations  ------------ */
+
+	/**
+	 * Hash format and cost constants. The default work factor can be overridden with
+	 * the cse360.password.iterations system property.
+	 */
+	static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+	static final String PREFIX = "pbkdf2";
+	static final int DEFAULT_ITERATIONS = 120000;
+	static final String ITERATIONS_PROPERTY = "cse360.password.iterations";
+
+	private static final int SALT_BYTES = 16;
+	private static final int HASH_BITS = 256;
+
+	private final int iterations;
+	private final SecureRandom random = new SecureRandom();
+
+
+	/**
+	 * Creates a hasher using the configured work factor.
+	 */
+	PasswordHasher() {
+		this(Integer.getInteger(ITERATIONS_PROPERTY, DEFAULT_ITERATIONS));
+	}
+
+	/**
+	 * Creates a hasher with an explicit work factor, used by the benchmark.
+	 *
+	 * @param iterations the number of PBKDF2 iterations per hash.
+	 */
+	PasswordHasher(int iterations) {
+		if (iterations < 1) {
+			throw new IllegalArgumentException("Iterations must be positive: " + iterations);
+		}
+		this.iterations = iterations;
+	}
+
+	public int getIterations() {
+		return iterations;
+	}
+
+
+	/** ------------ Hash and Verify  ------------ */
+
+	/**
+	 * Hashes a password with a new random salt.
+	 *
+	 * @param password the plaintext password.
+	 * @return the encoded hash to be stored in the database.
+	 */
+	public String hash(String password) {
+		byte[] salt = new byte[SALT_BYTES];
+		random.nextBytes(salt);
+		byte[] hash = pbkdf2(password, salt, iterations);
+		Base64.Encoder encoder = Base64.getEncoder();
+		return PREFIX + "$" + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+	}
+
+	/**
+	 * Verifies a password against a stored hash. The work factor stored with the hash
+	 * is used, so accounts hashed under an older setting keep working. Values that are
+	 * not in the hash format are treated as legacy plaintext passwords.
+	 *
+	 * @param password the plaintext password given at login.
+	 * @param stored the value stored in the password column.
+	 * @return true if the password matches, false otherwise.
+	 */
+	public boolean verify(String password, String stored) {
+		if (password == null || stored == null) {
+			return false;
+		}
+		if (!isHashed(stored)) {
+			return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+		}
+		String[] parts = stored.split("\\$");
+		if (parts.length != 4) {
+			return false;
+		}
+		try {
+			int storedIterations = Integer.parseInt(parts[1]);
+			byte[] salt = Base64.getDecoder().decode(parts[2]);
+			byte[] expected = Base64.getDecoder().decode(parts[3]);
+			return MessageDigest.isEqual(expected, pbkdf2(password, salt, storedIterations));
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Checks if a stored value should be re-hashed after a successful login, either
+	 * because it is a legacy plaintext password or because the work factor changed.
+	 *
+	 * @param stored the value stored in the password column.
+	 * @return true if the password should be hashed again.
+	 */
+	public boolean needsRehash(String stored) {
+		if (!isHashed(stored)) {
+			return true;
+		}
+		String[] parts = stored.split("\\$");
+		return parts.length != 4 || !parts[1].equals(String.valueOf(iterations));
+	}
+
+	private static boolean isHashed(String stored) {
+		return stored.startsWith(PREFIX + "$");
+	}
+
+	private static byte[] pbkdf2(String password, byte[] salt, int rounds) {
+		KeySpec spec = new PBEKeySpec(password.toCharArray(), salt, rounds, HASH_BITS);
+		try {
+			return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Password hashing unavailable: " + e.getMessage(), e);
+		}
+	}
+}
@@ -0,0 +1,72 @@
+/**
+ * The PasswordHasherBenchmark class measures how long PasswordHasher takes to
+ * verify a password at different work factors, so a cost can be chosen that
+ * keeps login under the latency budget.
+ *
+ * Usage: java simpleDatabase.PasswordHasherBenchmark [budgetMillis] [rounds]
+ *
+ * The highest work factor whose average verification time is within the budget
+ * is printed as the recommended value for the cse360.password.iterations property.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+
+class PasswordHasherBenchmark {
+
+	/**
+	 * Work factors that are measured, from cheapest to most expensive.
+	 */
+	static final int[] COSTS = { 10000, 50000, 100000, 120000, 200000, 300000, 600000 };
+
+	public static void main(String[] args) {
+		double budgetMillis = args.length > 0 ? Double.parseDouble(args[0]) : 250;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		String password = "Benchmark-Password-1";
+
+		System.out.println("Latency budget: " + budgetMillis + " ms, " + rounds + " verifications per cost");
+		System.out.println(String.format("%-12s %-12s %-12s %s", "Iterations", "Avg (ms)", "Max (ms)", "Within budget"));
+
+		// Let the JIT compile the PBKDF2 loop before anything is timed
+		PasswordHasher warmUp = new PasswordHasher(COSTS[0]);
+		String warmUpHash = warmUp.hash(password);
+		for (int i = 0; i < 50; i++) {
+			warmUp.verify(password, warmUpHash);
+		}
+
+		int recommended = -1;
+		for (int cost : COSTS) {
+			PasswordHasher hasher = new PasswordHasher(cost);
+			String stored = hasher.hash(password);
+
+			long total = 0;
+			long max = 0;
+			for (int i = 0; i < rounds; i++) {
+				long start = System.nanoTime();
+				if (!hasher.verify(password, stored)) {
+					throw new IllegalStateException("Verification failed at cost " + cost);
+				}
+				long elapsed = System.nanoTime() - start;
+				total += elapsed;
+				max = Math.max(max, elapsed);
+			}
+
+			double avgMillis = total / (double) rounds / 1000000.0;
+			double maxMillis = max / 1000000.0;
+			boolean within = avgMillis <= budgetMillis;
+			if (within) {
+				recommended = cost;
+			}
+			System.out.println(String.format("%-12d %-12.2f %-12.2f %s", cost, avgMillis, maxMillis, within ? "yes" : "no"));
+		}
+
+		if (recommended > 0) {
+			System.out.println("Recommended: -D" + PasswordHasher.ITERATIONS_PROPERTY + "=" + recommended);
+		} else {
+			System.out.println("No measured cost fits the budget; use the lowest cost or raise the budget.");
+		}
+	}
+}
@@ -0,0 +1,195 @@
+/**
+ * The PlaintextCache class keeps recently decrypted fields of special access group
+ * articles, so that viewing the same articles again does not pay for decryption.
+ *
+ * Responsibilities:
+ * - Cache plaintext by group, article id and field.
+ * - Only return a value while the stored ciphertext is unchanged, so an edited
+ *   article is never shown from a stale entry.
+ * - Bound the cache by total characters, evicting the least recently used entries,
+ *   and expire entries after a time to live.
+ * - Drop a whole group when rights to it are revoked.
+ *
+ * The limits can be changed with the cse360.plaintextCache.maxChars and
+ * cse360.plaintextCache.ttlSeconds system properties.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+
+class PlaintextCache {
+
+	/** ------------ Declarations  ------------ */
+
+	static final long DEFAULT_MAX_CHARS = 2000000;
+	static final long DEFAULT_TTL_SECONDS = 5 * 60;
+	static final String MAX_CHARS_PROPERTY = "cse360.plaintextCache.maxChars";
+	static final String TTL_PROPERTY = "cse360.plaintextCache.ttlSeconds";
+
+	private final long maxChars;
+	private final long ttlMillis;
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+	private long totalChars = 0;
+	private long hits = 0;
+	private long misses = 0;
+
+
+	PlaintextCache() {
+		this(Long.getLong(MAX_CHARS_PROPERTY, DEFAULT_MAX_CHARS), Long.getLong(TTL_PROPERTY, DEFAULT_TTL_SECONDS) * 1000);
+	}
+
+	PlaintextCache(long maxChars, long ttlMillis) {
+		this.maxChars = maxChars;
+		this.ttlMillis = ttlMillis;
+	}
+
+
+	/** ------------ Lookup  ------------ */
+
+	/**
+	 * Returns the cached plaintext of a field, or null if it is not cached, has expired
+	 * or the stored ciphertext has changed since it was cached.
+	 *
+	 * @param groupIdentifier the group the article belongs to.
+	 * @param id the article id.
+	 * @param field the column the value was read from.
+	 * @param ciphertext the ciphertext currently stored in the column.
+	 * @return the plaintext, or null on a miss.
+	 */
+	public synchronized String get(String groupIdentifier, int id, String field, String ciphertext) {
+		Key key = new Key(groupIdentifier, id, field);
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		if (entry.expiresAt < System.currentTimeMillis() || !entry.ciphertext.equals(ciphertext)) {
+			remove(key);
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.plaintext;
+	}
+
+	/**
+	 * Caches the plaintext of a field. Values larger than the whole cache are not kept.
+	 */
+	public synchronized void put(String groupIdentifier, int id, String field, String ciphertext, String plaintext) {
+		long weight = (long) ciphertext.length() + plaintext.length();
+		if (weight > maxChars) {
+			return;
+		}
+		Key key = new Key(groupIdentifier, id, field);
+		remove(key);
+		entries.put(key, new Entry(ciphertext, plaintext, System.currentTimeMillis() + ttlMillis));
+		totalChars += weight;
+
+		Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+		while (totalChars > maxChars && eldest.hasNext()) {
+			totalChars -= eldest.next().getValue().weight();
+			eldest.remove();
+		}
+	}
+
+
+	/** ------------ Invalidation  ------------ */
+
+	/**
+	 * Drops every field of an article, used when it is edited or deleted.
+	 */
+	public synchronized void invalidateArticle(int id) {
+		removeIf(key -> key.id == id);
+	}
+
+	/**
+	 * Drops every article of a group, used when a user's rights to it are revoked.
+	 */
+	public synchronized void clearGroup(String groupIdentifier) {
+		removeIf(key -> key.groupIdentifier.equals(groupIdentifier));
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		totalChars = 0;
+	}
+
+	/**
+	 * Returns the entry count, size and hit rate, for diagnostics.
+	 */
+	public synchronized String getStatistics() {
+		long lookups = hits + misses;
+		return "Entries: " + entries.size() + ", Characters: " + totalChars
+				+ ", Hits: " + hits + ", Misses: " + misses
+				+ ", Hit rate: " + (lookups == 0 ? 0 : (100 * hits / lookups)) + "%";
+	}
+
+	private void remove(Key key) {
+		Entry removed = entries.remove(key);
+		if (removed != null) {
+			totalChars -= removed.weight();
+		}
+	}
+
+	private void removeIf(Predicate<Key> predicate) {
+		Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<Key, Entry> next = it.next();
+			if (predicate.test(next.getKey())) {
+				totalChars -= next.getValue().weight();
+				it.remove();
+			}
+		}
+	}
+
+
+	private static class Key {
+		final String groupIdentifier;
+		final int id;
+		final String field;
+
+		Key(String groupIdentifier, int id, String field) {
+			this.groupIdentifier = groupIdentifier;
+			this.id = id;
+			this.field = field;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) other;
+			return id == key.id && groupIdentifier.equals(key.groupIdentifier) && field.equals(key.field);
+		}
+
+		@Override
+		public int hashCode() {
+			return (groupIdentifier.hashCode() * 31 + id) * 31 + field.hashCode();
+		}
+	}
+
+	private static class Entry {
+		final String ciphertext;
+		final String plaintext;
+		final long expiresAt;
+
+		Entry(String ciphertext, String plaintext, long expiresAt) {
+			this.ciphertext = ciphertext;
+			this.plaintext = plaintext;
+			this.expiresAt = expiresAt;
+		}
+
+		long weight() {
+			return (long) ciphertext.length() + plaintext.length();
+		}
+	}
+}
@@ -0,0 +1,19 @@
+/**
+ * The ProgressListener interface receives the progress of a long running backup or
+ * restore. It is called on the thread doing the work, at most a few times a second,
+ * and once more when the work ends.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+
+interface ProgressListener {
+
+	/** A listener that ignores progress, for callers that do not show it. */
+	ProgressListener NONE = progress -> { };
+
+	void onProgress(TransferProgress progress);
+}
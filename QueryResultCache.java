@@ -0,0 +1,191 @@
+/**
+ * The QueryResultCache class keeps the results of the article listings by author and
+ * by group, so users asking the same question get the answer without the database
+ * doing the same work again.
+ *
+ * Responsibilities:
+ * - Cache a listing by query kind, access scope and parameter.
+ * - Keep a version for every group and every author, raised when one of their
+ *   articles is written, and only return a listing computed at the current version.
+ * - Bound the cache by entry count, evicting the least recently used listings.
+ *
+ * A caller takes the version with stamp before it runs its query and stores the
+ * result with that version, so a write that lands while the query runs makes the
+ * result stale instead of being missed. The limit can be changed with the
+ * cse360.queryCache.maxEntries system property.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+class QueryResultCache {
+
+	/** ------------ Declarations  ------------ */
+
+	static final int DEFAULT_MAX_ENTRIES = 256;
+	static final String MAX_ENTRIES_PROPERTY = "cse360.queryCache.maxEntries";
+
+	static final String BY_GROUP = "group";
+	static final String BY_AUTHOR = "author";
+
+	private final int maxEntries;
+
+	/**
+	 * One clock for every version, so a version is never reused. A group or author
+	 * takes the clock's next value when it is written; a full invalidation raises the
+	 * floor that every version is at least.
+	 */
+	private final AtomicLong clock = new AtomicLong();
+	private volatile long floor = 0;
+	private final Map<String, Long> groupVersions = new ConcurrentHashMap<>();
+	private final Map<String, Long> authorVersions = new ConcurrentHashMap<>();
+
+	private final LinkedHashMap<Key, Entry> entries;
+	private long hits = 0;
+	private long misses = 0;
+
+
+	QueryResultCache() {
+		this(Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES));
+	}
+
+	QueryResultCache(int maxEntries) {
+		this.maxEntries = maxEntries;
+		this.entries = new LinkedHashMap<Key, Entry>(64, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return size() > QueryResultCache.this.maxEntries;
+			}
+		};
+	}
+
+
+	/** ------------ Versions  ------------ */
+
+	/**
+	 * Returns the current version of the group or author a listing depends on. Take it
+	 * before running the query and pass it to put.
+	 */
+	public long stamp(String kind, String parameter) {
+		Map<String, Long> versions = BY_GROUP.equals(kind) ? groupVersions : authorVersions;
+		return Math.max(floor, versions.getOrDefault(String.valueOf(parameter), 0L));
+	}
+
+	/**
+	 * Returns the newest version of any group or author, for a result that depends on
+	 * every article, such as a search. It changes with every write.
+	 */
+	public long latest() {
+		return clock.get();
+	}
+
+	/**
+	 * Marks the listings of a group and of an author as changed, called after one of
+	 * their articles is written.
+	 */
+	public void articleChanged(String groupIdentifier, String author) {
+		long version = clock.incrementAndGet();
+		groupVersions.put(String.valueOf(groupIdentifier), version);
+		authorVersions.put(String.valueOf(author), version);
+	}
+
+	/**
+	 * Marks the listings of a group as changed, called after a write to its articles
+	 * that no author listing depends on.
+	 */
+	public void groupChanged(String groupIdentifier) {
+		groupVersions.put(String.valueOf(groupIdentifier), clock.incrementAndGet());
+	}
+
+	/**
+	 * Marks every listing as changed, called after a write that touches many articles.
+	 */
+	public synchronized void allChanged() {
+		floor = clock.incrementAndGet();
+		entries.clear();
+	}
+
+
+	/** ------------ Lookup  ------------ */
+
+	/**
+	 * Returns a cached listing, or null if there is none at the current version.
+	 */
+	public synchronized String get(String kind, String scope, String parameter) {
+		Key key = new Key(kind, scope, parameter);
+		Entry entry = entries.get(key);
+		if (entry == null || entry.version != stamp(kind, parameter)) {
+			if (entry != null) {
+				entries.remove(key);
+			}
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.result;
+	}
+
+	/**
+	 * Caches a listing computed at the given version.
+	 */
+	public synchronized void put(String kind, String scope, String parameter, long version, String result) {
+		if (version == stamp(kind, parameter)) {
+			entries.put(new Key(kind, scope, parameter), new Entry(result, version));
+		}
+	}
+
+	/**
+	 * Returns the entry count and hit rate, for diagnostics.
+	 */
+	public synchronized String getStatistics() {
+		long lookups = hits + misses;
+		return "Entries: " + entries.size()
+				+ ", Hits: " + hits + ", Misses: " + misses
+				+ ", Hit rate: " + (lookups == 0 ? 0 : (100 * hits / lookups)) + "%";
+	}
+
+
+	private static class Key {
+		final String kind;
+		final String scope;
+		final String parameter;
+
+		Key(String kind, String scope, String parameter) {
+			this.kind = kind;
+			this.scope = scope;
+			this.parameter = String.valueOf(parameter);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) other;
+			return kind.equals(key.kind) && scope.equals(key.scope) && parameter.equals(key.parameter);
+		}
+
+		@Override
+		public int hashCode() {
+			return (kind.hashCode() * 31 + scope.hashCode()) * 31 + parameter.hashCode();
+		}
+	}
+
+	private static class Entry {
+		final String result;
+		final long version;
+
+		Entry(String result, long version) {
+			this.result = result;
+			this.version = version;
+		}
+	}
+}
@@ -0,0 +1,51 @@
+/**
+ * The SearchHit class is one article found by a search as you type. Besides the line
+ * shown for it, it keeps the plaintext fields the search looked at, so a longer query
+ * can be answered by filtering earlier hits instead of asking the database again.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.util.HashSet;
+import java.util.Set;
+
+
+class SearchHit extends ListingRow {
+
+	private final String[] fields;
+
+
+	SearchHit(int id, String text, String... fields) {
+		super(id, text);
+		this.fields = fields;
+	}
+
+
+	/**
+	 * Whether one of the fields contains the text, matching the LIKE '%text%' search of
+	 * the public articles.
+	 */
+	boolean containsText(String text) {
+		for (String field : fields) {
+			if (field != null && field.contains(text)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Whether the fields hold every word of the search, matching the word index of the
+	 * special articles.
+	 */
+	boolean containsWords(String search) {
+		Set<String> words = new HashSet<>();
+		for (String field : fields) {
+			words.addAll(SpecialSearchIndex.terms(field));
+		}
+		return words.containsAll(SpecialSearchIndex.terms(search));
+	}
+}
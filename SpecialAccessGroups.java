@@ -11,6 +11,10 @@
  * - Facilitate user role management, including inviting users and 
  *   handling account resets and deletions.
  * - Ensure data integrity and security during database operations.
+ * - Route each special access group's articles to its table. By default all groups
+ *   share specialArticle; with -Dcse360.special.partitioned=true every group gets its
+ *   own table, so a large group does not slow a small one and a group can be backed
+ *   up, dropped or restored without touching the others.
  * 
  * This class serves as an intermediary between the application and the database,
  * ensuring efficient data management and retrieval for a smooth user experience 
@@ -32,42 +36,68 @@ import java.io.FileWriter;
 import java.sql.*;
 import java.util.Base64;
 import java.util.UUID;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import Encryption.EncryptionHelper;
 import org.bouncycastle.util.Arrays;
 import Encryption.EncryptionUtils;
 import Encryption.EncryptionUtils;
 import simpleDatabase.DatabaseHelper;
+import org.h2.tools.Csv;
 
 
 
-class SpecialAccessGroups {
+class SpecialAccessGroups extends DatabaseCore {
 	
 	/** ------------ Declarations  ------------ */
 
+	/** The statement object for executing SQL queries, on the connection shared through DatabaseCore. */
+	private Statement statement = null; 
+	private static EncryptionHelper encryptionHelper;
+	private static final PlaintextCache plaintextCache = new PlaintextCache();
+	
+	/** The versions of the groups' articles, raised on every write, for the search as you type. */
+	private static final QueryResultCache searchVersions = new QueryResultCache();
+	private static SpecialSearchIndex searchIndex;
+	private static final Map<String, ArticleCompletions> completions = new ConcurrentHashMap<>();
+	private static ArticleDeltaStore deltaStore;
+	private static final Map<String, KeyRotationJob> rotationJobs = new ConcurrentHashMap<>();
+	
+	/** Key rotations run one after another on this thread, so at most one holds a pooled connection. */
+	private static final ExecutorService rotationExecutor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "key-rotation");
+		thread.setDaemon(true);
+		return thread;
+	});
+	
 	/**
-	 * Database configuration constants for the H2 database connection, including JDBC driver, URL, user credentials,
-	 * and connection and statement objects for executing SQL queries.
+	 * Matches a rotation owned by another client that is still reporting. Its parameters
+	 * are whether clients share the store, this client's id and the oldest lastSeen
+	 * that still counts; see bindOwnedByOtherClient.
 	 */
-	static final String JDBC_DRIVER = "org.h2.Driver";   
-	static final String DB_URL = "jdbc:h2:~/firstDatabase";  
-
+	private static final String OWNED_BY_OTHER_CLIENT = "(? AND owner IS NOT NULL AND owner <> ? "
+			+ "AND owner IN (SELECT clientId FROM cse360Clients WHERE lastSeen >= ?))";
 	
-	static final String USER = "sa"; 
-	static final String PASS = ""; 
-
-	private static Connection connection = null;
-	private Statement statement = null; 
-	private static EncryptionHelper encryptionHelper;
+	/** The SQL state of an insert that repeats a primary key. */
+	private static final String DUPLICATE_KEY = "23505";
+	
+	static final String PARTITIONED_PROPERTY = "cse360.special.partitioned";
+	static final String SHARED_ARTICLE_TABLE = "specialArticle";
+	private static final boolean partitioned = Boolean.getBoolean(PARTITIONED_PROPERTY);
+	private static final Map<String, String> partitionTables = new ConcurrentHashMap<>();
 	
 	public SpecialAccessGroups() throws Exception {
 		encryptionHelper = new EncryptionHelper();
 	}
 	
-	public static Connection getConnection()
-	{
-		return connection;
-	}
-	
 	/** ------------ Database Connection  ------------ */
 
 	/**
@@ -83,12 +113,15 @@ class SpecialAccessGroups {
 	
 	public void connectToDatabase() throws SQLException {
 		try {
-			Class.forName(JDBC_DRIVER); // Load the JDBC driver
-			System.out.println("Connecting to database...");
-			connection = DriverManager.getConnection(DB_URL, USER, PASS);
-			statement = connection.createStatement(); 
+			statement = openConnection().createStatement(); 
 			createSpecialUserTable();
 			createSpecialArticleTable();
+			searchIndex = new SpecialSearchIndex(connection, encryptionHelper);
+			searchIndex.createTable();
+			deltaStore = new ArticleDeltaStore(connection, encryptionHelper);
+			deltaStore.createTable();
+			createKeyTables();
+			resumeKeyRotations();
 		} catch (ClassNotFoundException e) {
 			System.err.println("JDBC Driver not found: " + e.getMessage());
 		}
@@ -192,32 +225,294 @@ class SpecialAccessGroups {
 	}
 	
 	
+	/**
+	 * Creates the tables that record the current key version of each group and the
+	 * progress of key rotations, one row per rotation. They are kept across restarts so
+	 * a rotation resumes.
+	 * 
+	 * @throws SQLException if there is an error executing SQL commands.
+	 */
+	private void createKeyTables() throws SQLException {
+		statement.execute("CREATE TABLE IF NOT EXISTS specialGroupKeys ("
+				+ "groupIdentifier VARCHAR(100) PRIMARY KEY, "
+				+ "currentVersion INT NOT NULL)");
+		statement.execute("CREATE TABLE IF NOT EXISTS keyRotationJobs ("
+				+ "groupIdentifier VARCHAR(100) NOT NULL, "
+				+ "targetVersion INT NOT NULL, "
+				+ "lastId INT NOT NULL, "
+				+ "processed INT NOT NULL, "
+				+ "total INT NOT NULL, "
+				+ "status VARCHAR(20) NOT NULL, "
+				+ "updatedAt TIMESTAMP, "
+				+ "owner VARCHAR(36), "
+				+ "PRIMARY KEY (groupIdentifier, targetVersion))");
+		// The client running a rotation, so clients sharing the store never run the same one
+		statement.execute("ALTER TABLE keyRotationJobs ADD COLUMN IF NOT EXISTS owner VARCHAR(36)");
+	}
+	
+	
 	private void createSpecialArticleTable() throws SQLException {
-		String destroy = "DROP TABLE IF EXISTS specialArticle ";
-		statement.execute(destroy);
+		// Group partitions follow the lifecycle of the shared table
+		statement.execute("CREATE TABLE IF NOT EXISTS specialGroupPartitions ("
+				+ "groupIdentifier VARCHAR(100) PRIMARY KEY, "
+				+ "tableName VARCHAR(64) NOT NULL)");
+		partitionTables.clear();
+		if (!getStorage().keepsData()) {
+			for (String table : listPartitionTables()) {
+				statement.execute("DROP TABLE IF EXISTS " + table);
+			}
+			statement.execute("DELETE FROM specialGroupPartitions");
+			
+			String destroy = "DROP TABLE IF EXISTS specialArticle ";
+			statement.execute(destroy);
+		}
 		
-		String articlesTable = "CREATE TABLE IF NOT EXISTS specialArticle ("
-                + "id INT PRIMARY KEY AUTO_INCREMENT, "
+		// Ids come from one sequence so they stay unique across every partition
+		statement.execute("CREATE SEQUENCE IF NOT EXISTS specialArticleIds");
+		statement.execute("CREATE SEQUENCE IF NOT EXISTS specialPartitionIds");
+		createArticleTable(SHARED_ARTICLE_TABLE);
+	}
+	
+	/**
+	 * Creates a table with the special article columns. Used for the shared table and
+	 * for every group partition.
+	 * 
+	 * @param tableName the table to create, generated by this class and never user input.
+	 * @throws SQLException if there is an error executing SQL commands.
+	 */
+	private static void createArticleTable(String tableName) throws SQLException {
+		String articlesTable = "CREATE TABLE IF NOT EXISTS " + tableName + " ("
+                + "id INT DEFAULT NEXT VALUE FOR specialArticleIds PRIMARY KEY, "
                 + "title VARCHAR(255), "
                 + "author VARCHAR(255), "
-                + "description VARCHAR(500), "
+                + "description TEXT, "
                 + "body TEXT, "
                 + "groupIdentifier VARCHAR(100), "
-                + "keywords VARCHAR(500), "
-                + "other VARCHAR(500), "
-                + "links_misc VARCHAR(500), "
-                + "uniqueID BIGINT UNIQUE"
+                + "keywords TEXT, "
+                + "other TEXT, "
+                + "links_misc TEXT, "
+                + "uniqueID BIGINT UNIQUE, "
+                + "keyVersion INT DEFAULT 1 NOT NULL, "
+                + "version INT DEFAULT 1 NOT NULL"
                 + ")";
 		
-        statement.execute(articlesTable);
+        try (Statement stmt = connection.createStatement()) {
+        	stmt.execute(articlesTable);
+        	
+        	// Every special article read is scoped to a group; this makes those reads index probes
+        	stmt.execute("CREATE INDEX IF NOT EXISTS " + tableName + "GroupId ON " + tableName + " (groupIdentifier, id)");
+        	stmt.execute("CREATE INDEX IF NOT EXISTS " + tableName + "GroupAuthor ON " + tableName + " (groupIdentifier, author)");
+        }
         
 	}
 	
 	
+	/** ------------ Group Partitions  ------------ */
+	
+	/**
+	 * Returns the table that holds a group's articles. In the default mode this is the
+	 * shared specialArticle table. In partitioned mode it is the group's own table,
+	 * which is created the first time the group is used.
+	 * 
+	 * @param groupIdentifier the group
+	 * @return the table name to use in SQL for the group
+	 * @throws SQLException if there is an error looking up or creating the partition.
+	 */
+	static String articleTable(String groupIdentifier) throws SQLException {
+		if (!partitioned) {
+			return SHARED_ARTICLE_TABLE;
+		}
+		String table = partitionTables.get(groupIdentifier);
+		return table != null ? table : createPartition(groupIdentifier);
+	}
+	
+	/**
+	 * Creates the partition of a group if it does not exist yet.
+	 * 
+	 * @param groupIdentifier the group
+	 * @return the name of the group's table
+	 * @throws SQLException if there is an error executing SQL commands.
+	 */
+	static synchronized String createPartition(String groupIdentifier) throws SQLException {
+		String query = "SELECT tableName FROM specialGroupPartitions WHERE groupIdentifier = ?";
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			pstmt.setString(1, groupIdentifier);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				if (rs.next()) {
+					String table = rs.getString("tableName");
+					partitionTables.put(groupIdentifier, table);
+					return table;
+				}
+			}
+		}
+		
+		// Table names are numbered rather than built from the group name, so any group name is safe
+		String table;
+		try (Statement stmt = connection.createStatement();
+				ResultSet rs = stmt.executeQuery("SELECT NEXT VALUE FOR specialPartitionIds")) {
+			rs.next();
+			table = "specialArticle_p" + rs.getLong(1);
+		}
+		createArticleTable(table);
+		String insert = "INSERT INTO specialGroupPartitions (groupIdentifier, tableName) VALUES (?, ?)";
+		try (PreparedStatement pstmt = connection.prepareStatement(insert)) {
+			pstmt.setString(1, groupIdentifier);
+			pstmt.setString(2, table);
+			pstmt.executeUpdate();
+		}
+		partitionTables.put(groupIdentifier, table);
+		return table;
+	}
+	
+	/**
+	 * Returns every table that holds special articles: the shared table and any partitions.
+	 */
+	private List<String> allArticleTables() throws SQLException {
+		List<String> tables = new ArrayList<>();
+		tables.add(SHARED_ARTICLE_TABLE);
+		tables.addAll(listPartitionTables());
+		return tables;
+	}
+	
+	private List<String> listPartitionTables() throws SQLException {
+		List<String> tables = new ArrayList<>();
+		try (ResultSet rs = statement.executeQuery("SELECT tableName FROM specialGroupPartitions")) {
+			while (rs.next()) {
+				tables.add(rs.getString("tableName"));
+			}
+		}
+		return tables;
+	}
+	
+	/**
+	 * Removes every article of a group. In partitioned mode the group's table is dropped,
+	 * so the cost does not depend on the other groups.
+	 * 
+	 * @param groupIdentifier the group whose articles are removed
+	 * @throws SQLException if there is an error executing SQL commands.
+	 */
+	public synchronized void dropSpecialGroup(String groupIdentifier) throws SQLException
+	{
+		stopKeyRotation(groupIdentifier);
+		if (partitioned) {
+			String table = null;
+			String query = "SELECT tableName FROM specialGroupPartitions WHERE groupIdentifier = ?";
+			try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+				pstmt.setString(1, groupIdentifier);
+				try (ResultSet rs = pstmt.executeQuery()) {
+					if (rs.next()) {
+						table = rs.getString("tableName");
+					}
+				}
+			}
+			if (table != null) {
+				statement.execute("DROP TABLE IF EXISTS " + table);
+			}
+			try (PreparedStatement pstmt = connection.prepareStatement("DELETE FROM specialGroupPartitions WHERE groupIdentifier = ?")) {
+				pstmt.setString(1, groupIdentifier);
+				pstmt.executeUpdate();
+			}
+			partitionTables.remove(groupIdentifier);
+		} else {
+			try (PreparedStatement pstmt = connection.prepareStatement("DELETE FROM specialArticle WHERE groupIdentifier = ?")) {
+				pstmt.setString(1, groupIdentifier);
+				pstmt.executeUpdate();
+			}
+		}
+		searchIndex.removeGroup(groupIdentifier);
+		completions.remove(groupIdentifier);
+		deltaStore.removeGroup(groupIdentifier);
+		plaintextCache.clearGroup(groupIdentifier);
+		searchVersions.groupChanged(groupIdentifier);
+	}
+	
+	/**
+	 * Restores a group from a file written by backUpSpecialGroupToFile. Articles whose
+	 * unique id already exists are skipped, rows of other groups are ignored, and the
+	 * restored articles get new ids and are added to the search index. The existing ids
+	 * are read in the same transaction as the inserts, and the UNIQUE uniqueID column 
+	 * rejects an article a concurrent restore added first. The file is read by this 
+	 * client, so in server mode it does not have to be on the server. The edit history 
+	 * is not in the backup, so a restored article starts over at its first version.
+	 * 
+	 * @param file the backup file
+	 * @param groupIdentifier the group to restore
+	 * @return the number of articles restored
+	 * @throws Exception if there is an error reading the file or indexing the articles.
+	 */
+	public synchronized int restoreSpecialGroupFromFile(String file, String groupIdentifier) throws Exception
+	{
+		String table = articleTable(groupIdentifier);
+		String restore = "INSERT INTO " + table + " (title, author, description, body, groupIdentifier, keywords, other, links_misc, uniqueID, keyVersion) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+		
+		int restored = inTransaction(transaction -> {
+			Set<Long> existing = new HashSet<>();
+			try (Statement stmt = transaction.createStatement();
+					ResultSet rs = stmt.executeQuery("SELECT uniqueID FROM " + table + " WHERE uniqueID IS NOT NULL")) {
+				while (rs.next()) {
+					existing.add(rs.getLong("uniqueID"));
+				}
+			}
+			
+			int added = 0;
+			try (ResultSet rs = new Csv().read(file, null, null);
+					PreparedStatement pstmt = transaction.prepareStatement(restore)) {
+				while (rs.next()) {
+					String uniqueID = rs.getString("uniqueID");
+					if (!groupIdentifier.equals(rs.getString("groupIdentifier"))
+							|| uniqueID == null || uniqueID.isEmpty() || !existing.add(Long.parseLong(uniqueID))) {
+						continue;
+					}
+					pstmt.setString(1, rs.getString("title"));
+					pstmt.setString(2, rs.getString("author"));
+					pstmt.setString(3, rs.getString("description"));
+					pstmt.setString(4, rs.getString("body"));
+					pstmt.setString(5, groupIdentifier);
+					pstmt.setString(6, rs.getString("keywords"));
+					pstmt.setString(7, rs.getString("other"));
+					pstmt.setString(8, rs.getString("links_misc"));
+					pstmt.setLong(9, Long.parseLong(uniqueID));
+					pstmt.setInt(10, Integer.parseInt(rs.getString("keyVersion")));
+					pstmt.addBatch();
+					added++;
+				}
+				pstmt.executeBatch();
+			}
+			return added;
+		});
+		reindexGroup(groupIdentifier);
+		return restored;
+	}
+	
+	/**
+	 * Rebuilds the search index of a group from its articles.
+	 */
+	private void reindexGroup(String groupIdentifier) throws Exception
+	{
+		searchIndex.removeGroup(groupIdentifier);
+		getCompletions(groupIdentifier).clear();
+		searchVersions.groupChanged(groupIdentifier);
+		String query = "SELECT id, title, author, description, keywords, keyVersion FROM " + articleTable(groupIdentifier)
+				+ " WHERE groupIdentifier = ?";
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			pstmt.setString(1, groupIdentifier);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					String keywords = decryptField(rs, "keywords", groupIdentifier);
+					searchIndex.indexArticle(groupIdentifier, rs.getInt("id"), rs.getString("title"),
+							decryptField(rs, "description", groupIdentifier), keywords);
+					getCompletions(groupIdentifier).put(rs.getInt("id"), rs.getString("title"), rs.getString("author"), keywords);
+				}
+			}
+		}
+	}
+	
+	
 	
 	public String listSpecialArticle(String groupIdentifier) throws Exception
 	{
-		 	String query = "SELECT * FROM specialArticle WHERE groupIdentifier = ? ";
+		 	String query = "SELECT id, title, groupIdentifier FROM " + articleTable(groupIdentifier) + " WHERE groupIdentifier = ? ";
 		    String display = "";
 
 		    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
@@ -241,31 +536,83 @@ class SpecialAccessGroups {
 		    
 		    return display;
 	}
+
+	/**
+	 * Counts the articles of a group, for a paged listing.
+	 */
+	public int countSpecialArticles(String groupIdentifier) throws Exception
+	{
+		String query = "SELECT COUNT(*) FROM " + articleTable(groupIdentifier) + " WHERE groupIdentifier = ?";
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			pstmt.setString(1, groupIdentifier);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				return rs.next() ? rs.getInt(1) : 0;
+			}
+		}
+	}
+
+	/**
+	 * Lists one page of the articles of a group in id order, one line each. Titles are
+	 * stored in plain text, so nothing is decrypted until an article is opened. The page
+	 * starts after an id, a seek on the (groupIdentifier, id) index, rather than at an 
+	 * offset.
+	 *
+	 * @param groupIdentifier the group to list.
+	 * @param afterId the last id of the page before, or PagedListView.FIRST_PAGE.
+	 * @param limit the most articles to return.
+	 */
+	public List<ListingRow> listSpecialArticlePage(String groupIdentifier, int afterId, int limit) throws Exception
+	{
+		String query = "SELECT id, title FROM " + articleTable(groupIdentifier)
+				+ " WHERE groupIdentifier = ? AND id > ? ORDER BY id LIMIT ?";
+		List<ListingRow> page = new ArrayList<>();
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			pstmt.setString(1, groupIdentifier);
+			pstmt.setInt(2, afterId);
+			pstmt.setInt(3, limit);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					int id = rs.getInt("id");
+					page.add(new ListingRow(id, "ID: " + id + ", Title: " + rs.getString("title")));
+				}
+			}
+		}
+		return page;
+	}
 	
 	
 	
+/**
+ * Displays one article of a group. The group and id are matched together, so an id
+ * from another group finds nothing, and the lookup is a single probe of the
+ * (groupIdentifier, id) index.
+ *
+ * @param groupIdentifier the group the article belongs to.
+ * @param id the id of the article.
+ * @return the article, or an empty string if the group has no article with that id.
+ * @throws Exception if there is an error reading or decrypting the article.
+ */
 public String displayArticleByID(String groupIdentifier, int id) throws Exception {
 	    
-	    String query = "SELECT * FROM  WHERE groupIdentifier = ? AND id = ?";
+	    String query = "SELECT " + ARTICLE_COLUMNS + " FROM " + articleTable(groupIdentifier) + " WHERE groupIdentifier = ? AND id = ?";
 	    
 	    String display = "";
 
 	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
 	        pstmt.setString(1, groupIdentifier);
-	        pstmt.setInt(1,  id);
+	        pstmt.setInt(2, id);
 
 	        try (ResultSet rs = pstmt.executeQuery()) {
 	        	
-					while(rs.next()) {
-
+					if (rs.next()) {
 	                     int newid = rs.getInt("id");
 	                    String title = rs.getString("title");
 	                    String author = rs.getString("author");
-	                    String description = rs.getString("description");
-	                    String body = rs.getString("body");
-	                    String keywords = rs.getString("keywords");
-	                    String other = rs.getString("other");
-	                    String links = rs.getString("links_misc");
+	                    String description = decryptField(rs, "description", groupIdentifier);
+	                    String body = decryptField(rs, "body", groupIdentifier);
+	                    String keywords = decryptField(rs, "keywords", groupIdentifier);
+	                    String other = decryptField(rs, "other", groupIdentifier);
+	                    String links = decryptField(rs, "links_misc", groupIdentifier);
 	                    
 	                    
 	                    display += "ID: " + newid + "\n";
@@ -287,7 +634,7 @@ public String displayArticleByID(String groupIdentifier, int id) throws Exceptio
 	
 public String displayArticleByAuthor(String author, String groupIdentifier) throws Exception {
     // Query to search for articles by a specific author and group identifier with public access level
-    String query = "SELECT * FROM specialArticle WHERE author = ? AND groupIdentifier = ?";
+    String query = "SELECT " + ARTICLE_COLUMNS + " FROM " + articleTable(groupIdentifier) + " WHERE author = ? AND groupIdentifier = ?";
     String display = "";
 
     try (PreparedStatement pstmt = connection.prepareStatement(query)) {
@@ -299,14 +646,12 @@ public String displayArticleByAuthor(String author, String groupIdentifier) thro
                 int newid = rs.getInt("id");
                 String title = rs.getString("title");
                 String articleAuthor = rs.getString("author");
-                String description = rs.getString("description");
-                String body = rs.getString("body");
-                
                 String groupID = rs.getString("groupIdentifier");
-                String keywords = rs.getString("keywords");
-                
-                String other = rs.getString("other");
-                String links = rs.getString("links_misc");
+                String description = decryptField(rs, "description", groupID);
+                String body = decryptField(rs, "body", groupID);
+                String keywords = decryptField(rs, "keywords", groupID);
+                String other = decryptField(rs, "other", groupID);
+                String links = decryptField(rs, "links_misc", groupID);
 
                 // Display article details
                 display += "ID: " + newid + "\n";
@@ -326,119 +671,302 @@ public String displayArticleByAuthor(String author, String groupIdentifier) thro
     return display;
 }
 
+/**
+ * Searches the articles of a group for words in the title, description or keywords.
+ * The words are looked up in the keyed token index, so only the matching articles
+ * are read and decrypted. An article matches when it contains every word searched.
+ *
+ * @param searchTerm the words to search for.
+ * @param groupIdentifier the group whose articles are searched.
+ * @return the matching articles.
+ * @throws Exception if there is an error reading or decrypting the articles.
+ */
 public String searchArticlesByWord(String searchTerm, String groupIdentifier) throws Exception {
     
-    String searchPattern = "%" + searchTerm + "%";
     String display = "";
 
     
-    String query = "SELECT * FROM specialArticle WHERE (title LIKE ? OR description LIKE ? OR keywords LIKE ?) ";
+    String query = "SELECT " + ARTICLE_COLUMNS + " FROM " + articleTable(groupIdentifier) + " WHERE groupIdentifier = ? AND id = ? ";
     
     try (PreparedStatement pstmt = connection.prepareStatement(query)) {
        
-        pstmt.setString(1, searchPattern); // Search in title
-        pstmt.setString(2, searchPattern); // Search in description
-        pstmt.setString(3, searchPattern); // Search in keywords
-        
-        if (groupIdentifier != null) {
-            pstmt.setString(4, groupIdentifier); 
+        for (int articleId : searchIndex.findArticleIds(searchTerm, groupIdentifier)) {
+            pstmt.setString(1, groupIdentifier);
+            pstmt.setInt(2, articleId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    int newid = rs.getInt("id");
+                    String title = rs.getString("title");
+                    String author = rs.getString("author");
+                    String groupID = rs.getString("groupIdentifier");
+                    String description = decryptField(rs, "description", groupID);
+                    String body = decryptField(rs, "body", groupID);
+                    String keywords = decryptField(rs, "keywords", groupID);
+                    String other = decryptField(rs, "other", groupID);
+                    String links = decryptField(rs, "links_misc", groupID);
+
+                    // Display article details
+                    display += "ID: " + newid + "\n";
+                    display += "Title: " + title + "\n";
+                    display += "Author: " + author + "\n";
+                    display += "Description: " + description + "\n";
+                    display += "Body: " + body + "\n";
+                    
+                    display += "Group Identifier: " + groupID + "\n";
+                    display += "Keywords: " + keywords + "\n";
+                    display += "Other: " + other + "\n";
+                    display += "Links: " + links + "\n";
+                }
+            }
         }
+    }
+    return display;
+}
 
+/**
+ * Finds the articles of a group holding every word of the search, for the search as
+ * you type. Only the searched fields are decrypted, and they are kept in each hit so a
+ * search with more words can be filtered from them.
+ *
+ * @param searchTerm the words to search for.
+ * @param groupIdentifier the group being searched.
+ */
+public List<SearchHit> searchArticleHits(String searchTerm, String groupIdentifier) throws Exception {
+    List<SearchHit> hits = new ArrayList<>();
+    Set<Integer> articleIds = searchIndex.findArticleIds(searchTerm, groupIdentifier);
+    if (articleIds.isEmpty()) {
+        return hits;
+    }
+    
+    // Every hit in one query rather than one query per hit
+    String placeholders = String.join(", ", Collections.nCopies(articleIds.size(), "?"));
+    String query = "SELECT id, title, author, groupIdentifier, description, keywords, keyVersion FROM " + articleTable(groupIdentifier)
+    		+ " WHERE groupIdentifier = ? AND id IN (" + placeholders + ") ORDER BY id";
+    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        int index = 1;
+        pstmt.setString(index++, groupIdentifier);
+        for (int articleId : articleIds) {
+            pstmt.setInt(index++, articleId);
+        }
         try (ResultSet rs = pstmt.executeQuery()) {
             while (rs.next()) {
-                int newid = rs.getInt("id");
+                int articleId = rs.getInt("id");
                 String title = rs.getString("title");
-                String author = rs.getString("author");
-                String description = rs.getString("description");
-                String body = rs.getString("body");
-                
-                String groupID = rs.getString("groupIdentifier");
-                String keywords = rs.getString("keywords");
-                String other = rs.getString("other");
-                String links = rs.getString("links_misc");
-
-                // Display article details
-                display += "ID: " + newid + "\n";
-                display += "Title: " + title + "\n";
-                display += "Author: " + author + "\n";
-                display += "Description: " + description + "\n";
-                display += "Body: " + body + "\n";
-                
-                display += "Group Identifier: " + groupID + "\n";
-                display += "Keywords: " + keywords + "\n";
-                display += "Other: " + other + "\n";
-                display += "Links: " + links + "\n";
-     
-                }
+                hits.add(new SearchHit(articleId, "ID: " + articleId + ", Title: " + title + ", Author: " + rs.getString("author"),
+                		title, decryptField(rs, "description", groupIdentifier), decryptField(rs, "keywords", groupIdentifier)));
             }
         }
-    return display;
+    }
+    return hits;
+}
+
+/**
+ * Returns the version of a group's articles searched by searchArticleHits, which
+ * changes whenever one of them is written.
+ *
+ * @param groupIdentifier the group being searched.
+ */
+public long getSearchVersion(String groupIdentifier) {
+    return searchVersions.stamp(QueryResultCache.BY_GROUP, groupIdentifier);
 }
 
 
+	/** ------------ Decryption  ------------ */
+
+	/**
+	 * Columns read when an article is displayed. Backup and restore still read every column.
+	 */
+	static final String ARTICLE_COLUMNS = "id, title, author, description, body, groupIdentifier, keywords, other, links_misc, keyVersion";
+
+	/**
+	 * Decrypts one column of the current row with the key version recorded on the row,
+	 * using the plaintext cache so that an article viewed again is not decrypted again.
+	 */
+	private static String decryptField(ResultSet rs, String column, String groupIdentifier) throws Exception {
+		return decryptField(groupIdentifier, rs.getInt("id"), column, rs.getString(column), rs.getInt("keyVersion"));
+	}
+
+	private static String decryptField(String groupIdentifier, int id, String column, String ciphertext, int keyVersion) throws Exception {
+		if (ciphertext == null) {
+			return null;
+		}
+		String plaintext = plaintextCache.get(groupIdentifier, id, column, ciphertext);
+		if (plaintext == null) {
+			plaintext = encryptionHelper.decrypt(ciphertext, groupIdentifier, keyVersion);
+			plaintextCache.put(groupIdentifier, id, column, ciphertext, plaintext);
+		}
+		return plaintext;
+	}
+
+	/**
+	 * Returns the plaintext cache statistics, for diagnostics.
+	 */
+	public static String getPlaintextCacheStatistics() {
+		return plaintextCache.getStatistics();
+	}
+
+
 
 
 	/** ------------ Edit Article Methods (2)  ------------ */
 	
 
 	/**
-	 * Get body of article for edit.
+	 * The body of a special article together with the version it was read at. The
+	 * version is passed back to updateArticleBody to detect a concurrent edit.
+	 */
+	static class ArticleBody {
+		final String body;
+		final int version;
+		
+		ArticleBody(String body, int version) {
+			this.body = body;
+			this.version = version;
+		}
+		
+		public String getBody() {
+			return body;
+		}
+		
+		public int getVersion() {
+			return version;
+		}
+	}
+	
+	/**
+	 * Get body of article for edit. The body is decrypted with the group's key, so
+	 * only articles of that group are found.
 	 * 
+	 * @param groupIdentifier the group the article belongs to
 	 * @param id
-	 * @return
+	 * @return the body and its version, or null if the group has no article with that id
 	 * @throws Exception 
 	 */
-	public static String getArticleBodyByID(int id) throws Exception
+	public static ArticleBody getArticleBody(String groupIdentifier, int id) throws Exception
 	{
-	    String display = "";
+	    String query = "SELECT body, keyVersion, version FROM " + articleTable(groupIdentifier) + " WHERE groupIdentifier = ? AND id = ?";
 	
-	    String query = "SELECT body FROM specialArticle WHERE id = ?";
+	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	        pstmt.setString(1, groupIdentifier);
+	        pstmt.setInt(2, id);
 	
-	     try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-	            pstmt.setInt(1, id);
+	        try (ResultSet rs = pstmt.executeQuery()) {
+	            if (!rs.next()) {
+	                return null;
+	            }
+	            String body = decryptField(groupIdentifier, id, "body", rs.getString("body"), rs.getInt("keyVersion"));
+	            return new ArticleBody(body, rs.getInt("version"));
+	        }
+	    }
+	}
 	
+	/**
+	 * Replaces the body of an article if it is still at the version the editor read.
+	 * The row is first read to check its version and get its key version and old body;
+	 * the UPDATE then repeats the version check in its WHERE clause, so of two editors
+	 * working on the same version only the first one saves and the other is told of the
+	 * conflict. The body is encrypted at the key version read so that all of the row's
+	 * fields stay under one version; if the UPDATE matches nothing because a key 
+	 * rotation re-encrypted the row after the read, the read and the UPDATE are retried.
+	 * The edit is also recorded in the article's history as the change from the 
+	 * previous body, in the same transaction as the update, so a version is never saved
+	 * without its history entry.
+	 * 
+	 * @param groupIdentifier the group the article belongs to
+	 * @param id
+	 * @param body the new body
+	 * @param expectedVersion the version returned by getArticleBody
+	 * @return the new version, or -1 if the article was changed or removed since it was read
+	 * @throws Exception if there is an error encrypting or saving the body
+	 */
+	public static int updateArticleBody(String groupIdentifier, int id, String body, int expectedVersion) throws Exception
+	{ 
+	    String table = articleTable(groupIdentifier);
+	    String versionQuery = "SELECT body, keyVersion, version FROM " + table + " WHERE groupIdentifier = ? AND id = ?";
+	    String update = "UPDATE " + table + " SET body = ?, version = version + 1 "
+	    		+ "WHERE groupIdentifier = ? AND id = ? AND version = ? AND keyVersion = ?";
+	    while (true) {
+	        int keyVersion;
+	        String oldBody;
+	        try (PreparedStatement pstmt = connection.prepareStatement(versionQuery)) {
+	            pstmt.setString(1, groupIdentifier);
+	            pstmt.setInt(2, id);
 	            try (ResultSet rs = pstmt.executeQuery()) {
-	                if (!rs.next()) {
-	                    return display;
+	                if (!rs.next() || rs.getInt("version") != expectedVersion) {
+	                    return -1;
 	                }
-	
-	                String body = rs.getString("body");
-	               
-	                
-	                display += "Body: " + body + "\n";
-	                return display;
+	                keyVersion = rs.getInt("keyVersion");
+	                oldBody = decryptField(groupIdentifier, id, "body", rs.getString("body"), keyVersion);
 	            }
 	        }
-	
-	
+	        boolean saved = inTransaction(transaction -> {
+	            try (PreparedStatement pstmt = transaction.prepareStatement(update)) {
+	                pstmt.setString(1, encryptionHelper.encrypt(body, groupIdentifier, keyVersion));
+	                pstmt.setString(2, groupIdentifier);
+	                pstmt.setInt(3, id);
+	                pstmt.setInt(4, expectedVersion);
+	                pstmt.setInt(5, keyVersion);
+	                if (pstmt.executeUpdate() == 0) {
+	                    return false;
+	                }
+	            }
+	            deltaStore.on(transaction).recordEdit(groupIdentifier, id, keyVersion, oldBody, expectedVersion, body, expectedVersion + 1);
+	            return true;
+	        });
+	        if (saved) {
+	            plaintextCache.invalidateArticle(id);
+	            searchVersions.groupChanged(groupIdentifier);
+	            return expectedVersion + 1;
+	        }
+	    }
 	}
 	
 	/**
-	 * Insert text into the body of an article.
+	 * Returns the body of an article as it was at a version, rebuilt from its history.
 	 * 
+	 * @param groupIdentifier the group the article belongs to
 	 * @param id
-	 * @param body
-	 * @throws SQLException
+	 * @param version the version to show
+	 * @return the body at that version, or null if the article has no such version
+	 * @throws Exception if there is an error reading or decrypting the history
 	 */
-	public static void insertArticleBody(int id, String body) throws SQLException
-	{ 
-	    String query = "UPDATE specialArticle SET body = ? WHERE id = ?";
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-	        pstmt.setString(1, body);
-	        pstmt.setInt(2, id);
+	public static String getArticleBodyAtVersion(String groupIdentifier, int id, int version) throws Exception
+	{
+	    ArticleBody current = getArticleBody(groupIdentifier, id);
+	    if (current == null) {
+	        return null;
+	    }
+	    if (current.getVersion() == version) {
+	        return current.getBody();
+	    }
+	    return deltaStore.reconstruct(groupIdentifier, id, version);
+	}
 	
-	        try (ResultSet rs = pstmt.executeQuery()) {
-	        }
+	/**
+	 * Lists the saved versions of an article.
+	 */
+	public static String listArticleVersions(String groupIdentifier, int id) throws Exception
+	{
+	    ArticleBody current = getArticleBody(groupIdentifier, id);
+	    if (current == null) {
+	        return "";
 	    }
+	    String history = deltaStore.listVersions(groupIdentifier, id);
+	    return history.isEmpty() ? "Version: " + current.getVersion() + " (current, never edited)\n" : history;
 	}
 
 
+	/**
+	 * Adds an article read back from a backup file. The fields in a backup are already
+	 * encrypted, so they are stored as they are and decrypted only to index the article.
+	 */
 	public void restorationAdd(String title, String author, String description, String body, String groupIdentifier, 
-			String keywords, String other, String links_misc, long UID) throws SQLException
+			String keywords, String other, String links_misc, long UID, int keyVersion) throws Exception
 	{
-			String insertArticle = "INSERT INTO specialArticle (title, author, description, body, groupIdentifier, keywords, other, links_misc, uniqueID) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+			String insertArticle = "INSERT INTO " + articleTable(groupIdentifier) + " (title, author, description, body, groupIdentifier, keywords, other, links_misc, uniqueID, keyVersion) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 		
-		try (PreparedStatement pstmt = connection.prepareStatement(insertArticle))
+		try (PreparedStatement pstmt = connection.prepareStatement(insertArticle, Statement.RETURN_GENERATED_KEYS))
 		{
 			pstmt.setString(1, title);
 			pstmt.setString(2, author);
@@ -449,7 +977,12 @@ public String searchArticlesByWord(String searchTerm, String groupIdentifier) th
 		    pstmt.setString(7, other);
 		    pstmt.setString(8, links_misc);
 		    pstmt.setLong(9, UID);
+		    pstmt.setInt(10, keyVersion);
 		    pstmt.executeUpdate();
+		    String plainKeywords = encryptionHelper.decrypt(keywords, groupIdentifier, keyVersion);
+		    int id = indexInsertedArticle(pstmt, groupIdentifier, title, encryptionHelper.decrypt(description, groupIdentifier, keyVersion),
+		    		plainKeywords);
+		    articleInserted(groupIdentifier, id, title, author, plainKeywords);
 		} 
 	}
 	
@@ -477,6 +1010,10 @@ public String searchArticlesByWord(String searchTerm, String groupIdentifier) th
 			pstmt.setString(5, role);
 		    pstmt.executeUpdate();
 		} 
+		
+		if (partitioned) {
+			createPartition(groupName);
+		}
 	}
 	
 	/**
@@ -509,15 +1046,14 @@ public String searchArticlesByWord(String searchTerm, String groupIdentifier) th
 	
 	public void backupSpecialSystemToFile(String file) throws Exception
 	{
-		String backup = "SELECT * FROM specialArticle";
+	    BufferedWriter writer = new BufferedWriter(new FileWriter(file));
+	    writer.write("ID, Title, Author, Description, Body, Group Identifier, Keywords, Other, Links, Unique ID, Key Version");
+	    writer.newLine();
 	    
+	    for (String table : allArticleTables())
 	    try(Statement stmt = connection.createStatement())
 	    {
-	    	ResultSet rs = stmt.executeQuery(backup);
-	    	BufferedWriter writer = new BufferedWriter(new FileWriter(file));
-	    	
-	    	writer.write("ID, Title, Author, Description, Body, Group Identifier, Keywords, Other, Links, Unique ID");
-	        writer.newLine();
+	    	ResultSet rs = stmt.executeQuery("SELECT * FROM " + table);
 	    	
 	    	while (rs.next()) {
 	    		int id = rs.getInt("id");
@@ -530,50 +1066,40 @@ public String searchArticlesByWord(String searchTerm, String groupIdentifier) th
 	            String other = rs.getString("other");
 	            String links = rs.getString("links_misc");
 	            String uniqueID = rs.getString("uniqueID");
+	            int keyVersion = rs.getInt("keyVersion");
 	            
 	            writer.write(id + "," + title + "," + author + "," + description + "," + body + "," +
-	                         groupID + "," + keywords + "," + other + "," + links + "," + uniqueID);
+	                         groupID + "," + keywords + "," + other + "," + links + "," + uniqueID + "," + keyVersion);
 	            writer.newLine();
 	        }
 	    	
-	    	writer.close();
 	    	rs.close(); 
 	    }
+	    writer.close();
 
 	}
 	
 	
+	/**
+	 * Backs up the articles of one group as CSV, with the encrypted fields as stored.
+	 * In partitioned mode only the group's table is read. The file can be loaded back
+	 * with restoreSpecialGroupFromFile. It holds the current bodies only, not their 
+	 * edit history.
+	 * 
+	 * @param file the backup file
+	 * @param groupIdentifier the group to back up
+	 * @throws Exception if there is an error writing the file.
+	 */
 	public void backUpSpecialGroupToFile(String file, String groupIdentifier) throws Exception {
-	    String backup = "SELECT * FROM specialArticle WHERE groupIdentifier = ?";
-
-	    try (PreparedStatement pstmt = connection.prepareStatement(backup)) {
-	        pstmt.setString(1, groupIdentifier); 
-
-	        ResultSet rs = pstmt.executeQuery();
-	        BufferedWriter writer = new BufferedWriter(new FileWriter(file));
+	    String select = "SELECT id, title, author, description, body, groupIdentifier, keywords, other, links_misc, uniqueID, keyVersion FROM "
+	    		+ articleTable(groupIdentifier) + " WHERE groupIdentifier = ? ORDER BY id";
 
-	        writer.write("ID, Title, Author, Description, Body, Group Identifier, Keywords, Other, Links, Unique ID");
-	        writer.newLine();
-
-	        while (rs.next()) {
-	    		int id = rs.getInt("id");
-	            String title = rs.getString("title");
-	            String author = rs.getString("author");
-	            String description = rs.getString("description");
-	            String body = rs.getString("body");
-	            String groupID = rs.getString("groupIdentifier");
-	            String keywords = rs.getString("keywords");
-	            String other = rs.getString("other");
-	            String links = rs.getString("links_misc");
-	            String uniqueID = rs.getString("uniqueID");
-	            
-	            writer.write(id + "," + title + "," + author + "," + description + "," + body + "," +
-	                         groupID + "," + keywords + "," + other + "," + links + "," + uniqueID);
-	            writer.newLine();
+	    // Written by this client rather than with CSVWRITE, which in server mode writes on the server
+	    try (PreparedStatement pstmt = connection.prepareStatement(select)) {
+	        pstmt.setString(1, groupIdentifier);
+	        try (ResultSet rs = pstmt.executeQuery()) {
+	            new Csv().write(file, rs, null);
 	        }
-	    	
-	    	writer.close();
-	    	rs.close(); 
 	    }
 	}
 	
@@ -664,9 +1190,41 @@ public String searchArticlesByWord(String searchTerm, String groupIdentifier) th
 	}
 	
 	
+	/**
+	 * Loads the rights a user holds in every special access group into their session
+	 * with a single query, so the special screens can check rights without going back
+	 * to the database on every action.
+	 *
+	 * @param session the session of the user whose rights are loaded.
+	 * @throws SQLException if there is an error executing the query.
+	 */
+	public static void loadGroupRights(UserSession session) throws SQLException
+	{
+		Map<String, UserSession.GroupRights> rights = new HashMap<>();
+		String query = "SELECT groupName, adminRights, viewingRights FROM specialUsers WHERE username = ? ";
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			pstmt.setString(1, session.getUsername());
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					String groupName = rs.getString("groupName");
+					boolean admin = rs.getBoolean("adminRights");
+					boolean viewing = rs.getBoolean("viewingRights");
+					UserSession.GroupRights existing = rights.get(groupName);
+					if (existing == null) {
+						rights.put(groupName, new UserSession.GroupRights(admin, viewing));
+					} else {
+						existing.merge(admin, viewing);
+					}
+				}
+			}
+		}
+		session.setGroupRights(rights);
+	}
+
+
 	/**
 	 * @paramas username, username of the user
-	 * @params groupName, group name of the user to whom admin rights are being provided to. 
+	 * @params groupName, group name of the user to whom admin rights are being provided to.
 
 	 * */
 	public String giveAdminAccess(String username, String groupName) throws SQLException
@@ -727,6 +1285,8 @@ public String searchArticlesByWord(String searchTerm, String groupIdentifier) th
 	
 	/**
 	 * Adds encrypted version of article to database. Only available to those that have special access rights. 
+	 * The description, body, keywords, other and links are encrypted with the group's key; the title,
+	 * author and group stay readable so articles can be listed without decrypting them.
 	 * 
 	 * @param title Title of the article 
 	 * @param description Description of the article
@@ -747,22 +1307,99 @@ public String searchArticlesByWord(String searchTerm, String groupIdentifier) th
 		String UID = String.valueOf(uniqueID);
 			
 		
-		String insertArticle = "INSERT INTO specialArticle (title, author, description, body, groupIdentifier, keywords, other, links_misc, uniqueID) "
-				+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+		int keyVersion = getCurrentKeyVersion(groupIdentifier);
+		String insertArticle = "INSERT INTO " + articleTable(groupIdentifier) + " (title, author, description, body, groupIdentifier, keywords, other, links_misc, uniqueID, keyVersion) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 		
-		try (PreparedStatement pstmt = connection.prepareStatement(insertArticle))
-		{
-			pstmt.setString(1, title);
-			pstmt.setString(2, author);
-			pstmt.setString(3, description);
-			pstmt.setString(4, body);
-			pstmt.setString(5, groupIdentifier);
-		    pstmt.setString(6, keywords);
-		    pstmt.setString(7, other);
-		    pstmt.setString(8, links);
-		    pstmt.setLong(9, uniqueID);
-		    pstmt.executeUpdate();
-		} 
+		// The article and its search tokens are written together
+		int id = inTransaction(transaction -> {
+			try (PreparedStatement pstmt = transaction.prepareStatement(insertArticle, Statement.RETURN_GENERATED_KEYS))
+			{
+				pstmt.setString(1, title);
+				pstmt.setString(2, author);
+				pstmt.setString(3, encryptionHelper.encrypt(description, groupIdentifier, keyVersion));
+				pstmt.setString(4, encryptionHelper.encrypt(body, groupIdentifier, keyVersion));
+				pstmt.setString(5, groupIdentifier);
+			    pstmt.setString(6, encryptionHelper.encrypt(keywords, groupIdentifier, keyVersion));
+			    pstmt.setString(7, encryptionHelper.encrypt(other, groupIdentifier, keyVersion));
+			    pstmt.setString(8, encryptionHelper.encrypt(links, groupIdentifier, keyVersion));
+			    pstmt.setLong(9, uniqueID);
+			    pstmt.setInt(10, keyVersion);
+			    pstmt.executeUpdate();
+			    return indexInsertedArticle(pstmt, groupIdentifier, title, description, keywords);
+			} 
+		});
+		// Only a committed article is offered as a completion
+		articleInserted(groupIdentifier, id, title, author, keywords);
+	}
+	
+	/**
+	 * Adds the article just inserted by the statement to the search index, through the
+	 * statement's connection, so it is written in the same transaction as the article.
+	 * 
+	 * @return the id of the article, or -1 if the insert returned none.
+	 */
+	private int indexInsertedArticle(PreparedStatement pstmt, String groupIdentifier, String title,
+			String description, String keywords) throws Exception
+	{
+		try (ResultSet keys = pstmt.getGeneratedKeys()) {
+			if (!keys.next()) {
+				return -1;
+			}
+			searchIndex.on(pstmt.getConnection()).indexArticle(groupIdentifier, keys.getInt(1), title, description, keywords);
+			return keys.getInt(1);
+		}
+	}
+
+	/**
+	 * Adds a stored article to the group's autocomplete and marks the group's search
+	 * results as changed. Called once the insert is committed, so a rolled back article
+	 * never shows up in either.
+	 */
+	private void articleInserted(String groupIdentifier, int id, String title, String author, String keywords)
+	{
+		if (id < 0) {
+			return;
+		}
+		getCompletions(groupIdentifier).put(id, title, author, keywords);
+		searchVersions.groupChanged(groupIdentifier);
+	}
+
+	/**
+	 * Returns the autocomplete of the titles, authors and plaintext keywords of a
+	 * group's articles. It lives in memory only, like the decrypted keywords it holds.
+	 *
+	 * @param groupIdentifier the group.
+	 */
+	public ArticleCompletions getCompletions(String groupIdentifier)
+	{
+		return completions.computeIfAbsent(groupIdentifier, group -> new ArticleCompletions());
+	}
+
+	/**
+	 * Builds the autocomplete of every group from the articles already stored, which
+	 * also warms the plaintext cache with their keywords. Run in the background after
+	 * startup; only kept data has anything to load.
+	 *
+	 * @return the number of articles loaded.
+	 * @throws Exception if there is an error reading or decrypting the articles.
+	 */
+	public int warmUp() throws Exception
+	{
+		int loaded = 0;
+		for (String table : allArticleTables()) {
+			String query = "SELECT id, title, author, groupIdentifier, keywords, keyVersion FROM " + table;
+			try (PreparedStatement pstmt = connection.prepareStatement(query);
+					ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					String group = rs.getString("groupIdentifier");
+					getCompletions(group).put(rs.getInt("id"), rs.getString("title"), rs.getString("author"),
+							decryptField(rs, "keywords", group));
+					loaded++;
+				}
+			}
+		}
+		return loaded;
 	}
 
 	
@@ -923,20 +1560,42 @@ public String searchArticlesByWord(String searchTerm, String groupIdentifier) th
 	
 	
 	//Deletes special article
-	public void deleteSpecialArticle(int id) throws Exception
+	public void deleteSpecialArticle(String groupIdentifier, int id) throws Exception
 	{
-		String removeArticle = "DELETE FROM specialArticle WHERE id = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(removeArticle))
-		{
-			pstmt.setInt(1, id);
-			pstmt.executeUpdate();
-		}
+		String removeArticle = "DELETE FROM " + articleTable(groupIdentifier) + " WHERE groupIdentifier = ? AND id = ?";
+		// The article, its search tokens and its history go together
+		inTransaction(transaction -> {
+			try (PreparedStatement pstmt = transaction.prepareStatement(removeArticle))
+			{
+				pstmt.setString(1, groupIdentifier);
+				pstmt.setInt(2, id);
+				pstmt.executeUpdate();
+			}
+			searchIndex.on(transaction).removeArticle(id);
+			deltaStore.on(transaction).removeArticle(id);
+			return null;
+		});
+		getCompletions(groupIdentifier).remove(id);
+		plaintextCache.invalidateArticle(id);
+		searchVersions.groupChanged(groupIdentifier);
 	        
 	}
 	
-	/*** Deletes a specific user given an id*/
+	/*** Deletes a specific user given an id. Cached plaintext of the groups the user
+	 * belonged to is dropped, so nothing they could read stays decrypted in memory. */
 	public void deleteSpecialUser(String username) throws Exception
 	{
+		String groups = "SELECT DISTINCT groupName FROM specialUsers WHERE username = ?";
+		try (PreparedStatement pstmt = connection.prepareStatement(groups))
+		{
+			pstmt.setString(1, username);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					plaintextCache.clearGroup(rs.getString("groupName"));
+				}
+			}
+		}
+		
 		String removeArticle = "DELETE FROM specialUsers WHERE username = ?";
 		try (PreparedStatement pstmt = connection.prepareStatement(removeArticle))
 		{
@@ -985,6 +1644,220 @@ public String searchArticlesByWord(String searchTerm, String groupIdentifier) th
 	
 	
 	
+	/** ------------ Key Rotation  ------------ */
+	
+	/**
+	 * Returns the key version new articles of a group are encrypted under.
+	 * 
+	 * @param groupIdentifier the group
+	 * @return the current key version, 1 if the group's key was never rotated
+	 * @throws SQLException if there is an error executing the query.
+	 */
+	public static int getCurrentKeyVersion(String groupIdentifier) throws SQLException
+	{
+		String query = "SELECT currentVersion FROM specialGroupKeys WHERE groupIdentifier = ?";
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			pstmt.setString(1, groupIdentifier);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				return rs.next() ? rs.getInt("currentVersion") : 1;
+			}
+		}
+	}
+	
+	/**
+	 * Moves a group to a new key version and starts re-encrypting its articles in the
+	 * background. New articles use the new version straight away; existing articles stay
+	 * readable under their recorded version until the job reaches them.
+	 * 
+	 * @param groupIdentifier the group whose key is rotated
+	 * @return a status message
+	 * @throws SQLException if there is an error executing SQL commands.
+	 */
+	public synchronized String startKeyRotation(String groupIdentifier) throws SQLException
+	{
+		KeyRotationJob running = rotationJobs.get(groupIdentifier);
+		if (running != null && !running.isFinished()) {
+			return "A key rotation is already running for " + groupIdentifier + ".\n" + getKeyRotationStatus(groupIdentifier);
+		}
+		
+		int newVersion = getCurrentKeyVersion(groupIdentifier) + 1;
+		String merge = "MERGE INTO specialGroupKeys (groupIdentifier, currentVersion) KEY (groupIdentifier) VALUES (?, ?)";
+		boolean claimed = inTransaction(transaction -> {
+			if (!claimNewRotation(transaction, groupIdentifier, newVersion)) {
+				return false;
+			}
+			try (PreparedStatement pstmt = transaction.prepareStatement(merge)) {
+				pstmt.setString(1, groupIdentifier);
+				pstmt.setInt(2, newVersion);
+				pstmt.executeUpdate();
+			}
+			return true;
+		});
+		if (!claimed) {
+			return "A key rotation is already running for " + groupIdentifier + " on another client.\n" + getKeyRotationStatus(groupIdentifier);
+		}
+		queueRotation(groupIdentifier, newVersion);
+		return "Key rotation to version " + newVersion + " started for " + groupIdentifier + ".";
+	}
+	
+	/**
+	 * Records a new rotation of a group as running and owned by this client, unless the
+	 * latest rotation of the group is running on another client. Two clients claiming 
+	 * the same version at once both insert its row, and the primary key turns one away.
+	 * 
+	 * @param transaction the connection of the transaction that moves the key version.
+	 * @return true if the rotation was recorded for this client.
+	 */
+	private boolean claimNewRotation(Connection transaction, String groupIdentifier, int targetVersion) throws SQLException
+	{
+		String running = "SELECT COUNT(*) FROM keyRotationJobs jobs WHERE groupIdentifier = ? AND status = ? "
+				+ "AND " + OWNED_BY_OTHER_CLIENT + " AND targetVersion = (SELECT MAX(targetVersion) "
+				+ "FROM keyRotationJobs latest WHERE latest.groupIdentifier = jobs.groupIdentifier)";
+		try (PreparedStatement pstmt = transaction.prepareStatement(running)) {
+			pstmt.setString(1, groupIdentifier);
+			pstmt.setString(2, KeyRotationJob.STATUS_RUNNING);
+			bindOwnedByOtherClient(pstmt, 3);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				if (rs.next() && rs.getInt(1) > 0) {
+					return false;
+				}
+			}
+		}
+		
+		String insert = "INSERT INTO keyRotationJobs (groupIdentifier, targetVersion, lastId, processed, total, status, updatedAt, owner) "
+				+ "VALUES (?, ?, 0, 0, 0, ?, CURRENT_TIMESTAMP, ?)";
+		try (PreparedStatement pstmt = transaction.prepareStatement(insert)) {
+			pstmt.setString(1, groupIdentifier);
+			pstmt.setInt(2, targetVersion);
+			pstmt.setString(3, KeyRotationJob.STATUS_RUNNING);
+			pstmt.setString(4, ClientStatistics.clientId());
+			pstmt.executeUpdate();
+		} catch (SQLException se) {
+			if (DUPLICATE_KEY.equals(se.getSQLState())) {
+				return false;
+			}
+			throw se;
+		}
+		return true;
+	}
+	
+	/**
+	 * Sets the parameters of OWNED_BY_OTHER_CLIENT starting at the given index. Only in
+	 * server mode can another client own a rotation; an embedded store has one client.
+	 */
+	private static void bindOwnedByOtherClient(PreparedStatement pstmt, int index) throws SQLException
+	{
+		pstmt.setBoolean(index, getStorage().isServer());
+		pstmt.setString(index + 1, ClientStatistics.clientId());
+		pstmt.setTimestamp(index + 2, new Timestamp(System.currentTimeMillis() - ClientStatistics.STALE_AFTER_MILLIS));
+	}
+	
+	/**
+	 * Asks the running key rotation of a group to stop after its current batch.
+	 */
+	public void stopKeyRotation(String groupIdentifier)
+	{
+		KeyRotationJob running = rotationJobs.get(groupIdentifier);
+		if (running != null) {
+			running.stop();
+		}
+	}
+	
+	/**
+	 * Returns the progress of the latest key rotation of a group.
+	 * 
+	 * @param groupIdentifier the group
+	 * @return the status message
+	 * @throws SQLException if there is an error executing the query.
+	 */
+	public String getKeyRotationStatus(String groupIdentifier) throws SQLException
+	{
+		String display = "Group: " + groupIdentifier + "\n";
+		display += "Current Key Version: " + getCurrentKeyVersion(groupIdentifier) + "\n";
+		
+		String query = "SELECT targetVersion, processed, total, status, updatedAt FROM keyRotationJobs WHERE groupIdentifier = ? "
+				+ "ORDER BY targetVersion DESC LIMIT 1";
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			pstmt.setString(1, groupIdentifier);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				if (!rs.next()) {
+					return display + "No key rotation has been run.\n";
+				}
+				display += "Rotating To Version: " + rs.getInt("targetVersion") + "\n";
+				display += "Status: " + rs.getString("status") + "\n";
+				display += "Articles And History Entries Rotated: " + rs.getInt("processed") + " of " + rs.getInt("total") + "\n";
+				display += "Last Updated: " + rs.getTimestamp("updatedAt") + "\n";
+			}
+		}
+		return display;
+	}
+	
+	/**
+	 * Restarts the rotations that were running or paused when the application closed.
+	 * Each continues after the last article it saved. Only the latest rotation of a 
+	 * group is resumed; it re-encrypts every older row, so an earlier one left paused 
+	 * has nothing of its own left to do. A rotation is first claimed for this client, 
+	 * so when clients share the store only one of them resumes it, and a rotation that 
+	 * cannot be resumed never stops the connect.
+	 */
+	private void resumeKeyRotations()
+	{
+		String query = "SELECT groupIdentifier, targetVersion FROM keyRotationJobs jobs WHERE status IN (?, ?) "
+				+ "AND targetVersion = (SELECT MAX(targetVersion) FROM keyRotationJobs latest "
+				+ "WHERE latest.groupIdentifier = jobs.groupIdentifier)";
+		String claim = "UPDATE keyRotationJobs SET owner = ? WHERE groupIdentifier = ? AND targetVersion = ? "
+				+ "AND status IN (?, ?) AND NOT " + OWNED_BY_OTHER_CLIENT;
+		try {
+			Map<String, Integer> saved = new HashMap<>();
+			try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+				pstmt.setString(1, KeyRotationJob.STATUS_RUNNING);
+				pstmt.setString(2, KeyRotationJob.STATUS_PAUSED);
+				try (ResultSet rs = pstmt.executeQuery()) {
+					while (rs.next()) {
+						saved.put(rs.getString("groupIdentifier"), rs.getInt("targetVersion"));
+					}
+				}
+			}
+			
+			for (Map.Entry<String, Integer> rotation : saved.entrySet()) {
+				try (PreparedStatement pstmt = connection.prepareStatement(claim)) {
+					pstmt.setString(1, ClientStatistics.clientId());
+					pstmt.setString(2, rotation.getKey());
+					pstmt.setInt(3, rotation.getValue());
+					pstmt.setString(4, KeyRotationJob.STATUS_RUNNING);
+					pstmt.setString(5, KeyRotationJob.STATUS_PAUSED);
+					bindOwnedByOtherClient(pstmt, 6);
+					if (pstmt.executeUpdate() == 1) {
+						queueRotation(rotation.getKey(), rotation.getValue());
+					}
+				}
+			}
+		} catch (SQLException se) {
+			System.err.println("Key rotations could not be resumed: " + se.getMessage());
+			se.printStackTrace();
+		}
+	}
+	
+	/**
+	 * Queues a rotation on the rotation thread. It borrows a pooled connection only while 
+	 * it runs, so its batches commit on their own and queued rotations hold no connection.
+	 */
+	private void queueRotation(String groupIdentifier, int targetVersion) throws SQLException
+	{
+		KeyRotationJob job = new KeyRotationJob(encryptionHelper, groupIdentifier, articleTable(groupIdentifier), targetVersion);
+		rotationJobs.put(groupIdentifier, job);
+		rotationExecutor.execute(() -> {
+			try (Connection jobConnection = borrowConnection()) {
+				job.run(jobConnection);
+			} catch (SQLException se) {
+				// Never started, so it is left saved for the next connect to resume
+				rotationJobs.remove(groupIdentifier, job);
+				se.printStackTrace();
+			}
+		});
+	}
+	
+	
 	/** ------------ Close Database Connection  ------------ */
 	
 	/**
@@ -992,16 +1865,15 @@ public String searchArticlesByWord(String searchTerm, String groupIdentifier) th
 	 * This method is important for resource management to prevent memory leaks.
 	 */
 	public void closeConnection() {
+		for (KeyRotationJob job : rotationJobs.values()) {
+			job.stop();
+		}
 		try{ 
 			if(statement!=null) statement.close(); 
 		} catch(SQLException se2) { 
 			se2.printStackTrace();
 		} 
-		try { 
-			if(connection!=null) connection.close(); 
-		} catch(SQLException se){ 
-			se.printStackTrace(); 
-		} 
+		closeSharedConnection();
 	}
 	
 }
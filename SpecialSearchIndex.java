@@ -0,0 +1,195 @@
+/**
+ * The SpecialSearchIndex class keeps a search index for the encrypted articles of the
+ * special access groups. Every word of an article's title, description and keywords
+ * is stored as a keyed token of its group, never as plaintext, so an article can be
+ * found by a word with one indexed lookup instead of decrypting the whole group.
+ *
+ * Responsibilities:
+ * - Create the specialSearchIndex table, keyed by group first so each group's tokens
+ *   form their own range of the index.
+ * - Split text into normalized terms.
+ * - Add, replace and remove the tokens of an article.
+ * - Find the ids of the articles of a group that contain every word of a search,
+ *   reading only that group's part of the index.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import Encryption.EncryptionHelper;
+
+
+class SpecialSearchIndex {
+
+	/** ------------ Declarations  ------------ */
+
+	private final Connection connection;
+	private final EncryptionHelper encryptionHelper;
+
+
+	SpecialSearchIndex(Connection connection, EncryptionHelper encryptionHelper) {
+		this.connection = connection;
+		this.encryptionHelper = encryptionHelper;
+	}
+
+	/**
+	 * Returns an index that writes through another connection, such as the one of
+	 * a transaction.
+	 */
+	SpecialSearchIndex on(Connection other) {
+		return new SpecialSearchIndex(other, encryptionHelper);
+	}
+
+
+	/** ------------ Create Table  ------------ */
+
+	/**
+	 * Creates the index table. Like specialArticle it is rebuilt on every start,
+	 * unless StorageConfig.KEEP_DATA_PROPERTY is set.
+	 *
+	 * @throws SQLException if there is an error executing SQL commands.
+	 */
+	public void createTable() throws SQLException {
+		try (Statement stmt = connection.createStatement()) {
+			if (!DatabaseCore.getStorage().keepsData()) {
+				stmt.execute("DROP TABLE IF EXISTS specialSearchIndex");
+			}
+			stmt.execute("CREATE TABLE IF NOT EXISTS specialSearchIndex ("
+					+ "groupIdentifier VARCHAR(100) NOT NULL, "
+					+ "token VARCHAR(32) NOT NULL, "
+					+ "articleId INT NOT NULL, "
+					+ "PRIMARY KEY (groupIdentifier, token, articleId))");
+			stmt.execute("CREATE INDEX IF NOT EXISTS specialSearchIndexArticle ON specialSearchIndex (articleId)");
+		}
+	}
+
+
+	/** ------------ Terms  ------------ */
+
+	/**
+	 * Splits text into lower case words, dropping punctuation and repeats.
+	 *
+	 * @param text the text to split, may be null.
+	 * @return the distinct terms in the order they appear.
+	 */
+	static Set<String> terms(String text) {
+		Set<String> terms = new LinkedHashSet<>();
+		if (text == null) {
+			return terms;
+		}
+		for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+			if (!word.isEmpty()) {
+				terms.add(word);
+			}
+		}
+		return terms;
+	}
+
+
+	/** ------------ Maintain  ------------ */
+
+	/**
+	 * Indexes an article, replacing any tokens it already had.
+	 *
+	 * @param groupIdentifier the group the article belongs to.
+	 * @param articleId the id of the article.
+	 * @param title the plaintext title.
+	 * @param description the plaintext description.
+	 * @param keywords the plaintext keywords.
+	 * @throws Exception if there is an error computing tokens or writing the index.
+	 */
+	public void indexArticle(String groupIdentifier, int articleId, String title, String description, String keywords) throws Exception {
+		Set<String> terms = terms(title);
+		terms.addAll(terms(description));
+		terms.addAll(terms(keywords));
+
+		removeArticle(articleId);
+		String insert = "INSERT INTO specialSearchIndex (groupIdentifier, token, articleId) VALUES (?, ?, ?)";
+		try (PreparedStatement pstmt = connection.prepareStatement(insert)) {
+			for (String term : terms) {
+				pstmt.setString(1, groupIdentifier);
+				pstmt.setString(2, encryptionHelper.searchToken(term, groupIdentifier));
+				pstmt.setInt(3, articleId);
+				pstmt.addBatch();
+			}
+			pstmt.executeBatch();
+		}
+	}
+
+	/**
+	 * Removes every token of an article.
+	 *
+	 * @param articleId the id of the article.
+	 * @throws SQLException if there is an error executing the delete.
+	 */
+	public void removeArticle(int articleId) throws SQLException {
+		try (PreparedStatement pstmt = connection.prepareStatement("DELETE FROM specialSearchIndex WHERE articleId = ?")) {
+			pstmt.setInt(1, articleId);
+			pstmt.executeUpdate();
+		}
+	}
+
+
+	/**
+	 * Removes every token of a group, a range delete on the primary key.
+	 *
+	 * @param groupIdentifier the group whose tokens are removed.
+	 * @throws SQLException if there is an error executing the delete.
+	 */
+	public void removeGroup(String groupIdentifier) throws SQLException {
+		try (PreparedStatement pstmt = connection.prepareStatement("DELETE FROM specialSearchIndex WHERE groupIdentifier = ?")) {
+			pstmt.setString(1, groupIdentifier);
+			pstmt.executeUpdate();
+		}
+	}
+
+
+	/** ------------ Search  ------------ */
+
+	/**
+	 * Finds the articles of a group that contain every word of the search. All the
+	 * words are matched in one query that only reads the group's range of the index,
+	 * so the cost depends on the group's size rather than on every special article.
+	 *
+	 * @param searchTerm the words to search for.
+	 * @param groupIdentifier the group being searched.
+	 * @return the ids of the matching articles in id order, empty if none match.
+	 * @throws Exception if there is an error computing tokens or reading the index.
+	 */
+	public Set<Integer> findArticleIds(String searchTerm, String groupIdentifier) throws Exception {
+		Set<Integer> matches = new LinkedHashSet<>();
+		Set<String> terms = terms(searchTerm);
+		if (terms.isEmpty()) {
+			return matches;
+		}
+
+		String placeholders = String.join(", ", Collections.nCopies(terms.size(), "?"));
+		String query = "SELECT articleId FROM specialSearchIndex WHERE groupIdentifier = ? AND token IN (" + placeholders + ") "
+				+ "GROUP BY articleId HAVING COUNT(*) = ? ORDER BY articleId";
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			int index = 1;
+			pstmt.setString(index++, groupIdentifier);
+			for (String term : terms) {
+				pstmt.setString(index++, encryptionHelper.searchToken(term, groupIdentifier));
+			}
+			pstmt.setInt(index, terms.size());
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					matches.add(rs.getInt("articleId"));
+				}
+			}
+		}
+		return matches;
+	}
+}
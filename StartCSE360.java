@@ -19,20 +19,26 @@
 package simpleDatabase;
 
 
+import javafx.animation.AnimationTimer;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Application;
+import javafx.concurrent.Task;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import javafx.util.Pair;
-import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.sql.Date;
+import java.sql.Timestamp;
 
 /**
  * The StartCSE360 class represents the main entry point for the CSE 360 application.
@@ -41,6 +47,16 @@ import java.sql.Date;
 public class StartCSE360 extends Application {
     private DatabaseHelper databaseHelper;
     private SpecialAccessGroups accessGroups;
+    private UserSession session;
+
+    /** The check for other clients' changes still running, if any. */
+    private Task<Boolean> pendingSync;
+
+    /** When the application was launched, for the startup timings. */
+    private static final long LAUNCH_NANOS = System.nanoTime();
+
+    /** How often a client in server mode looks for other clients' changes. */
+    private static final Duration SYNC_INTERVAL = Duration.seconds(5);
 
     /**
      * Constructor to initialize the DatabaseHelper.
@@ -54,16 +70,15 @@ public class StartCSE360 extends Application {
 	/** ------------ Start Method for GUI  ------------ */
 
     /**
-     * The start method is the main entry point for JavaFX applications.
+     * The start method is the main entry point for JavaFX applications. The welcome 
+     * window is shown first and the database is opened in the background; the buttons 
+     * are enabled once it is ready, and the search suggestions are warmed after that.
      *
      * @param primaryStage the primary stage for this application
      * @throws SQLException 
      */
     @Override
     public void start(Stage primaryStage) throws SQLException {
-    	databaseHelper.connectToDatabase();
-    	accessGroups.connectToDatabase();
-    	
         primaryStage.setTitle("CSE 360 - Welcome Page");
 
         /** Layout */
@@ -94,16 +109,96 @@ public class StartCSE360 extends Application {
         studentRegisterButton.setOnAction(e -> studentRegister());
         instructorRegisterButton.setOnAction(e -> instructorRegister());
 
-        // Add buttons to the layout
-        layout.getChildren().addAll(adminButton, instructorButton, studentButton, specialLoginButton, adminRegisterButton, studentRegisterButton, instructorRegisterButton);
+        // Add buttons to the layout; they wait for the database
+        VBox menu = new VBox(10, adminButton, instructorButton, studentButton, specialLoginButton, adminRegisterButton, studentRegisterButton, instructorRegisterButton);
+        menu.setDisable(true);
+        Label startupStatus = new Label("Opening the database...");
+        layout.getChildren().addAll(menu, startupStatus);
 
         // Create the scene
-        Scene scene = new Scene(layout, 300, 300);
+        Scene scene = new Scene(layout, 300, 330);
         primaryStage.setScene(scene);
         primaryStage.show();
-        if(databaseHelper.isDatabaseEmpty()) {
-        	adminRegister();
-        }
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stop();
+                System.out.println("First frame after " + millisSinceLaunch() + " ms");
+            }
+        }.start();
+
+        DatabaseTasks.run(() -> {
+            databaseHelper.connectToDatabase();
+            accessGroups.connectToDatabase();
+            return databaseHelper.isDatabaseEmpty();
+        }, empty -> {
+            long readyMillis = millisSinceLaunch();
+            System.out.println("Database ready after " + readyMillis + " ms");
+            menu.setDisable(false);
+            startupStatus.setText("Ready");
+            warmUp(startupStatus);
+            if (DatabaseCore.getStorage().isServer()) {
+                syncWithOtherClients();
+            }
+            if (empty) {
+                adminRegister();
+            }
+        }, error -> {
+            startupStatus.setText("The database could not be opened.");
+            showErrorDialog("Startup Error", "The database could not be opened.", error.getMessage());
+        });
+    }
+
+    /**
+     * Loads the search suggestions of the special groups on the database thread, like 
+     * every other piece of database work, once the connect before it has finished.
+     * 
+     * @param startupStatus the label that shows when the warm-up is done.
+     */
+    private void warmUp(Label startupStatus) {
+        DatabaseTasks.run(() -> accessGroups.warmUp(), loaded -> {
+            long warmMillis = millisSinceLaunch();
+            System.out.println("Warm-up loaded " + loaded + " special articles after " + warmMillis + " ms");
+            startupStatus.setText("Ready, search suggestions loaded");
+        }, error -> {
+            System.out.println("Warm-up failed: " + error.getMessage());
+            startupStatus.setText("Ready, search suggestions could not be loaded");
+        });
+    }
+
+    /**
+     * Checks for other clients' changes every SYNC_INTERVAL on the database thread, 
+     * so the articles shown stay current when several clients share the store. A check 
+     * is skipped while the previous one is still waiting behind other database work.
+     */
+    private void syncWithOtherClients() {
+        Timeline sync = new Timeline(new KeyFrame(SYNC_INTERVAL, e -> {
+            if (pendingSync != null && !pendingSync.isDone()) {
+                return;
+            }
+            pendingSync = DatabaseTasks.run(
+                    () -> databaseHelper.syncWithOtherClients(),
+                    changed -> {
+                        if (changed) {
+                            System.out.println("Reloaded the articles after changes by another client");
+                        }
+                    },
+                    Throwable::printStackTrace);
+        }));
+        sync.setCycleCount(Timeline.INDEFINITE);
+        sync.play();
+    }
+
+    /**
+     * Removes this client from the client statistics when the application exits.
+     */
+    @Override
+    public void stop() {
+        ClientStatistics.unregister(DatabaseCore.getConnection());
+    }
+
+    private static long millisSinceLaunch() {
+        return (System.nanoTime() - LAUNCH_NANOS) / 1000000;
     }
     
 	/** ------------ Admin Methods  ------------ */
@@ -132,16 +227,19 @@ public class StartCSE360 extends Application {
             String username = usernameField.getText();
             String password = passwordField.getText();
             /** Validate credentials (implement login logic) */
-            try {
-				if (databaseHelper.login(username, password, "admin")) {
-				    adminHome();
-				    loginStage.close();
-				} else {
-				    showAlert("Error", "Invalid credentials!");
-				}
-			} catch (SQLException e1) {
-				e1.printStackTrace();
-			}
+            DatabaseTasks.run(() -> databaseHelper.startSession(username, password), loggedIn -> {
+                if (loggedIn != null && loggedIn.hasRole("admin")) {
+                    session = loggedIn;
+                    try {
+                        adminHome();
+                    } catch (SQLException e1) {
+                        e1.printStackTrace();
+                    }
+                    loginStage.close();
+                } else {
+                    showAlert("Error", "Invalid credentials!");
+                }
+            }, error -> showErrorDialog("Login Error", "The login could not be checked.", error.getMessage()));
         });
 
         backButton.setOnAction(e -> {
@@ -194,17 +292,15 @@ public class StartCSE360 extends Application {
     		String skillLevel = "Intermediate";
     		if(password.compareTo(password2) == 0) {
     			/** Validate and register admin (implement registration logic) */
-                try {
-					if (databaseHelper.register(username, password, "admin", email, fullName, prefName, false, expire, skillLevel)) {
-					    showAlert("Success", "Admin registered successfully!");
-					    registerStage.close();
-					} else {
-					    showAlert("Error", "Registration failed!");
-					}
-				} catch (SQLException e1) {
-					
-					e1.printStackTrace();
-				}
+                DatabaseTasks.run(() -> databaseHelper.register(username, password, "admin", email, fullName, prefName, false, expire, skillLevel),
+                        registered -> {
+                            if (registered) {
+                                showAlert("Success", "Admin registered successfully!");
+                                registerStage.close();
+                            } else {
+                                showAlert("Error", "Registration failed! The username may already be taken.");
+                            }
+                        }, error -> showErrorDialog("Registration Error", "The admin could not be registered.", error.getMessage()));
     		}else {
     			showAlert("Error", "Passwords must match");
     		}
@@ -250,17 +346,15 @@ public class StartCSE360 extends Application {
             String username = usernameField.getText();
             String password = passwordField.getText();
             /** Validate credentials (implement login logic) */
-            try {
-				if (databaseHelper.login(username, password, "student")) {
-				    studentHome();
-				    studentStage.close();
-				} else {
-				    showAlert("Error", "Invalid credentials!");
-				}
-			} catch (SQLException e1) {
-				
-				e1.printStackTrace();
-			}
+            DatabaseTasks.run(() -> databaseHelper.startSession(username, password), loggedIn -> {
+                if (loggedIn != null && loggedIn.hasRole("student")) {
+                    session = loggedIn;
+                    studentHome();
+                    studentStage.close();
+                } else {
+                    showAlert("Error", "Invalid credentials!");
+                }
+            }, error -> showErrorDialog("Login Error", "The login could not be checked.", error.getMessage()));
         });
 
         backButton.setOnAction(e -> {
@@ -316,23 +410,20 @@ public class StartCSE360 extends Application {
             String prefName = prefNameField.getText();
             Date expire = null;
             String skillLevel = "Intermediate";
-            if(prefName.compareTo("") == 0) {
-            	prefName = "N/A";
-            }
+            String preferredName = prefName.compareTo("") == 0 ? "N/A" : prefName;
             if(password.compareTo(password2) == 0) {
             	/** Validate credentials (implement login logic) */
-                try {
-					if (databaseHelper.register(username, password, "student", email, 
-							fullName, prefName, false, expire, skillLevel)) {
-					    studentHome();
-					    studentStage.close();
-					} else {
-					    showAlert("Error", "Invalid credentials!");
-					}
-				} catch (SQLException e1) {
-
-					e1.printStackTrace();
-				}
+                DatabaseTasks.run(() -> databaseHelper.register(username, password, "student", email,
+                        fullName, preferredName, false, expire, skillLevel) ? databaseHelper.startSession(username, password) : null,
+                        registered -> {
+                            if (registered != null) {
+                                session = registered;
+                                studentHome();
+                                studentStage.close();
+                            } else {
+                                showAlert("Error", "Registration failed! The username may already be taken.");
+                            }
+                        }, error -> showErrorDialog("Registration Error", "The student could not be registered.", error.getMessage()));
             }else {
             	showAlert("Error", "Passwords must match");
             }
@@ -391,23 +482,20 @@ public class StartCSE360 extends Application {
             String prefName = prefNameField.getText();
             Date expire = null;
             String skillLevel = "Intermediate";
-            if(prefName.compareTo("") == 0) {
-            	prefName = "N/A";
-            }
+            String preferredName = prefName.compareTo("") == 0 ? "N/A" : prefName;
             if(password.compareTo(password2) == 0) {
             	/** Validate credentials (implement register logic) */
-                try {
-					if (databaseHelper.register(username, password, "instructor", email, 
-							fullName, prefName, false, expire, skillLevel)) {
-					    instructorHome();
-					    instructorStage.close();
-					} else {
-					    showAlert("Error", "Invalid credentials!");
-					}
-				} catch (SQLException e1) {
-				
-					e1.printStackTrace();
-				}
+                DatabaseTasks.run(() -> databaseHelper.register(username, password, "instructor", email,
+                        fullName, preferredName, false, expire, skillLevel) ? databaseHelper.startSession(username, password) : null,
+                        registered -> {
+                            if (registered != null) {
+                                session = registered;
+                                instructorHome();
+                                instructorStage.close();
+                            } else {
+                                showAlert("Error", "Registration failed! The username may already be taken.");
+                            }
+                        }, error -> showErrorDialog("Registration Error", "The instructor could not be registered.", error.getMessage()));
             }else {
             	showAlert("Error", "Passwords must match");
             }
@@ -449,16 +537,15 @@ public class StartCSE360 extends Application {
             String username = usernameField.getText();
             String password = passwordField.getText();
             /** Validate credentials (implement login logic) */
-            try {
-				if (databaseHelper.login(username, password, "instructor")) {
-				    instructorHome();
-				    instructorStage.close();
-				} else {
-				    showAlert("Error", "Invalid credentials!");
-				}
-			} catch (SQLException e1) {
-				e1.printStackTrace();
-			}
+            DatabaseTasks.run(() -> databaseHelper.startSession(username, password), loggedIn -> {
+                if (loggedIn != null && loggedIn.hasRole("instructor")) {
+                    session = loggedIn;
+                    instructorHome();
+                    instructorStage.close();
+                } else {
+                    showAlert("Error", "Invalid credentials!");
+                }
+            }, error -> showErrorDialog("Login Error", "The login could not be checked.", error.getMessage()));
         });
 
         backButton.setOnAction(e -> {
@@ -497,18 +584,23 @@ public class StartCSE360 extends Application {
         Button changeUserRoleButton = new Button("Change a User's Role");
         Button manageArticlesButton = new Button("Manage Articles");
         Button createSpecialGroupButton = new Button("Create New Special Group");
+        Button clientStatisticsButton = new Button("Client Statistics");
         Button logoutButton = new Button("Logout");
       
         
         
         /** Set button actions */
         viewUsersButton.setOnAction(e -> {
-            System.out.println("Displaying all users...");
-            try {
-				databaseHelper.displayUsersByAdmin();
-			} catch (SQLException e1) {
-				e1.printStackTrace();
-			}
+            // Only the users on screen are read, a page at a time
+            PagedListView.show("All Users", "There are no users.", new PagedListView.PageSource() {
+                public int count() throws Exception {
+                    return databaseHelper.countUsers();
+                }
+
+                public List<ListingRow> fetchAfter(int afterId, int limit) throws Exception {
+                    return databaseHelper.listUsersPage(afterId, limit);
+                }
+            }, null);
         });
 
         inviteUserButton.setOnAction(e -> {
@@ -540,13 +632,9 @@ public class StartCSE360 extends Application {
                     codeDialog.setTitle("User Code");
                     codeDialog.setHeaderText("Enter the Code for the Invited User:");
                     codeDialog.showAndWait().ifPresent(inviteCode -> {
-                        try {
-							databaseHelper.inviteUser(inviteCode, role);
-						} catch (SQLException e1) {
-
-							e1.printStackTrace();
-						}
-                        System.out.println("User invited with role: " + role + " and code: " + inviteCode);
+                        DatabaseTasks.run(() -> { databaseHelper.inviteUser(inviteCode, role); return null; },
+                                done -> System.out.println("User invited with role: " + role + " and code: " + inviteCode),
+                                error -> showErrorDialog("Database Error", "The user could not be invited.", error.getMessage()));
                     });
                     inviteStage.close();
                 } else {
@@ -561,6 +649,9 @@ public class StartCSE360 extends Application {
         });
 
         resetPasswordButton.setOnAction(e -> {
+            if (!ensureVerified()) {
+                return;
+            }
             TextInputDialog userDialog = new TextInputDialog();
             userDialog.setTitle("Reset Account");
             userDialog.setHeaderText("Input username to be reset:");
@@ -577,13 +668,9 @@ public class StartCSE360 extends Application {
                             try {
                                 LocalDate expireLocal = LocalDate.parse(expiration);
                                 Date expireDate = Date.valueOf(expireLocal);
-                                try {
-									databaseHelper.resetUserPassword(resetName, onetimepass, expireDate);
-								} catch (SQLException e1) {
-
-									e1.printStackTrace();
-								}
-                                System.out.println("One-time password set!");
+                                DatabaseTasks.run(() -> { databaseHelper.resetUserPassword(resetName, onetimepass, expireDate); return null; },
+                                        done -> System.out.println("One-time password set!"),
+                                        error -> showErrorDialog("Database Error", "The one-time password could not be set.", error.getMessage()));
                             } catch (DateTimeParseException ex) {
                                 System.out.println("Invalid date format! Please follow format: YYYY-MM-DD");
                             }
@@ -596,18 +683,17 @@ public class StartCSE360 extends Application {
         });
 
         deleteUserButton.setOnAction(e -> {
+            if (!ensureVerified()) {
+                return;
+            }
             TextInputDialog deleteDialog = new TextInputDialog();
             deleteDialog.setTitle("Delete Account");
             deleteDialog.setHeaderText("Enter Username for Account Deletion:");
             deleteDialog.showAndWait().ifPresent(deleteUser -> {
                 if (databaseHelper.doesUserExist(deleteUser)) {
-                    try {
-						databaseHelper.removeUser(deleteUser);
-					} catch (SQLException e1) {
-
-						e1.printStackTrace();
-					}
-                    System.out.println("User Removed.");
+                    DatabaseTasks.run(() -> { databaseHelper.removeUser(deleteUser); return null; },
+                            done -> System.out.println("User Removed."),
+                            error -> showErrorDialog("Database Error", "The user could not be removed.", error.getMessage()));
                 } else {
                     System.out.println("User does not exist!");
                 }
@@ -615,6 +701,9 @@ public class StartCSE360 extends Application {
         });
 
         changeUserRoleButton.setOnAction(e -> {
+            if (!ensureVerified()) {
+                return;
+            }
             TextInputDialog userDialog = new TextInputDialog();
             userDialog.setTitle("Change Role");
             userDialog.setHeaderText("Enter user to be changed:");
@@ -626,22 +715,14 @@ public class StartCSE360 extends Application {
                     roleDialog.showAndWait().ifPresent(newRole -> {
                         switch (newRole.toUpperCase()) {
                             case "S":
-							try {
-								databaseHelper.changeRole(userToChange, "student");
-							} catch (SQLException e1) {
-
-								e1.printStackTrace();
-							}
-                                System.out.println(userToChange + "'s role was changed to student.");
+                                DatabaseTasks.run(() -> { databaseHelper.changeRole(userToChange, "student"); return null; },
+                                        done -> System.out.println(userToChange + "'s role was changed to student."),
+                                        error -> showErrorDialog("Database Error", "The role could not be changed.", error.getMessage()));
                                 break;
                             case "I":
-							try {
-								databaseHelper.changeRole(userToChange, "instructor");
-							} catch (SQLException e1) {
-
-								e1.printStackTrace();
-							}
-                                System.out.println(userToChange + "'s role was changed to instructor.");
+                                DatabaseTasks.run(() -> { databaseHelper.changeRole(userToChange, "instructor"); return null; },
+                                        done -> System.out.println(userToChange + "'s role was changed to instructor."),
+                                        error -> showErrorDialog("Database Error", "The role could not be changed.", error.getMessage()));
                                 break;
                             default:
                                 System.out.println("Invalid Input.");
@@ -692,18 +773,19 @@ public class StartCSE360 extends Application {
         	        return;
         	    }
         	    
+        	    if (!ensureVerified()) {
+        	        return;
+        	    }
+        	    
         	    if(databaseHelper.doesUserExist(leadInstructorUsername)) {
-        	    	try {
-
-            	        accessGroups.addFirstInstructor(leadInstructorUsername, groupIdentifier);
-            	        
-            	        showAlert("Success","Group Created!");
-
-            	        articleCreateStage.close();
-            	    } catch (Exception ex) {
-            	        System.out.println("Error creating group: " + ex.getMessage());
-            	        ex.printStackTrace();
-            	    }
+        	    	DatabaseTasks.run(() -> { accessGroups.addFirstInstructor(leadInstructorUsername, groupIdentifier); return null; },
+        	    			done -> {
+        	    				showAlert("Success","Group Created!");
+        	    				articleCreateStage.close();
+        	    			}, error -> {
+        	    				System.out.println("Error creating group: " + error.getMessage());
+        	    				showErrorDialog("Database Error", "Failed to Create Group", error.getMessage());
+        	    			});
         	    }else {
         	    	showAlert("Error","User does not exist");
         	    }
@@ -723,8 +805,16 @@ public class StartCSE360 extends Application {
         
     
 
+        clientStatisticsButton.setOnAction(e -> {
+            DatabaseTasks.run(() -> databaseHelper.getClientStatistics(),
+                    statistics -> showAlert("Client Statistics", statistics),
+                    error -> showErrorDialog("Database Error", "The client statistics could not be read.", error.getMessage()));
+        });
+
         logoutButton.setOnAction(e -> {
             adminStage.close();
+            databaseHelper.endSession(session);
+            session = null;
             System.out.println("Logging out...");
         });
 
@@ -732,7 +822,7 @@ public class StartCSE360 extends Application {
         adminLayout.getChildren().addAll(
             viewUsersButton, inviteUserButton, resetPasswordButton, 
             deleteUserButton, changeUserRoleButton, manageArticlesButton, createSpecialGroupButton, 
-            logoutButton
+            clientStatisticsButton, logoutButton
         );
 
         /** Create the scene */
@@ -771,6 +861,8 @@ public class StartCSE360 extends Application {
         });
         logoutButton.setOnAction(e -> {
             studentHomeStage.close();
+            databaseHelper.endSession(session);
+            session = null;
             /** Redirect to main menu or login page if needed */
         });
 
@@ -830,6 +922,8 @@ public class StartCSE360 extends Application {
         
         logoutButton.setOnAction(e -> {
             instructorHomeStage.close();
+            databaseHelper.endSession(session);
+            session = null;
             /** Redirect to main menu or login page if needed */
         });
 
@@ -924,8 +1018,7 @@ public class StartCSE360 extends Application {
                 return;
             }
 
-            try {
-                databaseHelper.createGenericMessageArticles(title, author, description, body, keywords, otherDetails, links);
+            DatabaseTasks.run(() -> { databaseHelper.createGenericMessageArticles(title, author, description, body, keywords, otherDetails, links); return null; }, done -> {
                 System.out.println("Article Created Successfully!");
                 Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
                 successAlert.setTitle("Success");
@@ -933,15 +1026,19 @@ public class StartCSE360 extends Application {
                 successAlert.setContentText("The article has been created successfully.");
                 successAlert.showAndWait();
                 helpCreateStage.close();
-                articleManage(); // Return to the article management interface
-            } catch (SQLException ex) {
-                System.out.println("Error creating article: " + ex.getMessage());
+                try {
+                    articleManage(); // Return to the article management interface
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                }
+            }, error -> {
+                System.out.println("Error creating article: " + error.getMessage());
                 Alert errorAlert = new Alert(Alert.AlertType.ERROR);
                 errorAlert.setTitle("Database Error");
                 errorAlert.setHeaderText("Failed to Create Article");
-                errorAlert.setContentText("Error: " + ex.getMessage());
+                errorAlert.setContentText("Error: " + error.getMessage());
                 errorAlert.showAndWait();
-            }
+            });
         });
 
         /** Cancel Button Action */
@@ -1020,42 +1117,36 @@ public class StartCSE360 extends Application {
 			}
 		});
         searchArticleButton.setOnAction(e -> {
-            // Prompt for the username
-            TextInputDialog usernameDialog = new TextInputDialog();
-            usernameDialog.setTitle("Search Article");
-            usernameDialog.setHeaderText("Enter your Username:");
-            usernameDialog.setContentText("Username:");
-
-            usernameDialog.showAndWait().ifPresent(username -> {
-                // Prompt for the user level
-                TextInputDialog levelDialog = new TextInputDialog();
-                levelDialog.setTitle("Search Article");
-                levelDialog.setHeaderText("Enter your Level:");
-                levelDialog.setContentText("Level (e.g., admin, user, instructor):");
-
-                levelDialog.showAndWait().ifPresent(level -> {
-                    // Prompt for the group identifier
-                    TextInputDialog groupDialog = new TextInputDialog();
-                    groupDialog.setTitle("Search Article");
-                    groupDialog.setHeaderText("Enter the Group Identifier:");
-                    groupDialog.setContentText("Group Identifier:");
-
-                    groupDialog.showAndWait().ifPresent(groupIdentifier -> {
-                        // Prompt for the search keyword
-                        TextInputDialog keywordDialog = new TextInputDialog();
-                        keywordDialog.setTitle("Search Article");
-                        keywordDialog.setHeaderText("Enter keyword to search:");
-                        keywordDialog.setContentText("Keyword:");
-
-                        keywordDialog.showAndWait().ifPresent(keyword -> {
-                            try {
-                                // Perform the search with all parameters
-                                //databaseHelper.searchArticle(username, level, groupIdentifier, keyword);
-                                System.out.println("Search complete for keyword: " + keyword + " with username: " + username + ", level: " + level + ", group identifier: " + groupIdentifier);
-                            } catch (Exception ex) {
-                                System.out.println("Error during keyword search: " + ex.getMessage());
-                            }
-                        });
+            String username = session.getUsername();
+
+            // Prompt for the user level
+            TextInputDialog levelDialog = new TextInputDialog();
+            levelDialog.setTitle("Search Article");
+            levelDialog.setHeaderText("Enter your Level:");
+            levelDialog.setContentText("Level (e.g., admin, user, instructor):");
+
+            levelDialog.showAndWait().ifPresent(level -> {
+                // Prompt for the group identifier
+                TextInputDialog groupDialog = new TextInputDialog();
+                groupDialog.setTitle("Search Article");
+                groupDialog.setHeaderText("Enter the Group Identifier:");
+                groupDialog.setContentText("Group Identifier:");
+
+                groupDialog.showAndWait().ifPresent(groupIdentifier -> {
+                    // Prompt for the search keyword
+                    TextInputDialog keywordDialog = new TextInputDialog();
+                    keywordDialog.setTitle("Search Article");
+                    keywordDialog.setHeaderText("Enter keyword to search:");
+                    keywordDialog.setContentText("Keyword:");
+
+                    keywordDialog.showAndWait().ifPresent(keyword -> {
+                        try {
+                            // Perform the search with all parameters
+                            //databaseHelper.searchArticle(username, level, groupIdentifier, keyword);
+                            System.out.println("Search complete for keyword: " + keyword + " with username: " + username + ", level: " + level + ", group identifier: " + groupIdentifier);
+                        } catch (Exception ex) {
+                            System.out.println("Error during keyword search: " + ex.getMessage());
+                        }
                     });
                 });
             });
@@ -1186,8 +1277,7 @@ public class StartCSE360 extends Application {
                 return;
             }
 
-            try {
-                databaseHelper.createHelpArticle(title, author, description, body, level, groupIdentifier, keywords, accessLevel, otherDetails, links);
+            DatabaseTasks.run(() -> { databaseHelper.createHelpArticle(title, author, description, body, level, groupIdentifier, keywords, accessLevel, otherDetails, links); return null; }, done -> {
                 System.out.println("Article Created Successfully!");
                 Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
                 successAlert.setTitle("Success");
@@ -1195,15 +1285,19 @@ public class StartCSE360 extends Application {
                 successAlert.setContentText("The article has been created successfully.");
                 successAlert.showAndWait();
                 articleCreateStage.close();
-                articleManage(); // Return to the article management interface
-            } catch (SQLException ex) {
-                System.out.println("Error creating article: " + ex.getMessage());
+                try {
+                    articleManage(); // Return to the article management interface
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                }
+            }, error -> {
+                System.out.println("Error creating article: " + error.getMessage());
                 Alert errorAlert = new Alert(Alert.AlertType.ERROR);
                 errorAlert.setTitle("Database Error");
                 errorAlert.setHeaderText("Failed to Create Article");
-                errorAlert.setContentText("Error: " + ex.getMessage());
+                errorAlert.setContentText("Error: " + error.getMessage());
                 errorAlert.showAndWait();
-            }
+            });
         });
 
         /** Cancel Button Action */
@@ -1229,11 +1323,12 @@ public class StartCSE360 extends Application {
         /** Menu Buttons */
         Button viewByIdButton = new Button("View Article by ID");
         Button displayByGroupButton = new Button("Display Articles by Group");
+        Button listByGroupButton = new Button("List Articles by Group");
         Button listAllButton = new Button("List All Articles");
         Button backButton = new Button("Go Back");
 
         /** Layout */
-        VBox buttonLayout = new VBox(10, viewByIdButton, displayByGroupButton, listAllButton, backButton);
+        VBox buttonLayout = new VBox(10, viewByIdButton, displayByGroupButton, listByGroupButton, listAllButton, backButton);
         buttonLayout.setPadding(new javafx.geometry.Insets(20));
         buttonLayout.setAlignment(Pos.CENTER);
 
@@ -1317,56 +1412,45 @@ public class StartCSE360 extends Application {
             groupDialog.setContentText("Group Identifier:");
 
             groupDialog.showAndWait().ifPresent(group -> {
-            	try {
+            	DatabaseTasks.run(() -> databaseHelper.displayArticleByGroup(group), found -> {
                     Alert articlesFound = new Alert(Alert.AlertType.INFORMATION);
                     articlesFound.setTitle("Articles");
                     articlesFound.setHeaderText("Articles by Group and User");
-                    articlesFound.setContentText(databaseHelper.displayArticleByGroup(group)); 
+                    articlesFound.setContentText(found); 
                     articlesFound.showAndWait();
-                } catch (SQLException ex) {
-                    showErrorDialog("Error Displaying Articles", "An error occurred while displaying articles by group and user.", ex.getMessage());
-                } catch (Exception ex) {
-                    showErrorDialog("Unexpected Error", "An unexpected error occurred.", ex.getMessage());
-                }
+                }, error -> showErrorDialog("Error Displaying Articles", "An error occurred while displaying articles by group and user.", error.getMessage()));
             });
         });
 
-        /** 3. List All Articles */
-        listAllButton.setOnAction(e -> {
-        	try {
-                StringBuilder allArticles = new StringBuilder("All Articles");
-
-                // Call listArticles with the username
-                databaseHelper.listArticles();
+        /** 3. List Articles by Group */
+        listByGroupButton.setOnAction(e -> {
+            TextInputDialog groupDialog = new TextInputDialog();
+            groupDialog.setTitle("List Articles by Group");
+            groupDialog.setHeaderText("Enter the Group Identifier");
+            groupDialog.setContentText("Group Identifier:");
 
-                // Capture the output of listArticles
-                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                PrintStream originalOut = System.out;
-                System.setOut(new PrintStream(outputStream));
+            groupDialog.showAndWait().ifPresent(group -> {
+                String articles = databaseHelper.listArticlesByGroup(group.trim());
+                showAlert("Articles in " + group.trim(), articles.isEmpty() ? "There are no articles in this group." : articles);
+            });
+        });
 
-                try {
-                    databaseHelper.listArticles(); 
-                } finally {
-                    System.setOut(originalOut);
+        /** 4. List All Articles */
+        listAllButton.setOnAction(e -> {
+            // The listing is paged from the in-memory catalog; double click opens an article
+            PagedListView.show("All Articles", "There are no articles.", new PagedListView.PageSource() {
+                public int count() {
+                    return databaseHelper.countPublicArticles();
                 }
 
-                allArticles.append(outputStream.toString());
-
-                // Show the alert with the list of articles
-                Alert articlesAlert = new Alert(Alert.AlertType.INFORMATION);
-                articlesAlert.setTitle("All Articles");
-                articlesAlert.setHeaderText("List of All Articles");
-                articlesAlert.setContentText(allArticles.toString());
-                articlesAlert.showAndWait();
-            } catch (SQLException ex) {
-                showErrorDialog("Error Listing Articles", "An error occurred while listing articles by user.", ex.getMessage());
-            } catch (Exception ex) {
-                showErrorDialog("Unexpected Error", "An unexpected error occurred.", ex.getMessage());
-            }
+                public List<ListingRow> fetchAfter(int afterId, int limit) {
+                    return databaseHelper.listArticlesPage(afterId, limit);
+                }
+            }, this::openArticle);
             
         });
 
-        /** 4. Go Back */
+        /** 5. Go Back */
         backButton.setOnAction(e -> {
             displayStage.close();
             /** Return to article management interface */
@@ -1376,7 +1460,8 @@ public class StartCSE360 extends Application {
     
     /**
 	 * Article deletion manager. Can delete an article by ID, or you may delete all of them 
-	 * at the same time (purge). 
+	 * at the same time (purge). Deleted articles can be recovered here, and the history of 
+	 * an article can be viewed as it was at an earlier time. 
 	 * 
 	 * @throws SQLException
 	 */
@@ -1387,15 +1472,19 @@ public class StartCSE360 extends Application {
         /** Menu Buttons */
         Button deleteByIdButton = new Button("Delete an Article by ID");
         Button deleteAllButton = new Button("Delete All Articles");
+        Button recoverLastButton = new Button("Recover Last Deletion");
+        Button recoverByIdButton = new Button("Recover an Article by ID");
+        Button historyButton = new Button("View Article History");
         Button backButton = new Button("Go Back");
 
         /** Layout */
-        VBox buttonLayout = new VBox(10, deleteByIdButton, deleteAllButton, backButton);
+        VBox buttonLayout = new VBox(10, deleteByIdButton, deleteAllButton, recoverLastButton, recoverByIdButton, 
+        		historyButton, backButton);
         buttonLayout.setPadding(new javafx.geometry.Insets(20));
         buttonLayout.setAlignment(Pos.CENTER);
 
         /** Scene Setup */
-        Scene deleteScene = new Scene(buttonLayout, 400, 300);
+        Scene deleteScene = new Scene(buttonLayout, 400, 380);
         deleteStage.setScene(deleteScene);
         deleteStage.show();
 
@@ -1424,10 +1513,15 @@ public class StartCSE360 extends Application {
             idDialog.setContentText("Article ID:");
 
             idDialog.showAndWait().ifPresent(input -> {
+                int idToDelete;
                 try {
-                    int idToDelete = Integer.parseInt(input);
+                    idToDelete = Integer.parseInt(input);
+                } catch (NumberFormatException ex) {
+                    showErrorDialog("Invalid Input", "Non-numeric ID Entered", "Please enter a valid numeric ID.");
+                    return;
+                }
 
-                    boolean isDeleted = databaseHelper.deleteArticle(idToDelete);
+                DatabaseTasks.run(() -> databaseHelper.deleteArticle(idToDelete), isDeleted -> {
                     if (isDeleted) {
                         Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
                         successAlert.setTitle("Success");
@@ -1441,13 +1535,7 @@ public class StartCSE360 extends Application {
                         invalidIdAlert.setContentText("No article exists with the provided ID.");
                         invalidIdAlert.showAndWait();
                     }
-                } catch (NumberFormatException ex) {
-                    showErrorDialog("Invalid Input", "Non-numeric ID Entered", "Please enter a valid numeric ID.");
-                } catch (SQLException ex) {
-                    showErrorDialog("Error Deleting Article", "An error occurred while deleting the article.", ex.getMessage());
-                } catch (Exception ex) {
-                    showErrorDialog("Unexpected Error", "An unexpected error occurred.", ex.getMessage());
-                }
+                }, error -> showErrorDialog("Error Deleting Article", "An error occurred while deleting the article.", error.getMessage()));
             });
         });
 
@@ -1470,20 +1558,17 @@ public class StartCSE360 extends Application {
             Alert confirmDelete = new Alert(Alert.AlertType.CONFIRMATION);
             confirmDelete.setTitle("Delete All Articles");
             confirmDelete.setHeaderText("Are you sure you want to delete all articles?");
-            confirmDelete.setContentText("This action cannot be undone.");
+            confirmDelete.setContentText("The articles can be recovered with Recover Last Deletion.");
 
             Optional<ButtonType> result = confirmDelete.showAndWait();
             if (result.isPresent() && result.get() == ButtonType.OK) {
-                try {
-                    databaseHelper.deleteAll();
+                DatabaseTasks.run(() -> { databaseHelper.deleteAll(); return null; }, done -> {
                     Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
                     successAlert.setTitle("Success");
                     successAlert.setHeaderText("All Articles Deleted");
                     successAlert.setContentText("All articles have been successfully deleted.");
                     successAlert.showAndWait();
-                } catch (Exception ex) {
-                    showErrorDialog("Error Deleting Articles", "An error occurred while deleting all articles.", ex.getMessage());
-                }
+                }, error -> showErrorDialog("Error Deleting Articles", "An error occurred while deleting all articles.", error.getMessage()));
             } else {
                 Alert cancelAlert = new Alert(Alert.AlertType.INFORMATION);
                 cancelAlert.setTitle("Deletion Canceled");
@@ -1493,7 +1578,85 @@ public class StartCSE360 extends Application {
             }
         });
 
-        /** 3. Go Back */
+        /** 3. Recover Last Deletion */
+        recoverLastButton.setOnAction(e -> {
+            DatabaseTasks.run(() -> databaseHelper.recoverLastDeletion(), recovered -> {
+                if (recovered == 0) {
+                    showAlert("Nothing to Recover", "There are no deleted articles.");
+                } else {
+                    showAlert("Success", recovered + " article(s) have been recovered.");
+                }
+            }, error -> showErrorDialog("Error Recovering Articles", "An error occurred while recovering the articles.", error.getMessage()));
+        });
+
+        /** 4. Recover Article by ID */
+        recoverByIdButton.setOnAction(e -> {
+            TextInputDialog idDialog = new TextInputDialog();
+            idDialog.setTitle("Recover Article by ID");
+            idDialog.setHeaderText("Enter the ID of the Article to Recover");
+            idDialog.setContentText("Article ID:");
+
+            idDialog.showAndWait().ifPresent(input -> {
+                int idToRecover;
+                try {
+                    idToRecover = Integer.parseInt(input);
+                } catch (NumberFormatException ex) {
+                    showErrorDialog("Invalid Input", "Non-numeric ID Entered", "Please enter a valid numeric ID.");
+                    return;
+                }
+                DatabaseTasks.run(() -> databaseHelper.recoverArticle(idToRecover), recovered -> {
+                    if (recovered) {
+                        showAlert("Success", "The article with ID " + idToRecover + " has been recovered.");
+                    } else {
+                        showAlert("Article Not Found", "No deleted article exists with the provided ID.");
+                    }
+                }, error -> showErrorDialog("Error Recovering Article", "An error occurred while recovering the article.", error.getMessage()));
+            });
+        });
+
+        /** 5. View Article History */
+        historyButton.setOnAction(e -> {
+            TextInputDialog idDialog = new TextInputDialog();
+            idDialog.setTitle("View Article History");
+            idDialog.setHeaderText("Enter the ID of the Article");
+            idDialog.setContentText("Article ID:");
+
+            idDialog.showAndWait().ifPresent(input -> {
+                try {
+                    int articleID = Integer.parseInt(input);
+                    String history = databaseHelper.listArticleRevisions(articleID);
+                    if (history.isEmpty()) {
+                        showAlert("Article Not Found", "No article exists with the provided ID.");
+                        return;
+                    }
+
+                    TextInputDialog timeDialog = new TextInputDialog(new Timestamp(System.currentTimeMillis()).toString());
+                    timeDialog.setTitle("View Article History");
+                    timeDialog.setHeaderText(history);
+                    timeDialog.setContentText("View as of (yyyy-mm-dd hh:mm:ss):");
+                    timeDialog.showAndWait().ifPresent(time -> {
+                        try {
+                            String article = databaseHelper.getArticleAsOf(articleID, Timestamp.valueOf(time.trim()));
+                            if (article.isEmpty()) {
+                                showAlert("Article History", "The article did not exist at that time.");
+                            } else {
+                                showAlert("Article History", article);
+                            }
+                        } catch (IllegalArgumentException ex) {
+                            showErrorDialog("Invalid Input", "Invalid Time Entered", "Please enter a time as yyyy-mm-dd hh:mm:ss.");
+                        } catch (SQLException ex) {
+                            showErrorDialog("Error Reading History", "An error occurred while reading the article history.", ex.getMessage());
+                        }
+                    });
+                } catch (NumberFormatException ex) {
+                    showErrorDialog("Invalid Input", "Non-numeric ID Entered", "Please enter a valid numeric ID.");
+                } catch (SQLException ex) {
+                    showErrorDialog("Error Reading History", "An error occurred while reading the article history.", ex.getMessage());
+                }
+            });
+        });
+
+        /** 6. Go Back */
         backButton.setOnAction(e -> {
             deleteStage.close();
             /** Return to the article management interface */
@@ -1536,12 +1699,10 @@ public class StartCSE360 extends Application {
             filenameDialog.setContentText("Filename:");
 
             filenameDialog.showAndWait().ifPresent(filename -> {
-                try {
-                    databaseHelper.backupHelpSystemToFile(filename);
-                    showInfoDialog("Backup Successful", "Backup Completed", "The entire help system has been backed up to " + filename + ".");
-                } catch (Exception ex) {
-                    showErrorDialog("Backup Failed", "An error occurred during the backup.", ex.getMessage());
-                }
+                DatabaseTasks.runWithProgress("Backup All Articles", "Backing up to " + filename + "...",
+                        listener -> { databaseHelper.backupHelpSystemToFile(filename, listener); return null; },
+                        done -> showInfoDialog("Backup Successful", "Backup Completed", "The entire help system has been backed up to " + filename + "."),
+                        error -> showErrorDialog("Backup Failed", "An error occurred during the backup.", error.getMessage()));
             });
         });
 
@@ -1574,12 +1735,10 @@ public class StartCSE360 extends Application {
                 String groupIdentifier = result.getKey();
                 String filename = result.getValue();
 
-                try {
-                    databaseHelper.backUpGroupToFile(filename, groupIdentifier);
-                    showInfoDialog("Backup Successful", "Backup Completed", "Backup of group '" + groupIdentifier + "' has been saved to " + filename + ".");
-                } catch (Exception ex) {
-                    showErrorDialog("Backup Failed", "An error occurred during the backup.", ex.getMessage());
-                }
+                DatabaseTasks.runWithProgress("Backup Articles by Group", "Backing up '" + groupIdentifier + "' to " + filename + "...",
+                        listener -> { databaseHelper.backUpGroupToFile(filename, groupIdentifier, listener); return null; },
+                        done -> showInfoDialog("Backup Successful", "Backup Completed", "Backup of group '" + groupIdentifier + "' has been saved to " + filename + "."),
+                        error -> showErrorDialog("Backup Failed", "An error occurred during the backup.", error.getMessage()));
             });
         });
 
@@ -1628,12 +1787,10 @@ public class StartCSE360 extends Application {
             restoreFileDialog.setContentText("Filename:");
 
             restoreFileDialog.showAndWait().ifPresent(restoreFile -> {
-                try {
-                    databaseHelper.restoreSystem(restoreFile);
-                    showInfoDialog("Restoration Successful", "System Restored", "The system was successfully restored from " + restoreFile + ".");
-                } catch (Exception ex) {
-                    showErrorDialog("Restoration Failed", "An error occurred during restoration.", ex.getMessage());
-                }
+                DatabaseTasks.runWithProgress("Restore with Deleting", "Restoring from " + restoreFile + "...",
+                        listener -> { databaseHelper.restoreSystem(restoreFile, listener); return null; },
+                        done -> showInfoDialog("Restoration Successful", "System Restored", "The system was successfully restored from " + restoreFile + "."),
+                        error -> showErrorDialog("Restoration Failed", "An error occurred during restoration.", error.getMessage()));
             });
         });
 
@@ -1645,12 +1802,10 @@ public class StartCSE360 extends Application {
             restoreExistingFileDialog.setContentText("Filename:");
 
             restoreExistingFileDialog.showAndWait().ifPresent(restoreFile -> {
-                try {
-                    databaseHelper.restoreSystemExisting(restoreFile);
-                    showInfoDialog("Restoration Successful", "Existing System Restored", "The existing system was successfully restored from " + restoreFile + ".");
-                } catch (Exception ex) {
-                    showErrorDialog("Restoration Failed", "An error occurred during restoration.", ex.getMessage());
-                }
+                DatabaseTasks.runWithProgress("Restore without Deleting", "Restoring from " + restoreFile + "...",
+                        listener -> { databaseHelper.restoreSystemExisting(restoreFile, listener); return null; },
+                        done -> showInfoDialog("Restoration Successful", "Existing System Restored", "The existing system was successfully restored from " + restoreFile + "."),
+                        error -> showErrorDialog("Restoration Failed", "An error occurred during restoration.", error.getMessage()));
             });
         });
 
@@ -1751,6 +1906,7 @@ public class StartCSE360 extends Application {
         /**Generic Message*/
         TextField messageField = new TextField();
         messageField.setPromptText("Enter Help Question");
+        AutoComplete.attach(messageField, databaseHelper.getGenericMessageCompletions()::completeTitles);
         
         /**Group Identifier*/
         TextField groupField = new TextField();
@@ -1791,7 +1947,9 @@ public class StartCSE360 extends Application {
             	Alert genericArticlesFound = new Alert(Alert.AlertType.INFORMATION);
             	genericArticlesFound.setTitle("Help Articles");
             	genericArticlesFound.setHeaderText("Generic Help Found");
-			    genericArticlesFound.setContentText(databaseHelper.displayGenericMessageArticles(message));
+			    String found = databaseHelper.displayGenericMessageArticles(message);
+			    genericArticlesFound.setContentText(found.isEmpty()
+			    		? "No generic help matched your question. You can send a specific message to an instructor." : found);
 			    genericArticlesFound.showAndWait();
             	
                 helpManager(); 
@@ -1832,9 +1990,6 @@ public class StartCSE360 extends Application {
         /** Dropdown for Specific Message --- ADD NEW MESSAGES HERE*/
         TextField messageField = new TextField();
         messageField.setPromptText("Enter Message");
-        
-        TextField userField = new TextField();
-        userField.setPromptText("Enter Your Username");
 
 
         /** Send and Cancel Buttons*/
@@ -1849,8 +2004,6 @@ public class StartCSE360 extends Application {
 
         formLayout.add(new Label("Specific Message:"), 0, 0);
         formLayout.add(messageField, 1, 0);
-        formLayout.add(new Label("Username:"), 0, 1);
-        formLayout.add(userField, 1, 1);
         
         HBox buttonLayout = new HBox(10, sendButton, cancelButton);
         buttonLayout.setAlignment(Pos.CENTER);
@@ -1862,21 +2015,16 @@ public class StartCSE360 extends Application {
         sendButton.setOnAction(e -> {
             
             String message = messageField.getText().trim();
-            String user = userField.getText().trim();
+            String user = session.getUsername();
 
-            try {
-            	/** Create Request in Database*/
-            	
-            	databaseHelper.addSpecificMessage(user,message);
-            	
-                
-            } catch (SQLException ex) {
+            /** Create Request in Database*/
+            DatabaseTasks.run(() -> { databaseHelper.addSpecificMessage(user,message); return null; }, done -> { }, error -> {
                 Alert errorAlert = new Alert(Alert.AlertType.ERROR);
                 errorAlert.setTitle("Database Error");
                 errorAlert.setHeaderText("Failed to Generate Request");
-                errorAlert.setContentText("Error: " + ex.getMessage());
+                errorAlert.setContentText("Error: " + error.getMessage());
                 errorAlert.showAndWait();
-            }
+            });
             specificMessageStage.close();
         });
 
@@ -1945,40 +2093,21 @@ public class StartCSE360 extends Application {
                 try {
                     int articleID = Integer.parseInt(input);
                     
-                    // Prompt for the username
-                    TextInputDialog usernameDialog = new TextInputDialog();
-                    usernameDialog.setTitle("Enter Username");
-                    usernameDialog.setHeaderText("Enter the Username for Article Retrieval");
-                    usernameDialog.setContentText("Username:");
-
-                    usernameDialog.showAndWait().ifPresent(username -> {
-                        try {
-  
-                            String articleContent = databaseHelper.displayArticle(articleID);
-                            if (articleContent.compareTo("") == 0) {
-                                Alert invalidIdAlert = new Alert(Alert.AlertType.WARNING);
-                                invalidIdAlert.setTitle("Invalid ID or Username");
-                                invalidIdAlert.setHeaderText("Article Not Found");
-                                invalidIdAlert.setContentText("No article exists with the provided ID and username.");
-                                invalidIdAlert.showAndWait();
-                            } else {
-                                try {
-                                    Alert articlesFound = new Alert(Alert.AlertType.INFORMATION);
-                                    articlesFound.setTitle("Articles");
-                                    articlesFound.setHeaderText("Articles by ID and Username");
-                                    articlesFound.setContentText(articleContent); 
-                                    articlesFound.showAndWait();
-                                }
-                                 catch (Exception ex) {
-                                    showErrorDialog("Unexpected Error", "An unexpected error occurred.", ex.getMessage());
-                                }
-                            }
-                        } catch (SQLException ex) {
-                            showErrorDialog("Error Retrieving Article", "An error occurred while retrieving the article.", ex.getMessage());
-                        } catch (Exception e1) {
-                            e1.printStackTrace();
+                    DatabaseTasks.run(() -> databaseHelper.displayArticle(articleID), articleContent -> {
+                        if (articleContent.compareTo("") == 0) {
+                            Alert invalidIdAlert = new Alert(Alert.AlertType.WARNING);
+                            invalidIdAlert.setTitle("Invalid ID");
+                            invalidIdAlert.setHeaderText("Article Not Found");
+                            invalidIdAlert.setContentText("No article exists with the provided ID.");
+                            invalidIdAlert.showAndWait();
+                        } else {
+                            Alert articlesFound = new Alert(Alert.AlertType.INFORMATION);
+                            articlesFound.setTitle("Articles");
+                            articlesFound.setHeaderText("Articles by ID");
+                            articlesFound.setContentText(articleContent); 
+                            articlesFound.showAndWait();
                         }
-                    });
+                    }, error -> showErrorDialog("Error Retrieving Article", "An error occurred while retrieving the article.", error.getMessage()));
                     
                 } catch (NumberFormatException ex) {
                     Alert invalidInputAlert = new Alert(Alert.AlertType.ERROR);
@@ -2020,6 +2149,7 @@ public class StartCSE360 extends Application {
     	/**Name Field*/
         TextField authorField = new TextField();
         authorField.setPromptText("Enter author to search");
+        AutoComplete.attach(authorField, databaseHelper.getCompletions()::completeAuthors);
         
 
         /** Send and Cancel Buttons*/
@@ -2049,23 +2179,20 @@ public class StartCSE360 extends Application {
             String author = authorField.getText().trim();
             
 
-            try {
-            	/** Find help article and display it using Database*/
+            /** Find help article and display it using Database*/
+            DatabaseTasks.run(() -> databaseHelper.displayArticleByAuthor(author), found -> {
             	Alert infoAlert = new Alert(Alert.AlertType.INFORMATION);
             	infoAlert.setTitle("Articles Searched");
             	infoAlert.setHeaderText("Found Articles:");
-            	infoAlert.setContentText(databaseHelper.displayArticleByAuthor(author));
+            	infoAlert.setContentText(found);
             	infoAlert.showAndWait();
             	
-                
-                articleSearch(); 
-            } catch (Exception ex) {
-                Alert errorAlert = new Alert(Alert.AlertType.ERROR);
-                errorAlert.setTitle("Database Error");
-                errorAlert.setHeaderText("Failed to Find Help Articles");
-                errorAlert.setContentText("Error: " + ex.getMessage());
-                errorAlert.showAndWait();
-            }
+                try {
+                    articleSearch(); 
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                }
+            }, this::showSearchError);
         });
 
         /** Cancel Button Action */
@@ -2084,6 +2211,7 @@ public class StartCSE360 extends Application {
     	/**Words Field*/
         TextField wordsField = new TextField();
         wordsField.setPromptText("Enter word or phrase");
+        AutoComplete.attach(wordsField, databaseHelper.getCompletions()::completeWords);
         
 
         /** Send and Cancel Buttons*/
@@ -2104,7 +2232,33 @@ public class StartCSE360 extends Application {
         HBox buttonLayout = new HBox(10, sendButton, cancelButton);
         buttonLayout.setAlignment(Pos.CENTER);
 
-        VBox mainLayout = new VBox(10, formLayout, buttonLayout);
+        /** Results update as the user types; Send still opens the full paged listing */
+        IncrementalSearch liveSearch = new IncrementalSearch(wordsField, new IncrementalSearch.Searcher() {
+            public List<SearchHit> search(String text) throws Exception {
+                return databaseHelper.searchArticleHits(text);
+            }
+
+            public long version() {
+                return databaseHelper.getSearchVersion();
+            }
+
+            // LIKE wildcards in the earlier text would not match literally, so it is not reused
+            public boolean narrows(String earlier, String text) {
+                return text.contains(earlier) && !earlier.contains("%") && !earlier.contains("_");
+            }
+
+            public boolean matches(SearchHit hit, String text) {
+                return hit.containsText(text);
+            }
+        });
+        liveSearch.getListView().setOnMouseClicked(e -> {
+            SearchHit selected = liveSearch.getListView().getSelectionModel().getSelectedItem();
+            if (e.getClickCount() == 2 && selected != null) {
+                openArticle(selected);
+            }
+        });
+
+        VBox mainLayout = new VBox(10, formLayout, liveSearch.getStatus(), liveSearch.getListView(), buttonLayout);
         mainLayout.setPadding(new javafx.geometry.Insets(20));
 
         /** Submit Button Action */
@@ -2113,31 +2267,32 @@ public class StartCSE360 extends Application {
             String words = wordsField.getText().trim();
            
 
-            try {
-            	/** Find help article and display it using Database*/
-            	Alert infoAlert = new Alert(Alert.AlertType.INFORMATION);
-            	infoAlert.setTitle("Articles Searched");
-            	infoAlert.setHeaderText("Found Articles:");
-            	infoAlert.setContentText(databaseHelper.searchArticlesByWord(words));
-            	infoAlert.showAndWait();
-            	
-            	
-                
-                articleSearch(); 
-            } catch (Exception ex) {
-                Alert errorAlert = new Alert(Alert.AlertType.ERROR);
-                errorAlert.setTitle("Database Error");
-                errorAlert.setHeaderText("Failed to Find Help Articles");
-                errorAlert.setContentText("Error: " + ex.getMessage());
-                errorAlert.showAndWait();
-            }
+            /** Find help article and display it using Database*/
+            Stage resultsStage = PagedListView.show("Articles Searched", "No articles were found.", new PagedListView.PageSource() {
+                public int count() throws Exception {
+                    return databaseHelper.countArticlesByWord(words);
+                }
+
+                public List<ListingRow> fetchAfter(int afterId, int limit) throws Exception {
+                    return databaseHelper.searchArticlesByWordPage(words, afterId, limit);
+                }
+            }, this::openArticle);
+
+            // Back to the search menu once the results are closed, as after the old results dialog
+            resultsStage.setOnHidden(closed -> {
+                try {
+                    articleSearch(); 
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                }
+            });
         });
 
         /** Cancel Button Action */
         cancelButton.setOnAction(e -> searchByWordsStage.close());
 
         /** Set the Scene and Show */
-        Scene searchByWordsScene = new Scene(mainLayout, 300, 300);
+        Scene searchByWordsScene = new Scene(mainLayout, 450, 450);
         searchByWordsStage.setScene(searchByWordsScene);
         searchByWordsStage.show();
     }
@@ -2159,6 +2314,30 @@ public class StartCSE360 extends Application {
     	infoAlert.showAndWait();
     }
 
+    /**
+     * Opens a public article from a paged listing in an alert.
+     * 
+     * @param row the listed article.
+     */
+    private void openArticle(ListingRow row) {
+        DatabaseTasks.run(() -> databaseHelper.displayArticle(row.id),
+                article -> showAlert("Article " + row.id, article.isEmpty() ? "The article is no longer available." : article),
+                error -> showErrorDialog("Error Displaying Article", "An error occurred while loading the article.", error.getMessage()));
+    }
+
+    /**
+     * Utility to Show the Error of a Failed Article Search
+     * 
+     * @param error
+     */
+    private void showSearchError(Throwable error) {
+        Alert errorAlert = new Alert(Alert.AlertType.ERROR);
+        errorAlert.setTitle("Database Error");
+        errorAlert.setHeaderText("Failed to Find Help Articles");
+        errorAlert.setContentText("Error: " + error.getMessage());
+        errorAlert.showAndWait();
+    }
+
     /**
      * Utility to Show Error Dialogs
      * 
@@ -2208,26 +2387,26 @@ public class StartCSE360 extends Application {
         	String username = usernameField.getText();
             String password = passwordField.getText();
             /** Validate credentials (implement login logic) */
-            try {
-				if (databaseHelper.login(username, password, databaseHelper.getRoleFrom(username))) {
-					if(SpecialAccessGroups.adminRights(username, specialGroup)) {
-						adminSpecialHome(specialGroup);
-						specialLogStage.close();
-					}else if(SpecialAccessGroups.vRights(username, specialGroup)){
-						viewingSpecialHome(specialGroup);
-						specialLogStage.close();
-					}else {
-						showAlert("Error","You do not have special access rights to that group!");
-					}
-				} else {
-				    showAlert("Error", "Invalid credentials!");
-				}
-			} catch (SQLException e1) {
-				e1.printStackTrace();
-			} catch (Exception e1) {
-				
-				e1.printStackTrace();
-			}
+            DatabaseTasks.run(() -> databaseHelper.startSession(username, password), loggedIn -> {
+                if (loggedIn == null) {
+                    showAlert("Error", "Invalid credentials!");
+                    return;
+                }
+                session = loggedIn;
+                try {
+                    if (session.hasAdminRights(specialGroup)) {
+                        adminSpecialHome(specialGroup);
+                        specialLogStage.close();
+                    } else if (session.hasViewingRights(specialGroup)) {
+                        viewingSpecialHome(specialGroup);
+                        specialLogStage.close();
+                    } else {
+                        showAlert("Error", "You do not have special access rights to that group!");
+                    }
+                } catch (Exception e1) {
+                    e1.printStackTrace();
+                }
+            }, error -> showErrorDialog("Login Error", "The login could not be checked.", error.getMessage()));
         });
 
         backButton.setOnAction(e -> {
@@ -2280,6 +2459,8 @@ public class StartCSE360 extends Application {
         });
         logoutButton.setOnAction(e -> {
         	viewingHomeStage.close();
+        	databaseHelper.endSession(session);
+        	session = null;
             /** Redirect to main menu or login page if needed */
         });
 
@@ -2312,6 +2493,12 @@ public class StartCSE360 extends Application {
         Button giveAdminButton = new Button("Give Admin Rights");
         Button createArticle = new Button("Create an Article");
         Button editAnArticle = new Button("Edit an Article");
+        Button historyButton = new Button("View Article History");
+        Button rotateKeyButton = new Button("Rotate Group Key");
+        Button rotationStatusButton = new Button("Key Rotation Status");
+        Button backUpGroupButton = new Button("Back Up Group Articles");
+        Button restoreGroupButton = new Button("Restore Group Articles");
+        Button removeGroupArticlesButton = new Button("Remove All Group Articles");
         
         Button listButton = new Button("List Articles");
         Button displayIDButton = new Button("Display Article by ID");
@@ -2321,15 +2508,21 @@ public class StartCSE360 extends Application {
         
         
         addUser.setOnAction(e -> {
-        	addSpecialUser(groupName);
+        	if (ensureVerified()) {
+        		addSpecialUser(groupName);
+        	}
         });
         
         removeUser.setOnAction(e -> {
-        	removeSpecialUser(groupName);
+        	if (ensureVerified()) {
+        		removeSpecialUser(groupName);
+        	}
         });
         
         giveAdminButton.setOnAction(e -> {
-        	giveAdminRights(groupName);
+        	if (ensureVerified()) {
+        		giveAdminRights(groupName);
+        	}
         });
         
         createArticle.setOnAction(e -> {
@@ -2340,6 +2533,70 @@ public class StartCSE360 extends Application {
         	editArticle(groupName);
         });
         
+        historyButton.setOnAction(e -> {
+        	viewArticleHistory(groupName);
+        });
+        
+        rotateKeyButton.setOnAction(e -> {
+        	if (ensureVerified()) {
+        		rotateGroupKey(groupName);
+        	}
+        });
+        
+        rotationStatusButton.setOnAction(e -> {
+        	DatabaseTasks.run(() -> accessGroups.getKeyRotationStatus(groupName),
+        			status -> showAlert("Key Rotation Status", status),
+        			error -> showErrorDialog("Database Error", "The key rotation status could not be read.", error.getMessage()));
+        });
+        
+        backUpGroupButton.setOnAction(e -> {
+        	TextInputDialog filenameDialog = new TextInputDialog("groupBackup.csv");
+        	filenameDialog.setTitle("Back Up Group Articles");
+        	filenameDialog.setHeaderText("Enter the Filename for the Backup of " + groupName);
+        	filenameDialog.setContentText("Filename:");
+        	
+        	filenameDialog.showAndWait().ifPresent(filename -> {
+        		DatabaseTasks.run(() -> { accessGroups.backUpSpecialGroupToFile(filename, groupName); return null; },
+        				done -> showAlert("Backup Successful", "The articles of " + groupName + " have been backed up to " + filename + "."),
+        				error -> showErrorDialog("Backup Failed", "An error occurred during the backup.", error.getMessage()));
+        	});
+        });
+        
+        restoreGroupButton.setOnAction(e -> {
+        	if (!ensureVerified()) {
+        		return;
+        	}
+        	TextInputDialog filenameDialog = new TextInputDialog("groupBackup.csv");
+        	filenameDialog.setTitle("Restore Group Articles");
+        	filenameDialog.setHeaderText("Enter the Filename of a Backup of " + groupName);
+        	filenameDialog.setContentText("Filename:");
+        	
+        	filenameDialog.showAndWait().ifPresent(filename -> {
+        		DatabaseTasks.run(() -> accessGroups.restoreSpecialGroupFromFile(filename, groupName),
+        				restored -> showAlert("Restore Successful", restored + " article(s) have been restored to " + groupName
+        						+ ". Their edit history is not part of the backup and was not restored."),
+        				error -> showErrorDialog("Restore Failed", "An error occurred during the restore.", error.getMessage()));
+        	});
+        });
+        
+        removeGroupArticlesButton.setOnAction(e -> {
+        	if (!ensureVerified()) {
+        		return;
+        	}
+        	Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        	confirm.setTitle("Remove All Group Articles");
+        	confirm.setHeaderText("Remove every article in " + groupName + "?");
+        	confirm.setContentText("The articles and their history cannot be recovered, except from a backup.");
+        	
+        	confirm.showAndWait().ifPresent(response -> {
+        		if (response == ButtonType.OK) {
+        			DatabaseTasks.run(() -> { accessGroups.dropSpecialGroup(groupName); return null; },
+        					done -> showAlert("Articles Removed", "Every article in " + groupName + " has been removed."),
+        					error -> showErrorDialog("Database Error", "The articles could not be removed.", error.getMessage()));
+        		}
+        	});
+        });
+        
         listButton.setOnAction(e -> {
         	listSpecialArticles(groupName);
         });
@@ -2358,14 +2615,17 @@ public class StartCSE360 extends Application {
         
         logoutButton.setOnAction(e -> {
         	adminSpecHomeStage.close();
+        	databaseHelper.endSession(session);
+        	session = null;
             /** Redirect to main menu or login page if needed */
         });
 
         adminSpecLayout.getChildren().addAll(addUser, removeUser, giveAdminButton, 
-        		createArticle, editAnArticle, listButton, displayIDButton, 
+        		createArticle, editAnArticle, historyButton, rotateKeyButton, rotationStatusButton, backUpGroupButton, 
+        		restoreGroupButton, removeGroupArticlesButton, listButton, displayIDButton, 
         		searchArticleAuthorButton, searchArticleWordsButton, logoutButton);
 
-        Scene adminSpecHomeScene = new Scene(adminSpecLayout, 300, 400);
+        Scene adminSpecHomeScene = new Scene(adminSpecLayout, 300, 640);
         adminSpecHomeStage.setScene(adminSpecHomeScene);
         adminSpecHomeStage.show();
     	
@@ -2428,32 +2688,28 @@ public class StartCSE360 extends Application {
             	String username = usernameField.getText();
                 
                 /** Validate credentials (implement login logic) */
-                try {
-    				if (databaseHelper.doesUserExist(username)) {
-    					
-    					if(viewingRights) {
-    						SpecialAccessGroups.addInstructor(username, groupName);
-    						
-    						
-    						showAlert("Success","User added to Group");
-    						addUserStage.close();
-    					}else if(adminRights) {
-    						SpecialAccessGroups.addAdmin(username,groupName);
-    						
-    						showAlert("Success","User added to Group");
-    						addUserStage.close();
-    					}
-    					else {
-    						showAlert("Error","Rights not attributed correctly");
-    					}
-    				} else {
-    				    showAlert("Error", "Invalid credentials!");
-    				}
-    			
-    			} catch (Exception e1) {
-    				
-    				e1.printStackTrace();
-    			}
+                boolean viewing = viewingRights;
+                boolean admin = adminRights;
+                DatabaseTasks.run(() -> {
+                    if (!databaseHelper.doesUserExist(username)) {
+                        return "Invalid credentials!";
+                    }
+                    if (viewing) {
+                        SpecialAccessGroups.addInstructor(username, groupName);
+                    } else if (admin) {
+                        SpecialAccessGroups.addAdmin(username, groupName);
+                    } else {
+                        return "Rights not attributed correctly";
+                    }
+                    return null;
+                }, failure -> {
+                    if (failure == null) {
+                        showAlert("Success","User added to Group");
+                        addUserStage.close();
+                    } else {
+                        showAlert("Error", failure);
+                    }
+                }, error -> showErrorDialog("Database Error", "The user could not be added to the group.", error.getMessage()));
         		
         	}
         	
@@ -2502,26 +2758,26 @@ public class StartCSE360 extends Application {
         	String username = usernameField.getText();
             
             /** Validate credentials (implement login logic) */
-            try {
-				if (databaseHelper.doesUserExist(username)) {
-					
-					if(SpecialAccessGroups.vRights(username, groupName)) {
-						accessGroups.deleteSpecialUser(username);
-						
-						showAlert("Success","User Removed");
-						addUserStage.close();
-					}
-					else {
-						showAlert("Error","User not in group");
-					}
-				} else {
-				    showAlert("Error", "Invalid credentials!");
-				}
-			
-			} catch (Exception e1) {
-				
-				e1.printStackTrace();
-			}
+            DatabaseTasks.run(() -> {
+                if (!databaseHelper.doesUserExist(username)) {
+                    return "Invalid credentials!";
+                }
+                if (!SpecialAccessGroups.vRights(username, groupName)) {
+                    return "User not in group";
+                }
+                accessGroups.deleteSpecialUser(username);
+                if (username.compareTo(session.getUsername()) == 0) {
+                    SpecialAccessGroups.loadGroupRights(session);
+                }
+                return null;
+            }, failure -> {
+                if (failure == null) {
+                    showAlert("Success","User Removed");
+                    addUserStage.close();
+                } else {
+                    showAlert("Error", failure);
+                }
+            }, error -> showErrorDialog("Database Error", "The user could not be removed from the group.", error.getMessage()));
         });
 
         backButton.setOnAction(e -> {
@@ -2591,16 +2847,14 @@ public class StartCSE360 extends Application {
     	        return;
     	    }
 
-    	    try {
-
-    	        accessGroups.addSpecialArticle(title, author ,description, body, groupName, keywords, other, links);
-    	        System.out.println("Article added successfully!");
-
-    	        articleCreateStage.close();
-    	    } catch (Exception ex) {
-    	        System.out.println("Error adding article: " + ex.getMessage());
-    	        ex.printStackTrace();
-    	    }
+    	    DatabaseTasks.run(() -> { accessGroups.addSpecialArticle(title, author ,description, body, groupName, keywords, other, links); return null; },
+    	            done -> {
+    	                System.out.println("Article added successfully!");
+    	                articleCreateStage.close();
+    	            }, error -> {
+    	                System.out.println("Error adding article: " + error.getMessage());
+    	                showErrorDialog("Database Error", "Failed to Add Article", error.getMessage());
+    	            });
     	});
 
     	VBox formLayout = new VBox(10);
@@ -2649,25 +2903,24 @@ public class StartCSE360 extends Application {
                 return;
             }
             if(databaseHelper.doesUserExist(username)) {
-            	try {
-    				if (!SpecialAccessGroups.adminRights(username, groupName)) {
-    				    // Grant admin rights
-    				    accessGroups.giveAdminAccess(username, groupName);
-    				    
-
-    				    // Confirmation stage to show success message
-    				    showAlert("Success","Admin Rights Granted!");
-
-    				    adminRightsStage.close(); // Close only if it's not null
-    				    
-    				} else {
-    				    showAlert("Error","User already has admin rights.");
-    				    adminRightsStage.close(); // Close if already has admin rights
-    				}
-    			} catch (Exception e1) {
-    				
-    				e1.printStackTrace();
-    			} 
+            	DatabaseTasks.run(() -> {
+            		if (SpecialAccessGroups.adminRights(username, groupName)) {
+            			return false;
+            		}
+            		// Grant admin rights
+            		accessGroups.giveAdminAccess(username, groupName);
+            		if (username.compareTo(session.getUsername()) == 0) {
+            			SpecialAccessGroups.loadGroupRights(session);
+            		}
+            		return true;
+            	}, granted -> {
+            		if (granted) {
+            			showAlert("Success","Admin Rights Granted!");
+            		} else {
+            			showAlert("Error","User already has admin rights.");
+            		}
+            		adminRightsStage.close();
+            	}, error -> showErrorDialog("Database Error", "The admin rights could not be granted.", error.getMessage()));
             }else {
             	showAlert("Error","User does not exist");
             }
@@ -2685,6 +2938,71 @@ public class StartCSE360 extends Application {
         
     }
     
+    /**
+     * Here an admin of a group can list the saved versions of an article and view
+     * the body as it was at any of them.
+     * 
+     * @param groupName
+     */
+    private void viewArticleHistory(String groupName) {
+    	TextInputDialog idDialog = new TextInputDialog();
+    	idDialog.setTitle("Article History");
+    	idDialog.setHeaderText("Enter the ID of the Article");
+    	idDialog.setContentText("Article ID:");
+    	
+    	idDialog.showAndWait().ifPresent(input -> {
+    		try {
+    			int articleID = Integer.parseInt(input.trim());
+    			String versions = SpecialAccessGroups.listArticleVersions(groupName, articleID);
+    			if (versions.isEmpty()) {
+    				showAlert("Error", "There is no article matching that ID in the group");
+    				return;
+    			}
+    			
+    			TextInputDialog versionDialog = new TextInputDialog();
+    			versionDialog.setTitle("Article History");
+    			versionDialog.setHeaderText(versions);
+    			versionDialog.setContentText("Version to view:");
+    			versionDialog.showAndWait().ifPresent(versionInput -> {
+    				try {
+    					int version = Integer.parseInt(versionInput.trim());
+    					String body = SpecialAccessGroups.getArticleBodyAtVersion(groupName, articleID, version);
+    					if (body == null) {
+    						showAlert("Error", "Version " + version + " is not in the article's history");
+    					} else {
+    						showAlert("Article " + articleID + " at Version " + version, body);
+    					}
+    				} catch (Exception ex) {
+    					showAlert("Error", "There was an error rebuilding that version");
+    				}
+    			});
+    		} catch (Exception ex) {
+    			showAlert("Error", "There was an error retrieving the article history");
+    		}
+    	});
+    }
+    
+    /**
+     * Here an admin of a group can rotate the group's encryption key. The articles are
+     * re-encrypted in the background; progress is shown by Key Rotation Status.
+     * 
+     * @param groupName
+     */
+    private void rotateGroupKey(String groupName) {
+    	Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+    	confirm.setTitle("Rotate Group Key");
+    	confirm.setHeaderText("Re-encrypt every article in " + groupName + " under a new key?");
+    	confirm.setContentText("Articles stay readable while the rotation runs.");
+    	
+    	confirm.showAndWait().ifPresent(response -> {
+    		if (response == ButtonType.OK) {
+    			DatabaseTasks.run(() -> accessGroups.startKeyRotation(groupName),
+    					started -> showAlert("Rotate Group Key", started),
+    					error -> showErrorDialog("Database Error", "The key rotation could not be started.", error.getMessage()));
+    		}
+    	});
+    }
+    
     /**
      * Here an admin of a group can edit an article in the group
      * 
@@ -2709,12 +3027,21 @@ public class StartCSE360 extends Application {
                 TextArea bodyArea = new TextArea();
                 bodyArea.setPromptText("Edit Article Body");
                 bodyArea.setWrapText(true);
+                
+                /** The version the body was read at, sent back with the save to detect a concurrent edit */
+                SpecialAccessGroups.ArticleBody article;
                 try {
-					bodyArea.setText(SpecialAccessGroups.getArticleBodyByID(articleID));
+					article = SpecialAccessGroups.getArticleBody(groupName, articleID);
 				} catch (Exception e) {
-					
 					e.printStackTrace();
-				} //ADD BODY ARTICLE HERE
+					showAlert("Error", "There was an error retrieving your article");
+					return;
+				}
+                if (article == null) {
+                	showAlert("Error", "There is no article matching that ID in the group");
+                	return;
+                }
+                bodyArea.setText(article.getBody());
 
                 
 
@@ -2743,9 +3070,16 @@ public class StartCSE360 extends Application {
                     String body = bodyArea.getText().trim();
                    
 
-                    try {
-                    	
-                    	SpecialAccessGroups.insertArticleBody(articleID, body);
+                    DatabaseTasks.run(() -> SpecialAccessGroups.updateArticleBody(groupName, articleID, body, article.getVersion()), newVersion -> {
+                    	if (newVersion < 0) {
+                    		Alert conflictAlert = new Alert(Alert.AlertType.WARNING);
+                    		conflictAlert.setTitle("Edit Conflict");
+                    		conflictAlert.setHeaderText("Article Changed by Someone Else");
+                    		conflictAlert.setContentText("The article was edited or removed after you opened it, so your changes were not saved. "
+                    				+ "Copy your text, then open the article again to see the latest version.");
+                    		conflictAlert.showAndWait();
+                    		return;
+                    	}
                     	
                         Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
                         successAlert.setTitle("Success");
@@ -2753,15 +3087,14 @@ public class StartCSE360 extends Application {
                         successAlert.setContentText("The article has been edited successfully.");
                         successAlert.showAndWait();
                         editStage.close();
-                     
-                    } catch (SQLException ex) {
-                        System.out.println("Error Editing article: " + ex.getMessage());
+                    }, error -> {
+                        System.out.println("Error Editing article: " + error.getMessage());
                         Alert errorAlert = new Alert(Alert.AlertType.ERROR);
                         errorAlert.setTitle("Database Error");
                         errorAlert.setHeaderText("Failed to Edit Article");
-                        errorAlert.setContentText("Error: " + ex.getMessage());
+                        errorAlert.setContentText("Error: " + error.getMessage());
                         errorAlert.showAndWait();
-                    }
+                    });
                 });
 
                 /** Cancel Button Action */
@@ -2791,12 +3124,24 @@ public class StartCSE360 extends Application {
      */
     private void listSpecialArticles(String groupname) {
     	
-    	try {
-			showAlert("All Articles in " + groupname, accessGroups.listSpecialArticle(groupname) );
-		} catch (Exception e) {
-			
-			e.printStackTrace();
-		} 
+    	PagedListView.show("All Articles in " + groupname, "There are no articles in this group.", new PagedListView.PageSource() {
+    		public int count() throws Exception {
+    			return accessGroups.countSpecialArticles(groupname);
+    		}
+
+    		public List<ListingRow> fetchAfter(int afterId, int limit) throws Exception {
+    			return accessGroups.listSpecialArticlePage(groupname, afterId, limit);
+    		}
+    	}, row -> {
+    		// Rights come from the session, as in specialArticleIDView
+    		if (session == null || !session.hasViewingRights(groupname)) {
+    			showAlert("Error","You do not have viewing rights for this group");
+    			return;
+    		}
+    		DatabaseTasks.run(() -> accessGroups.displayArticleByID(groupname, row.id),
+    				article -> showAlert("Article by ID", article),
+    				error -> showAlert("Error","There was an error retrieving your article"));
+    	});
     	
     }
     
@@ -2816,10 +3161,15 @@ public class StartCSE360 extends Application {
 
         idDialog.showAndWait().ifPresent(input -> {
         	
-        	int articleID = Integer.parseInt(input);
+        	// Rights come from the session, so no query is needed before the article fetch
+        	if (session == null || !session.hasViewingRights(groupname)) {
+        		showAlert("Error","You do not have viewing rights for this group");
+        		return;
+        	}
         	
         	String article;
 			try {
+				int articleID = Integer.parseInt(input.trim());
 				article = accessGroups.displayArticleByID(groupname, articleID);
 				
 				if(article.compareTo("") == 0) {
@@ -2852,6 +3202,7 @@ public class StartCSE360 extends Application {
     	/**Name Field*/
         TextField authorField = new TextField();
         authorField.setPromptText("Enter author to search");
+        AutoComplete.attach(authorField, accessGroups.getCompletions(groupname)::completeAuthors);
         
 
         /** Send and Cancel Buttons*/
@@ -2879,23 +3230,16 @@ public class StartCSE360 extends Application {
             
             String author = authorField.getText().trim();
 
-            try {
-            	/** Find help article and display it using Database*/
+            /** Find help article and display it using Database*/
+            DatabaseTasks.run(() -> accessGroups.displayArticleByAuthor(author, groupname), found -> {
             	Alert infoAlert = new Alert(Alert.AlertType.INFORMATION);
             	infoAlert.setTitle("Articles Searched");
             	infoAlert.setHeaderText("Found Articles:");
-            	infoAlert.setContentText(accessGroups.displayArticleByAuthor(author, groupname));
+            	infoAlert.setContentText(found);
             	infoAlert.showAndWait();
                 
             	searchByAuthorStage.close();
-            	
-            } catch (Exception ex) {
-                Alert errorAlert = new Alert(Alert.AlertType.ERROR);
-                errorAlert.setTitle("Database Error");
-                errorAlert.setHeaderText("Failed to Find Help Articles");
-                errorAlert.setContentText("Error: " + ex.getMessage());
-                errorAlert.showAndWait();
-            }
+            }, this::showSearchError);
         });
 
         /** Cancel Button Action */
@@ -2921,6 +3265,7 @@ public class StartCSE360 extends Application {
     	/**Words Field*/
         TextField wordsField = new TextField();
         wordsField.setPromptText("Enter word or phrase");
+        AutoComplete.attach(wordsField, accessGroups.getCompletions(groupname)::completeWords);
         
 
         /** Send and Cancel Buttons*/
@@ -2940,7 +3285,41 @@ public class StartCSE360 extends Application {
         HBox buttonLayout = new HBox(10, sendButton, cancelButton);
         buttonLayout.setAlignment(Pos.CENTER);
 
-        VBox mainLayout = new VBox(10, formLayout, buttonLayout);
+        /** Results update as the user types, from the group's word index */
+        IncrementalSearch liveSearch = new IncrementalSearch(wordsField, new IncrementalSearch.Searcher() {
+            public List<SearchHit> search(String text) throws Exception {
+                return accessGroups.searchArticleHits(text, groupname);
+            }
+
+            public long version() {
+                return accessGroups.getSearchVersion(groupname);
+            }
+
+            // Every word must match, so adding words can only narrow the hits
+            public boolean narrows(String earlier, String text) {
+                Set<String> earlierWords = SpecialSearchIndex.terms(earlier);
+                return !earlierWords.isEmpty() && SpecialSearchIndex.terms(text).containsAll(earlierWords);
+            }
+
+            public boolean matches(SearchHit hit, String text) {
+                return hit.containsWords(text);
+            }
+        });
+        liveSearch.getListView().setOnMouseClicked(e -> {
+            SearchHit selected = liveSearch.getListView().getSelectionModel().getSelectedItem();
+            if (e.getClickCount() == 2 && selected != null) {
+                // Rights come from the session, as in specialArticleIDView
+                if (session == null || !session.hasViewingRights(groupname)) {
+                    showAlert("Error","You do not have viewing rights for this group");
+                    return;
+                }
+                DatabaseTasks.run(() -> accessGroups.displayArticleByID(groupname, selected.id),
+                        article -> showAlert("Article by ID", article),
+                        error -> showAlert("Error","There was an error retrieving your article"));
+            }
+        });
+
+        VBox mainLayout = new VBox(10, formLayout, liveSearch.getStatus(), liveSearch.getListView(), buttonLayout);
         mainLayout.setPadding(new javafx.geometry.Insets(20));
 
         /** Submit Button Action */
@@ -2949,35 +3328,73 @@ public class StartCSE360 extends Application {
             String words = wordsField.getText().trim();
            
 
-            try {
-            	/** Find help article and display it using Database*/
+            /** Find help article and display it using Database*/
+            DatabaseTasks.run(() -> accessGroups.searchArticlesByWord(words, groupname), found -> {
             	Alert infoAlert = new Alert(Alert.AlertType.INFORMATION);
             	infoAlert.setTitle("Articles Searched");
             	infoAlert.setHeaderText("Found Articles:");
-            	infoAlert.setContentText(accessGroups.searchArticlesByWord(words, groupname));
+            	infoAlert.setContentText(found);
             	infoAlert.showAndWait();
             	
             	searchByWordsStage.close();
-            } catch (Exception ex) {
-                Alert errorAlert = new Alert(Alert.AlertType.ERROR);
-                errorAlert.setTitle("Database Error");
-                errorAlert.setHeaderText("Failed to Find Help Articles");
-                errorAlert.setContentText("Error: " + ex.getMessage());
-                errorAlert.showAndWait();
-            }
+            }, this::showSearchError);
         });
 
         /** Cancel Button Action */
         cancelButton.setOnAction(e -> searchByWordsStage.close());
 
         /** Set the Scene and Show */
-        Scene searchByWordsScene = new Scene(mainLayout, 300, 300);
+        Scene searchByWordsScene = new Scene(mainLayout, 450, 450);
         searchByWordsStage.setScene(searchByWordsScene);
         searchByWordsStage.show();
     }
     
     
     
+	/** ------------ Session Verification  ------------ */
+
+    /**
+     * Checks that the logged in user proved their password recently before a privileged
+     * action. The password is only asked for, and hashed, again once the verification
+     * issued at login has expired.
+     *
+     * @return true if the privileged action may continue
+     */
+    private boolean ensureVerified() {
+        if (databaseHelper.isSessionVerified(session)) {
+            return true;
+        }
+        if (session == null) {
+            showAlert("Error", "Please log in again.");
+            return false;
+        }
+
+        Dialog<String> passwordDialog = new Dialog<>();
+        passwordDialog.setTitle("Confirm Password");
+        passwordDialog.setHeaderText("Your session has expired. Enter your password to continue:");
+
+        PasswordField passwordField = new PasswordField();
+        passwordField.setPromptText("Password");
+        passwordDialog.getDialogPane().setContent(new VBox(10, passwordField));
+        passwordDialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        passwordDialog.setResultConverter(button -> button == ButtonType.OK ? passwordField.getText() : null);
+
+        Optional<String> password = passwordDialog.showAndWait();
+        if (!password.isPresent()) {
+            return false;
+        }
+        try {
+            if (databaseHelper.reverifySession(session, password.get())) {
+                return true;
+            }
+            showAlert("Error", "Invalid credentials!");
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+
 	/** ------------ Alert Function for Errors or Certain Displays  ------------ */
 
     /**
@@ -0,0 +1,170 @@
+/**
+ * The StorageBenchmark class runs the article workload against each StorageConfig
+ * profile, so the profile that suits the machine can be chosen with numbers rather
+ * than guessed.
+ *
+ * Usage: java simpleDatabase.StorageBenchmark [articles] [rounds]
+ *
+ * Each profile gets a fresh database in a temporary directory, which is deleted
+ * afterwards, so the database of the application is not touched. The workload creates
+ * the articles, then times word searches, paged listings, delete and recover, and
+ * reading an article as of an earlier time. The fastest profile that keeps its data on
+ * disk is printed as the recommended value for the cse360.db.profile property.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+
+class StorageBenchmark {
+
+	/** Words the article bodies are made of, so searches match a share of them. */
+	static final String[] WORDS = { "java", "database", "search", "login", "backup", "group", "article", "help" };
+
+	public static void main(String[] args) throws Exception {
+		int articles = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		Path directory = Files.createTempDirectory("cse360-storage-benchmark");
+
+		System.out.println(articles + " articles, " + rounds + " rounds of each read and update");
+		System.out.println(String.format("%-12s %-12s %-12s %-12s %-14s %-12s %-12s %s", "Profile", "Create (ms)",
+				"Search (ms)", "Page (ms)", "Delete (ms)", "As of (ms)", "Total (ms)", "File (KB)"));
+
+		String recommended = null;
+		double fastest = Double.MAX_VALUE;
+		try {
+			// Let the JIT compile the JDBC and H2 paths before anything is timed
+			run("default", directory.resolve("warm-up"), Math.min(articles, 100), 10);
+
+			for (String profile : StorageConfig.PROFILES.keySet()) {
+				Result result = run(profile, directory.resolve(profile), articles, rounds);
+				StorageConfig config = result.config;
+				String file = config.isMemory() ? "in memory"
+						: String.valueOf(new File(config.getPath() + ".mv.db").length() / 1024);
+				System.out.println(String.format("%-12s %-12.1f %-12.3f %-12.3f %-14.3f %-12.3f %-12.1f %s", profile,
+						result.create, result.search, result.page, result.delete, result.asOf, result.total(), file));
+				if (!config.isMemory() && result.total() < fastest) {
+					fastest = result.total();
+					recommended = profile;
+				}
+			}
+		} finally {
+			DatabaseCore.closeSharedConnection();
+			delete(directory);
+		}
+
+		System.out.println("Create is the total for all articles; the other columns are the average per round.");
+		System.out.println("Recommended: -D" + StorageConfig.PROFILE_PROPERTY + "=" + recommended);
+	}
+
+	/**
+	 * The timings of one profile in milliseconds: the total to create the articles, and
+	 * the average per round of the rest.
+	 */
+	private static final class Result {
+		final StorageConfig config;
+		final double create;
+		final double search;
+		final double page;
+		final double delete;
+		final double asOf;
+
+		Result(StorageConfig config, double create, double search, double page, double delete, double asOf) {
+			this.config = config;
+			this.create = create;
+			this.search = search;
+			this.page = page;
+			this.delete = delete;
+			this.asOf = asOf;
+		}
+
+		double total() {
+			return create + search + page + delete + asOf;
+		}
+	}
+
+	/**
+	 * Runs the workload against a new database stored with the given profile.
+	 */
+	private static Result run(String profile, Path directory, int articles, int rounds) throws Exception {
+		Properties properties = new Properties();
+		properties.setProperty(StorageConfig.PROFILE_PROPERTY, profile);
+		properties.setProperty(StorageConfig.PATH_PROPERTY, directory.resolve("benchmark").toString());
+		StorageConfig config = StorageConfig.of(properties);
+		DatabaseCore.useStorage(config);
+
+		DatabaseHelper databaseHelper = new DatabaseHelper();
+		databaseHelper.connectToDatabase();
+		try {
+			long start = System.nanoTime();
+			for (int i = 0; i < articles; i++) {
+				String word = WORDS[i % WORDS.length];
+				databaseHelper.createHelpArticle("Article " + i + " about " + word, "Author " + (i % 20),
+						"How to use " + word, "The " + word + " guide, part " + i + ".", "beginner", "General",
+						word + ", guide", "public", "", "");
+			}
+			double create = millisSince(start);
+
+			long search = 0;
+			long page = 0;
+			long delete = 0;
+			long asOf = 0;
+			Timestamp created = new Timestamp(System.currentTimeMillis());
+			for (int round = 0; round < rounds; round++) {
+				String word = WORDS[round % WORDS.length];
+				int id = 1 + round % articles;
+
+				start = System.nanoTime();
+				databaseHelper.searchArticlesByWord(word);
+				search += System.nanoTime() - start;
+
+				start = System.nanoTime();
+				// Ids run from 1, so the page after id n is the one a listing reaches after n rows
+				int afterId = round % 4 * PagedListView.PAGE_SIZE;
+				databaseHelper.countArticlesByWord(word);
+				databaseHelper.searchArticlesByWordPage(word, afterId, PagedListView.PAGE_SIZE);
+				databaseHelper.listArticlesPage(afterId, PagedListView.PAGE_SIZE);
+				page += System.nanoTime() - start;
+
+				start = System.nanoTime();
+				if (!databaseHelper.deleteArticle(id) || databaseHelper.recoverLastDeletion() != 1) {
+					throw new IllegalStateException("Delete and recover failed for article " + id + " with profile " + profile);
+				}
+				delete += System.nanoTime() - start;
+
+				start = System.nanoTime();
+				databaseHelper.getArticleAsOf(id, created);
+				asOf += System.nanoTime() - start;
+			}
+			return new Result(config, create, average(search, rounds), average(page, rounds), average(delete, rounds),
+					average(asOf, rounds));
+		} finally {
+			databaseHelper.closeConnection();
+		}
+	}
+
+	private static double millisSince(long start) {
+		return (System.nanoTime() - start) / 1000000.0;
+	}
+
+	private static double average(long nanos, int rounds) {
+		return nanos / (double) rounds / 1000000.0;
+	}
+
+	private static void delete(Path directory) throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+}
@@ -0,0 +1,300 @@
+/**
+ * The StorageConfig class describes where and how the embedded H2 database is stored,
+ * so the store can be tuned for the machine it runs on without changing the code.
+ *
+ * Responsibilities:
+ * - Read the cse360.db properties from the system properties, and from the file
+ *   named by cse360.db.config when one is given. System properties win over the file.
+ * - Start from a named profile, which any single property can override.
+ * - Build the JDBC URL with the cache size, write delay, lock timeout and MVStore
+ *   settings, or an in-memory URL for tests.
+ * - In server mode, point the URL at the DatabaseServer over TCP, so several clients
+ *   share one store.
+ * - Hold the user name and password of the database, read from cse360.db.user and
+ *   cse360.db.password. They apply when the database file is first created, so an
+ *   existing store keeps the password it was created with.
+ *
+ * Settings that are not given are left to H2's defaults.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+
+class StorageConfig {
+
+	/** ------------ Declarations  ------------ */
+
+	static final String CONFIG_FILE_PROPERTY = "cse360.db.config";
+	static final String PROFILE_PROPERTY = "cse360.db.profile";
+	static final String PATH_PROPERTY = "cse360.db.path";
+	static final String MEMORY_PROPERTY = "cse360.db.memory";
+	static final String KEEP_DATA_PROPERTY = "cse360.db.keepData";
+	static final String CACHE_SIZE_PROPERTY = "cse360.db.cacheSizeKb";
+	static final String WRITE_DELAY_PROPERTY = "cse360.db.writeDelayMs";
+	static final String LOCK_TIMEOUT_PROPERTY = "cse360.db.lockTimeoutMs";
+	static final String COMPRESS_PROPERTY = "cse360.db.compress";
+	static final String RETENTION_TIME_PROPERTY = "cse360.db.retentionTimeMs";
+	static final String AUTO_COMPACT_FILL_RATE_PROPERTY = "cse360.db.autoCompactFillRate";
+	static final String SERVER_PROPERTY = "cse360.db.server";
+	static final String SERVER_HOST_PROPERTY = "cse360.db.server.host";
+	static final String SERVER_PORT_PROPERTY = "cse360.db.server.port";
+	static final String SERVER_ALLOW_OTHERS_PROPERTY = "cse360.db.server.allowOthers";
+	static final String POOL_SIZE_PROPERTY = "cse360.db.poolSize";
+	static final String USER_PROPERTY = "cse360.db.user";
+	static final String PASSWORD_PROPERTY = "cse360.db.password";
+
+	static final String DEFAULT_PROFILE = "default";
+	static final String DEFAULT_PATH = "~/firstDatabase";
+	static final String DEFAULT_SERVER_HOST = "localhost";
+	static final int DEFAULT_SERVER_PORT = 9092;
+	static final int DEFAULT_POOL_SIZE = 4;
+	static final String DEFAULT_USER = "sa";
+	static final String DEFAULT_PASSWORD = "";
+
+	/**
+	 * The profiles, each a set of the properties above:
+	 * - default: H2's own settings.
+	 * - throughput: a 128 MB cache and writes flushed at most once a second.
+	 * - durable: every commit written to disk before it returns.
+	 * - compact: a small cache, compressed pages and no retention of old versions, for
+	 *   machines short on memory or disk.
+	 * - test: an in-memory database that is gone when the application exits.
+	 */
+	static final Map<String, Map<String, String>> PROFILES;
+
+	static {
+		Map<String, Map<String, String>> profiles = new LinkedHashMap<>();
+		profiles.put(DEFAULT_PROFILE, Collections.emptyMap());
+
+		Map<String, String> throughput = new LinkedHashMap<>();
+		throughput.put(CACHE_SIZE_PROPERTY, "131072");
+		throughput.put(WRITE_DELAY_PROPERTY, "1000");
+		profiles.put("throughput", throughput);
+
+		profiles.put("durable", Collections.singletonMap(WRITE_DELAY_PROPERTY, "0"));
+
+		Map<String, String> compact = new LinkedHashMap<>();
+		compact.put(CACHE_SIZE_PROPERTY, "4096");
+		compact.put(COMPRESS_PROPERTY, "true");
+		compact.put(RETENTION_TIME_PROPERTY, "0");
+		compact.put(AUTO_COMPACT_FILL_RATE_PROPERTY, "70");
+		profiles.put("compact", compact);
+
+		profiles.put("test", Collections.singletonMap(MEMORY_PROPERTY, "true"));
+		PROFILES = Collections.unmodifiableMap(profiles);
+	}
+
+	private final String profile;
+	private final String path;
+	private final boolean memory;
+	private final boolean keepData;
+	private final Integer cacheSizeKb;
+	private final Integer writeDelayMs;
+	private final Integer lockTimeoutMs;
+	private final Boolean compress;
+	private final Integer retentionTimeMs;
+	private final Integer autoCompactFillRate;
+	private final boolean server;
+	private final String serverHost;
+	private final int serverPort;
+	private final boolean allowOthers;
+	private final int poolSize;
+	private final String user;
+	private final String password;
+
+
+	private StorageConfig(Properties properties) {
+		profile = properties.getProperty(PROFILE_PROPERTY, DEFAULT_PROFILE);
+		Map<String, String> defaults = PROFILES.get(profile);
+		if (defaults == null) {
+			throw new IllegalArgumentException("Unknown " + PROFILE_PROPERTY + " '" + profile + "', expected one of " + PROFILES.keySet());
+		}
+		Properties settings = new Properties();
+		settings.putAll(defaults);
+		for (String name : properties.stringPropertyNames()) {
+			settings.setProperty(name, properties.getProperty(name));
+		}
+
+		path = settings.getProperty(PATH_PROPERTY, DEFAULT_PATH);
+		memory = Boolean.parseBoolean(settings.getProperty(MEMORY_PROPERTY));
+		keepData = Boolean.parseBoolean(settings.getProperty(KEEP_DATA_PROPERTY));
+		cacheSizeKb = intSetting(settings, CACHE_SIZE_PROPERTY);
+		writeDelayMs = intSetting(settings, WRITE_DELAY_PROPERTY);
+		lockTimeoutMs = intSetting(settings, LOCK_TIMEOUT_PROPERTY);
+		compress = settings.getProperty(COMPRESS_PROPERTY) == null ? null : Boolean.valueOf(settings.getProperty(COMPRESS_PROPERTY));
+		retentionTimeMs = intSetting(settings, RETENTION_TIME_PROPERTY);
+		autoCompactFillRate = intSetting(settings, AUTO_COMPACT_FILL_RATE_PROPERTY);
+		server = Boolean.parseBoolean(settings.getProperty(SERVER_PROPERTY));
+		serverHost = settings.getProperty(SERVER_HOST_PROPERTY, DEFAULT_SERVER_HOST);
+		Integer port = intSetting(settings, SERVER_PORT_PROPERTY);
+		serverPort = port == null ? DEFAULT_SERVER_PORT : port;
+		allowOthers = Boolean.parseBoolean(settings.getProperty(SERVER_ALLOW_OTHERS_PROPERTY));
+		Integer pool = intSetting(settings, POOL_SIZE_PROPERTY);
+		poolSize = pool == null ? DEFAULT_POOL_SIZE : Math.max(1, pool);
+		user = settings.getProperty(USER_PROPERTY, DEFAULT_USER);
+		password = settings.getProperty(PASSWORD_PROPERTY, DEFAULT_PASSWORD);
+	}
+
+
+	/** ------------ Load  ------------ */
+
+	/**
+	 * Reads the configuration of this run: the file named by cse360.db.config, if any,
+	 * overridden by the system properties. A file that cannot be read is reported and
+	 * skipped, so the application still starts.
+	 */
+	static StorageConfig load() {
+		Properties properties = new Properties();
+		String file = System.getProperty(CONFIG_FILE_PROPERTY);
+		if (file != null) {
+			try (Reader reader = new FileReader(file)) {
+				properties.load(reader);
+			} catch (IOException e) {
+				System.err.println("Could not read storage configuration " + file + ": " + e.getMessage());
+			}
+		}
+		for (String name : System.getProperties().stringPropertyNames()) {
+			properties.setProperty(name, System.getProperty(name));
+		}
+		return new StorageConfig(properties);
+	}
+
+	/**
+	 * Builds a configuration from the given properties alone, for StorageBenchmark.
+	 */
+	static StorageConfig of(Properties properties) {
+		return new StorageConfig(properties);
+	}
+
+
+	/** ------------ Read  ------------ */
+
+	/**
+	 * Builds the JDBC URL the application connects with: the local database, or in
+	 * server mode the same database through the DatabaseServer.
+	 */
+	public String jdbcUrl() {
+		if (server) {
+			return databaseUrl("jdbc:h2:tcp://" + serverHost + ":" + serverPort + "/");
+		}
+		return localUrl();
+	}
+
+	/**
+	 * Builds the URL that opens the database in this process, which the DatabaseServer
+	 * uses in server mode. Only the settings that were given are added.
+	 */
+	public String localUrl() {
+		return databaseUrl("jdbc:h2:");
+	}
+
+	private String databaseUrl(String prefix) {
+		StringBuilder url = new StringBuilder(prefix);
+		if (memory) {
+			// Kept until the JVM exits, rather than until the last connection closes
+			url.append("mem:cse360;DB_CLOSE_DELAY=-1");
+		} else {
+			url.append(path);
+		}
+		appendSetting(url, "CACHE_SIZE", cacheSizeKb);
+		appendSetting(url, "WRITE_DELAY", writeDelayMs);
+		appendSetting(url, "LOCK_TIMEOUT", lockTimeoutMs);
+		if (!memory) {
+			appendSetting(url, "COMPRESS", compress == null ? null : compress.toString().toUpperCase());
+			appendSetting(url, "RETENTION_TIME", retentionTimeMs);
+			appendSetting(url, "AUTO_COMPACT_FILL_RATE", autoCompactFillRate);
+		}
+		return url.toString();
+	}
+
+	public String getProfile() {
+		return profile;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public boolean isMemory() {
+		return memory;
+	}
+
+	/**
+	 * Whether the tables and their data are kept across restarts. By default every
+	 * start drops the users and articles, with their history and indexes. In server
+	 * mode the data is always kept, so a client joining does not wipe the shared store.
+	 */
+	public boolean keepsData() {
+		return keepData || server;
+	}
+
+	public boolean isServer() {
+		return server;
+	}
+
+	public String getServerHost() {
+		return serverHost;
+	}
+
+	public int getServerPort() {
+		return serverPort;
+	}
+
+	public boolean allowsOthers() {
+		return allowOthers;
+	}
+
+	/** The most connections each client opens, the shared one included. */
+	public int getPoolSize() {
+		return poolSize;
+	}
+
+	public String getUser() {
+		return user;
+	}
+
+	public String getPassword() {
+		return password;
+	}
+
+	public boolean hasPassword() {
+		return !password.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "Storage profile " + profile + ": " + jdbcUrl();
+	}
+
+
+	/** ------------ Helpers  ------------ */
+
+	private static Integer intSetting(Properties settings, String name) {
+		String value = settings.getProperty(name);
+		if (value == null || value.trim().isEmpty()) {
+			return null;
+		}
+		try {
+			return Integer.valueOf(value.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(name + " must be a whole number, was '" + value + "'");
+		}
+	}
+
+	private static void appendSetting(StringBuilder url, String name, Object value) {
+		if (value != null) {
+			url.append(';').append(name).append('=').append(value);
+		}
+	}
+}
@@ -0,0 +1,160 @@
+/**
+ * The TransferProgress class tracks a backup or restore as it runs and reports it to a
+ * ProgressListener.
+ *
+ * Responsibilities:
+ * - Count the rows and bytes processed against the totals, when they are known.
+ * - Work out the throughput and the time left.
+ * - Call the listener at most every REPORT_INTERVAL_MILLIS, and when the work ends.
+ *
+ * Bytes are counted as each line's UTF-8 encoding plus its line break, the way the
+ * backup files are written, so the count matches the file size.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.nio.charset.StandardCharsets;
+
+class TransferProgress {
+
+	/** ------------ Declarations  ------------ */
+
+	static final long REPORT_INTERVAL_MILLIS = 100;
+
+	/** A total that is not known in advance. */
+	static final long UNKNOWN = -1;
+
+	private final ProgressListener listener;
+	private final long totalRows;
+	private final long totalBytes;
+	private final long startNanos = System.nanoTime();
+	private long lastReportNanos = startNanos;
+	private long rows = 0;
+	private long bytes = 0;
+	private boolean finished = false;
+
+
+	TransferProgress(ProgressListener listener, long totalRows, long totalBytes) {
+		this.listener = listener;
+		this.totalRows = totalRows;
+		this.totalBytes = totalBytes;
+	}
+
+
+	/** ------------ Update  ------------ */
+
+	/**
+	 * Returns the bytes a line takes in a backup file, with its line break.
+	 */
+	static long lineBytes(String line) {
+		return line.getBytes(StandardCharsets.UTF_8).length + System.lineSeparator().length();
+	}
+
+	/**
+	 * Records rows and bytes processed, reporting if the interval has passed.
+	 */
+	public void advance(long rowCount, long byteCount) {
+		rows += rowCount;
+		bytes += byteCount;
+		long now = System.nanoTime();
+		if (now - lastReportNanos >= REPORT_INTERVAL_MILLIS * 1000000L) {
+			lastReportNanos = now;
+			listener.onProgress(this);
+		}
+	}
+
+	/**
+	 * Records that the work ended and reports the final numbers.
+	 */
+	public void finish() {
+		finished = true;
+		listener.onProgress(this);
+	}
+
+
+	/** ------------ Read  ------------ */
+
+	public long getRows() {
+		return rows;
+	}
+
+	public long getTotalRows() {
+		return totalRows;
+	}
+
+	public long getBytes() {
+		return bytes;
+	}
+
+	public long getTotalBytes() {
+		return totalBytes;
+	}
+
+	public boolean isFinished() {
+		return finished;
+	}
+
+	public double getElapsedSeconds() {
+		return (System.nanoTime() - startNanos) / 1000000000.0;
+	}
+
+	public double getBytesPerSecond() {
+		double seconds = getElapsedSeconds();
+		return seconds <= 0 ? 0 : bytes / seconds;
+	}
+
+	/**
+	 * Returns the share of the work done from 0 to 1, by bytes if their total is known
+	 * and otherwise by rows, or UNKNOWN if neither total is known.
+	 */
+	public double getFraction() {
+		if (finished) {
+			return 1;
+		}
+		if (totalBytes > 0) {
+			return Math.min(1, (double) bytes / totalBytes);
+		}
+		if (totalRows > 0) {
+			return Math.min(1, (double) rows / totalRows);
+		}
+		return UNKNOWN;
+	}
+
+	/**
+	 * Returns the estimated seconds left, or UNKNOWN before there is enough to go on.
+	 */
+	public long getEtaSeconds() {
+		double fraction = getFraction();
+		if (fraction <= 0) {
+			return UNKNOWN;
+		}
+		return Math.round(getElapsedSeconds() * (1 - fraction) / fraction);
+	}
+
+	/**
+	 * Describes the progress in one line, for a status label.
+	 */
+	@Override
+	public String toString() {
+		String text = "Rows: " + rows + (totalRows > 0 ? " of " + totalRows : "")
+				+ ", " + formatBytes(bytes) + " at " + formatBytes((long) getBytesPerSecond()) + "/s";
+		if (finished) {
+			return text + ", done in " + Math.round(getElapsedSeconds()) + " s";
+		}
+		long eta = getEtaSeconds();
+		return eta == UNKNOWN ? text : text + ", about " + eta + " s left";
+	}
+
+	private static String formatBytes(long count) {
+		if (count >= 1024 * 1024) {
+			return String.format("%.1f MB", count / (1024.0 * 1024.0));
+		}
+		if (count >= 1024) {
+			return String.format("%.1f KB", count / 1024.0);
+		}
+		return count + " B";
+	}
+}
@@ -0,0 +1,174 @@
+/**
+ * The UserSession class holds the identity of the user that is currently logged
+ * in to the StartCSE360.java system application. It is created once at login and
+ * handed to every screen so that the user row, role and special access group rights
+ * do not have to be looked up again on each action.
+ *
+ * Responsibilities:
+ * - Hold the user's id, username, role and profile details loaded at login.
+ * - Cache the admin and viewing rights the user has for each special access group.
+ * - Answer rights checks for the special access screens without a database query.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+
+class UserSession {
+
+	/** ------------ Declarations  ------------ */
+
+	/**
+	 * Identity of the logged in user, loaded from the cse360users row at login.
+	 */
+	private final int userId;
+	private final String username;
+	private final String role;
+	private final String fullName;
+	private final String prefName;
+	private final String skillLevel;
+
+	/**
+	 * Special access group rights of the user keyed by group name.
+	 */
+	private Map<String, GroupRights> groupRights = new HashMap<>();
+
+	/**
+	 * Token issued by the verified session cache when the password was checked, so
+	 * privileged actions can skip re-hashing the password while it is still valid.
+	 */
+	private String verificationToken;
+
+
+	/**
+	 * Creates a session for a user that has just been authenticated.
+	 *
+	 * @param userId the id of the user row.
+	 * @param username the username of the user.
+	 * @param role the role of the user (e.g., admin, instructor, student).
+	 * @param fullName the full name of the user.
+	 * @param prefName the preferred name of the user.
+	 * @param skillLevel the skill level of the user.
+	 */
+	UserSession(int userId, String username, String role, String fullName, String prefName, String skillLevel) {
+		this.userId = userId;
+		this.username = username;
+		this.role = role;
+		this.fullName = fullName;
+		this.prefName = prefName;
+		this.skillLevel = skillLevel;
+	}
+
+
+	/** ------------ Identity  ------------ */
+
+	public int getUserId() {
+		return userId;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public String getRole() {
+		return role;
+	}
+
+	public String getFullName() {
+		return fullName;
+	}
+
+	public String getPrefName() {
+		return prefName;
+	}
+
+	public String getSkillLevel() {
+		return skillLevel;
+	}
+
+	String getVerificationToken() {
+		return verificationToken;
+	}
+
+	void setVerificationToken(String verificationToken) {
+		this.verificationToken = verificationToken;
+	}
+
+	/**
+	 * Checks if the session belongs to a user with the given role.
+	 *
+	 * @param expectedRole the role to compare against.
+	 * @return true if the user has that role, false otherwise.
+	 */
+	public boolean hasRole(String expectedRole) {
+		return role != null && role.compareTo(expectedRole) == 0;
+	}
+
+
+	/** ------------ Special Access Group Rights  ------------ */
+
+	/**
+	 * Replaces the cached group rights, called by SpecialAccessGroups when the
+	 * rights are loaded at login or refreshed after they change.
+	 *
+	 * @param rights the rights of the user keyed by group name.
+	 */
+	void setGroupRights(Map<String, GroupRights> rights) {
+		this.groupRights = new HashMap<>(rights);
+	}
+
+	/**
+	 * Returns the rights of the user for every special access group they belong to.
+	 */
+	public Map<String, GroupRights> getGroupRights() {
+		return Collections.unmodifiableMap(groupRights);
+	}
+
+	/**
+	 * Checks if the user has admin rights for a special access group.
+	 *
+	 * @param groupName the name of the group.
+	 * @return true if the user has admin rights for the group, false otherwise.
+	 */
+	public boolean hasAdminRights(String groupName) {
+		GroupRights rights = groupRights.get(groupName);
+		return rights != null && rights.adminRights;
+	}
+
+	/**
+	 * Checks if the user has viewing rights for a special access group.
+	 *
+	 * @param groupName the name of the group.
+	 * @return true if the user has viewing rights for the group, false otherwise.
+	 */
+	public boolean hasViewingRights(String groupName) {
+		GroupRights rights = groupRights.get(groupName);
+		return rights != null && rights.viewingRights;
+	}
+
+
+	/**
+	 * Rights a user holds in a single special access group. A user may appear
+	 * in specialUsers more than once for the same group, so rights are merged.
+	 */
+	static class GroupRights {
+		boolean adminRights;
+		boolean viewingRights;
+
+		GroupRights(boolean adminRights, boolean viewingRights) {
+			this.adminRights = adminRights;
+			this.viewingRights = viewingRights;
+		}
+
+		void merge(boolean admin, boolean viewing) {
+			adminRights = adminRights || admin;
+			viewingRights = viewingRights || viewing;
+		}
+	}
+}
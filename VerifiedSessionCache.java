@@ -0,0 +1,119 @@
+/**
+ * The VerifiedSessionCache class remembers, for a short time, that a user has
+ * proven their password. Privileged actions check the token issued at login
+ * instead of asking for and re-hashing the password on every action.
+ *
+ * Responsibilities:
+ * - Issue a random token after a password has been verified.
+ * - Answer whether a token is still valid for a user.
+ * - Expire tokens after the configured time to live and revoke them on logout.
+ *
+ * The time to live defaults to 15 minutes and can be changed with the
+ * cse360.session.ttlSeconds system property.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+class VerifiedSessionCache {
+
+	/** ------------ Declarations  ------------ */
+
+	static final long DEFAULT_TTL_SECONDS = 15 * 60;
+	static final String TTL_PROPERTY = "cse360.session.ttlSeconds";
+
+	private static final int TOKEN_BYTES = 24;
+
+	private final long ttlMillis;
+	private final SecureRandom random = new SecureRandom();
+	private final ConcurrentHashMap<String, Entry> tokens = new ConcurrentHashMap<>();
+
+
+	VerifiedSessionCache() {
+		this(Long.getLong(TTL_PROPERTY, DEFAULT_TTL_SECONDS) * 1000);
+	}
+
+	VerifiedSessionCache(long ttlMillis) {
+		this.ttlMillis = ttlMillis;
+	}
+
+
+	/** ------------ Tokens  ------------ */
+
+	/**
+	 * Issues a token for a user whose password has just been verified.
+	 *
+	 * @param username the verified user.
+	 * @return the new token.
+	 */
+	public String issue(String username) {
+		byte[] bytes = new byte[TOKEN_BYTES];
+		random.nextBytes(bytes);
+		String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+		tokens.put(token, new Entry(username, System.currentTimeMillis() + ttlMillis));
+		purgeExpired();
+		return token;
+	}
+
+	/**
+	 * Checks if a token is still valid for the given user. Expired tokens are removed.
+	 *
+	 * @param token the token held by the session.
+	 * @param username the user the session belongs to.
+	 * @return true if the user verified their password within the time to live.
+	 */
+	public boolean isVerified(String token, String username) {
+		if (token == null) {
+			return false;
+		}
+		Entry entry = tokens.get(token);
+		if (entry == null) {
+			return false;
+		}
+		if (entry.expiresAt < System.currentTimeMillis()) {
+			tokens.remove(token);
+			return false;
+		}
+		return entry.username.compareTo(username) == 0;
+	}
+
+	/**
+	 * Revokes a single token, used on logout.
+	 */
+	public void revoke(String token) {
+		if (token != null) {
+			tokens.remove(token);
+		}
+	}
+
+	/**
+	 * Revokes every token of a user, used when their password is reset or the
+	 * account is removed.
+	 */
+	public void revokeUser(String username) {
+		tokens.values().removeIf(entry -> entry.username.compareTo(username) == 0);
+	}
+
+	private void purgeExpired() {
+		long now = System.currentTimeMillis();
+		tokens.values().removeIf(entry -> entry.expiresAt < now);
+	}
+
+
+	private static class Entry {
+		final String username;
+		final long expiresAt;
+
+		Entry(String username, long expiresAt) {
+			this.username = username;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -0,0 +1,132 @@
+/**
+ * The ArticleCacheTest class checks the cache of displayed help articles.
+ *
+ * Responsibilities:
+ * - Check that the cache stays within its character limit and evicts with the clock
+ *   algorithm, keeping the articles that were read again.
+ * - Check that an invalidated article is dropped while every other one is still found.
+ * - Check that text read across an invalidation is not cached.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+
+class ArticleCacheTest {
+
+	/** ------------ Eviction  ------------ */
+
+	@Test
+	void articleReadAgainOutlivesOneThatWasNot() {
+		ArticleCache cache = new ArticleCache(10);
+		cache.put(1, "aaaa", cache.stamp());
+		cache.put(2, "bbbb", cache.stamp());
+		assertEquals("aaaa", cache.get(1));
+
+		cache.put(3, "cccc", cache.stamp());
+
+		assertEquals("aaaa", cache.get(1));
+		assertNull(cache.get(2));
+		assertEquals("cccc", cache.get(3));
+		assertTrue(cache.getStatistics().contains("Characters: 8"), cache.getStatistics());
+		assertTrue(cache.getStatistics().contains("Evictions: 1"), cache.getStatistics());
+	}
+
+	@Test
+	void cacheStaysWithinItsLimit() {
+		ArticleCache cache = new ArticleCache(100);
+		for (int id = 0; id < 500; id++) {
+			cache.put(id, "0123456789", cache.stamp());
+		}
+
+		assertTrue(cache.getStatistics().startsWith("Entries: 10, Characters: 100,"), cache.getStatistics());
+		assertEquals("0123456789", cache.get(499));
+	}
+
+	@Test
+	void replacingAnArticleCountsOnlyItsNewText() {
+		ArticleCache cache = new ArticleCache(10);
+		cache.put(1, "aaaaaaaa", cache.stamp());
+		cache.put(1, "aa", cache.stamp());
+		cache.put(2, "bbbbbbbb", cache.stamp());
+
+		assertEquals("aa", cache.get(1));
+		assertEquals("bbbbbbbb", cache.get(2));
+	}
+
+	@Test
+	void articleLongerThanTheCacheIsNotKept() {
+		ArticleCache cache = new ArticleCache(4);
+		cache.put(1, "aaaa", cache.stamp());
+		cache.put(2, "bbbbb", cache.stamp());
+
+		assertNull(cache.get(2));
+		assertEquals("aaaa", cache.get(1));
+	}
+
+
+	/** ------------ Invalidation  ------------ */
+
+	@Test
+	void invalidatedArticleIsDropped() {
+		ArticleCache cache = new ArticleCache(1000);
+		cache.put(1, "one", cache.stamp());
+		cache.put(2, "two", cache.stamp());
+
+		cache.invalidate(1);
+
+		assertNull(cache.get(1));
+		assertEquals("two", cache.get(2));
+	}
+
+	@Test
+	void remainingArticlesAreFoundAfterRemovals() {
+		ArticleCache cache = new ArticleCache(100000);
+		for (int id = 0; id < 1000; id++) {
+			cache.put(id, "article " + id, cache.stamp());
+		}
+		for (int id = 0; id < 1000; id += 2) {
+			cache.invalidate(id);
+		}
+
+		for (int id = 0; id < 1000; id++) {
+			if (id % 2 == 0) {
+				assertNull(cache.get(id));
+			} else {
+				assertEquals("article " + id, cache.get(id));
+			}
+		}
+	}
+
+	@Test
+	void textReadAcrossAnInvalidationIsNotCached() {
+		ArticleCache cache = new ArticleCache(1000);
+		long stamp = cache.stamp();
+		cache.invalidate(1);
+
+		cache.put(1, "old text", stamp);
+
+		assertNull(cache.get(1));
+	}
+
+	@Test
+	void clearDropsEverything() {
+		ArticleCache cache = new ArticleCache(1000);
+		long stamp = cache.stamp();
+		cache.put(1, "one", stamp);
+		cache.clear();
+
+		assertNull(cache.get(1));
+		cache.put(2, "two", stamp);
+		assertNull(cache.get(2));
+		assertTrue(cache.getStatistics().startsWith("Entries: 0, Characters: 0,"), cache.getStatistics());
+	}
+}
@@ -0,0 +1,146 @@
+/**
+ * The ArticleDeltaStoreTest class checks the edit history of special articles: the
+ * changes computed between two bodies, and the rebuilding of every version from the
+ * snapshots and changes stored in an in-memory database.
+ *
+ * Responsibilities:
+ * - Check that applying a change to the body it was computed from gives the new body.
+ * - Check that a small edit is stored as a small change.
+ * - Check that every recorded version can be rebuilt across snapshot boundaries.
+ * - Check that removed or unrecorded versions are not rebuilt.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import Encryption.EncryptionHelper;
+
+
+class ArticleDeltaStoreTest {
+
+	private static final String GROUP = "history";
+
+	private Path keyFile;
+	private Connection connection;
+	private ArticleDeltaStore store;
+
+
+	@BeforeEach
+	void open() throws Exception {
+		Properties properties = new Properties();
+		properties.setProperty(StorageConfig.PROFILE_PROPERTY, "test");
+		DatabaseCore.useStorage(StorageConfig.of(properties));
+
+		keyFile = Files.createTempFile("cse360-test", ".key");
+		Files.delete(keyFile);
+		connection = DriverManager.getConnection("jdbc:h2:mem:deltaStoreTest");
+		store = new ArticleDeltaStore(connection, new EncryptionHelper(keyFile), 3);
+		store.createTable();
+	}
+
+	@AfterEach
+	void close() throws Exception {
+		connection.close();
+		Files.deleteIfExists(keyFile);
+	}
+
+
+	/** ------------ Changes  ------------ */
+
+	private static void assertRoundTrip(String from, String to) {
+		assertEquals(to, ArticleDeltaStore.apply(from, ArticleDeltaStore.diff(from, to)));
+	}
+
+	@Test
+	void changesRoundTrip() {
+		assertRoundTrip("same body", "same body");
+		assertRoundTrip("", "");
+		assertRoundTrip("", "a new body");
+		assertRoundTrip("an old body", "");
+		assertRoundTrip("the body", "the new body");
+		assertRoundTrip("the old body", "the body");
+		assertRoundTrip("the old body", "the new body");
+		assertRoundTrip("aaaa", "aaaaaa");
+		assertRoundTrip("aaaaaa", "aaaa");
+		assertRoundTrip("abab", "ababab");
+		assertRoundTrip("key: value", "key: other: value");
+		assertRoundTrip("1:2:3", "1:22:3");
+		assertRoundTrip("caf\u00e9 \uD83D\uDE00", "caf\u00e9 au lait \uD83D\uDE00");
+		// Two emoji that share a high surrogate, so the change starts inside a pair
+		assertRoundTrip("\uD83D\uDE00", "\uD83D\uDE01");
+	}
+
+	@Test
+	void smallEditIsASmallChange() {
+		StringBuilder body = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			body.append("line ").append(i).append('\n');
+		}
+		String from = body.toString();
+		String to = from.replace("line 500\n", "line five hundred\n");
+
+		String delta = ArticleDeltaStore.diff(from, to);
+		assertTrue(delta.length() < 30, delta);
+		assertEquals(to, ArticleDeltaStore.apply(from, delta));
+	}
+
+
+	/** ------------ Rebuild  ------------ */
+
+	private List<String> recordEdits(int articleId, int edits) throws Exception {
+		List<String> bodies = new ArrayList<>();
+		bodies.add("version 1");
+		for (int version = 2; version <= edits + 1; version++) {
+			String body = bodies.get(version - 2) + " then " + version;
+			store.recordEdit(GROUP, articleId, 1, bodies.get(version - 2), version - 1, body, version);
+			bodies.add(body);
+		}
+		return bodies;
+	}
+
+	@Test
+	void everyVersionIsRebuilt() throws Exception {
+		List<String> bodies = recordEdits(7, 8);
+
+		for (int version = 1; version <= bodies.size(); version++) {
+			assertEquals(bodies.get(version - 1), store.reconstruct(GROUP, 7, version));
+		}
+		assertNull(store.reconstruct(GROUP, 7, bodies.size() + 1));
+	}
+
+	@Test
+	void historyIsKeptPerGroupAndArticle() throws Exception {
+		recordEdits(7, 2);
+
+		assertNull(store.reconstruct(GROUP, 8, 1));
+		assertNull(store.reconstruct("other", 7, 1));
+	}
+
+	@Test
+	void removedArticleIsNotRebuilt() throws Exception {
+		recordEdits(7, 4);
+		recordEdits(8, 1);
+
+		store.removeArticle(7);
+
+		assertNull(store.reconstruct(GROUP, 7, 1));
+		assertNull(store.reconstruct(GROUP, 7, 5));
+		assertEquals("version 1 then 2", store.reconstruct(GROUP, 8, 2));
+	}
+}
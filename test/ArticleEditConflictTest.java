@@ -0,0 +1,105 @@
+/**
+ * The ArticleEditConflictTest class checks the version compare-and-set of
+ * SpecialAccessGroups.updateArticleBody against an in-memory database.
+ *
+ * Responsibilities:
+ * - Check that an edit of the version read is saved and raises the version.
+ * - Check that of two editors of the same version only the first one saves.
+ * - Check that an edit of a removed article is reported as a conflict.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+
+class ArticleEditConflictTest {
+
+	private static final String GROUP = "edits";
+
+	private Path keyFile;
+	private SpecialAccessGroups groups;
+	private int id;
+
+
+	@BeforeEach
+	void connect() throws Exception {
+		Properties properties = new Properties();
+		properties.setProperty(StorageConfig.PROFILE_PROPERTY, "test");
+		DatabaseCore.useStorage(StorageConfig.of(properties));
+
+		keyFile = Files.createTempFile("cse360-test", ".key");
+		Files.delete(keyFile);
+		System.setProperty("cse360.keyFile", keyFile.toString());
+
+		groups = new SpecialAccessGroups();
+		groups.connectToDatabase();
+		groups.addSpecialArticle("Title", "author", "description", "first body", GROUP, "keywords", "", "");
+		// Ids come from a sequence that outlives the dropped tables, so the listing names it
+		id = groups.listSpecialArticlePage(GROUP, PagedListView.FIRST_PAGE, 1).get(0).id;
+	}
+
+	@AfterEach
+	void close() throws Exception {
+		groups.closeConnection();
+		Files.deleteIfExists(keyFile);
+	}
+
+
+	@Test
+	void editOfTheVersionReadIsSaved() throws Exception {
+		SpecialAccessGroups.ArticleBody read = SpecialAccessGroups.getArticleBody(GROUP, id);
+		assertEquals(1, read.getVersion());
+
+		assertEquals(2, SpecialAccessGroups.updateArticleBody(GROUP, id, "second body", read.getVersion()));
+
+		SpecialAccessGroups.ArticleBody saved = SpecialAccessGroups.getArticleBody(GROUP, id);
+		assertEquals("second body", saved.getBody());
+		assertEquals(2, saved.getVersion());
+	}
+
+	@Test
+	void secondEditorOfTheSameVersionIsRejected() throws Exception {
+		int first = SpecialAccessGroups.getArticleBody(GROUP, id).getVersion();
+		int second = SpecialAccessGroups.getArticleBody(GROUP, id).getVersion();
+
+		assertEquals(2, SpecialAccessGroups.updateArticleBody(GROUP, id, "first editor", first));
+		assertEquals(-1, SpecialAccessGroups.updateArticleBody(GROUP, id, "second editor", second));
+
+		SpecialAccessGroups.ArticleBody saved = SpecialAccessGroups.getArticleBody(GROUP, id);
+		assertEquals("first editor", saved.getBody());
+		assertEquals(2, saved.getVersion());
+		// The rejected edit leaves no version behind in the history
+		assertEquals("first body", SpecialAccessGroups.getArticleBodyAtVersion(GROUP, id, 1));
+		assertNull(SpecialAccessGroups.getArticleBodyAtVersion(GROUP, id, 3));
+	}
+
+	@Test
+	void editOfAnOlderVersionIsRejected() throws Exception {
+		assertEquals(2, SpecialAccessGroups.updateArticleBody(GROUP, id, "second body", 1));
+		assertEquals(3, SpecialAccessGroups.updateArticleBody(GROUP, id, "third body", 2));
+
+		assertEquals(-1, SpecialAccessGroups.updateArticleBody(GROUP, id, "stale body", 2));
+		assertEquals("third body", SpecialAccessGroups.getArticleBody(GROUP, id).getBody());
+	}
+
+	@Test
+	void editOfARemovedArticleIsRejected() throws Exception {
+		int version = SpecialAccessGroups.getArticleBody(GROUP, id).getVersion();
+		groups.deleteSpecialArticle(GROUP, id);
+
+		assertEquals(-1, SpecialAccessGroups.updateArticleBody(GROUP, id, "too late", version));
+		assertNull(SpecialAccessGroups.getArticleBody(GROUP, id));
+	}
+}
@@ -0,0 +1,176 @@
+/**
+ * The CompletionTrieTest class checks the prefix tree behind title, author and
+ * keyword autocomplete.
+ *
+ * Responsibilities:
+ * - Check that completions start with the prefix, ignoring case, and keep the
+ *   casing the string was first added with.
+ * - Check that completions come most frequent first, shorter first among equals,
+ *   and stop at the limit.
+ * - Check that adding and removing strings splits and merges edges without losing
+ *   the strings around them.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+
+class CompletionTrieTest {
+
+	private static CompletionTrie trieOf(String... texts) {
+		CompletionTrie trie = new CompletionTrie();
+		for (String text : texts) {
+			trie.add(text);
+		}
+		return trie;
+	}
+
+	private static void assertCompletes(CompletionTrie trie, String prefix, String... expected) {
+		assertEquals(new HashSet<>(Arrays.asList(expected)), new HashSet<>(trie.complete(prefix, 100)));
+	}
+
+
+	/** ------------ Complete  ------------ */
+
+	@Test
+	void completesOnlyStringsWithThePrefix() {
+		CompletionTrie trie = trieOf("java", "javafx", "javascript", "jdbc", "python");
+
+		assertCompletes(trie, "jav", "java", "javafx", "javascript");
+		assertCompletes(trie, "java", "java", "javafx", "javascript");
+		assertCompletes(trie, "javas", "javascript");
+		assertCompletes(trie, "j", "java", "javafx", "javascript", "jdbc");
+		assertCompletes(trie, "javax");
+		assertCompletes(trie, "ruby");
+	}
+
+	@Test
+	void emptyPrefixCompletesEverything() {
+		CompletionTrie trie = trieOf("java", "python");
+
+		assertCompletes(trie, "", "java", "python");
+	}
+
+	@Test
+	void matchesIgnoringCaseAndKeepsTheFirstCasing() {
+		CompletionTrie trie = trieOf("  JavaFX Basics ", "javafx basics");
+
+		assertEquals(List.of("JavaFX Basics"), trie.complete("JAVAfx", 10));
+		assertEquals(1, trie.size());
+	}
+
+	@Test
+	void mostFrequentComesFirst() {
+		CompletionTrie trie = trieOf("java", "javafx", "javafx", "javascript", "javascript", "javascript");
+
+		assertEquals(List.of("javascript", "javafx", "java"), trie.complete("ja", 10));
+	}
+
+	@Test
+	void shorterComesFirstAmongEquals() {
+		CompletionTrie trie = trieOf("javafx basics", "javafx", "java");
+
+		assertEquals(List.of("java", "javafx", "javafx basics"), trie.complete("j", 10));
+	}
+
+	@Test
+	void stopsAtTheLimit() {
+		CompletionTrie trie = trieOf("a1", "a2", "a3", "a4", "a2", "a3", "a3");
+
+		assertEquals(List.of("a3", "a2"), trie.complete("a", 2));
+		assertTrue(trie.complete("a", 0).isEmpty());
+	}
+
+
+	/** ------------ Update  ------------ */
+
+	@Test
+	void splitEdgesKeepEveryString() {
+		CompletionTrie trie = trieOf("database", "data", "date", "dog");
+
+		assertCompletes(trie, "dat", "database", "data", "date");
+		assertCompletes(trie, "data", "database", "data");
+		assertCompletes(trie, "d", "database", "data", "date", "dog");
+		assertEquals(4, trie.size());
+	}
+
+	@Test
+	void removeTakesOneCountAtATime() {
+		CompletionTrie trie = trieOf("java", "java", "javafx");
+
+		trie.remove("java");
+		assertEquals(List.of("java", "javafx"), trie.complete("j", 10));
+		assertEquals(2, trie.size());
+
+		trie.remove("JAVA");
+		assertEquals(List.of("javafx"), trie.complete("j", 10));
+		assertEquals(1, trie.size());
+	}
+
+	@Test
+	void removePrunesAndMergesEdges() {
+		CompletionTrie trie = trieOf("data", "database", "date");
+
+		trie.remove("data");
+		trie.remove("date");
+		assertCompletes(trie, "d", "database");
+		assertCompletes(trie, "datab", "database");
+
+		trie.remove("database");
+		assertEquals(0, trie.size());
+		assertCompletes(trie, "");
+
+		trie.add("data");
+		assertCompletes(trie, "d", "data");
+	}
+
+	@Test
+	void removeOfAMissingStringChangesNothing() {
+		CompletionTrie trie = trieOf("database");
+
+		trie.remove("data");
+		trie.remove("databases");
+		trie.remove("python");
+
+		assertCompletes(trie, "d", "database");
+		assertEquals(1, trie.size());
+	}
+
+	@Test
+	void countsFollowRemovals() {
+		CompletionTrie trie = trieOf("java", "java", "java", "javafx", "javafx");
+
+		trie.remove("java");
+		trie.remove("java");
+
+		assertEquals(List.of("javafx", "java"), trie.complete("j", 10));
+	}
+
+	@Test
+	void blankStringsAreIgnored() {
+		CompletionTrie trie = trieOf("", "   ", null);
+
+		assertEquals(0, trie.size());
+		assertCompletes(trie, "");
+	}
+
+	@Test
+	void clearEmptiesTheTree() {
+		CompletionTrie trie = trieOf("java", "python");
+
+		trie.clear();
+
+		assertEquals(0, trie.size());
+		assertCompletes(trie, "");
+	}
+}
@@ -0,0 +1,130 @@
+/**
+ * The FuzzyTitleMatcherTest class checks the matching of generic help questions to
+ * the closest article titles.
+ *
+ * Responsibilities:
+ * - Check that a question finds its title despite typos, case and punctuation.
+ * - Check that titles are ranked best first and unrelated titles are not suggested.
+ * - Check that replaced and removed titles are no longer matched.
+ * - Check the normalization, trigram and edit distance helpers.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+
+class FuzzyTitleMatcherTest {
+
+	private static FuzzyTitleMatcher matcherOf(String... titles) {
+		FuzzyTitleMatcher matcher = new FuzzyTitleMatcher();
+		for (int id = 0; id < titles.length; id++) {
+			matcher.put(id + 1, titles[id]);
+		}
+		return matcher;
+	}
+
+
+	/** ------------ Match  ------------ */
+
+	@Test
+	void exactTitleComesFirst() {
+		FuzzyTitleMatcher matcher = matcherOf("Installing Eclipse", "Installing JavaFX", "Git Basics");
+
+		assertEquals(Integer.valueOf(2), matcher.closest("Installing JavaFX", 3).get(0));
+	}
+
+	@Test
+	void typosCaseAndPunctuationStillMatch() {
+		FuzzyTitleMatcher matcher = matcherOf("Installing Eclipse", "Installing JavaFX", "Git Basics");
+
+		assertEquals(Integer.valueOf(2), matcher.closest("instaling javfx?", 3).get(0));
+		assertEquals(Integer.valueOf(3), matcher.closest("GIT -- basic", 3).get(0));
+		assertEquals(Integer.valueOf(1), matcher.closest("installing eclpise", 3).get(0));
+	}
+
+	@Test
+	void unrelatedQuestionFindsNothing() {
+		FuzzyTitleMatcher matcher = matcherOf("Installing Eclipse", "Installing JavaFX", "Git Basics");
+
+		assertTrue(matcher.closest("weather forecast", 3).isEmpty());
+		assertTrue(matcher.closest("", 3).isEmpty());
+		assertTrue(matcher.closest("?!", 3).isEmpty());
+	}
+
+	@Test
+	void resultsStopAtTheLimit() {
+		FuzzyTitleMatcher matcher = matcherOf("Java Basics", "Java Basics 2", "Java Basics 3");
+
+		List<Integer> closest = matcher.closest("java basics", 2);
+
+		assertEquals(2, closest.size());
+		assertEquals(Integer.valueOf(1), closest.get(0));
+	}
+
+
+	/** ------------ Update  ------------ */
+
+	@Test
+	void replacedTitleMatchesOnlyItsNewText() {
+		FuzzyTitleMatcher matcher = matcherOf("Installing Eclipse", "Git Basics");
+
+		matcher.put(1, "Debugging in Eclipse");
+
+		assertEquals(List.of(1), matcher.closest("debuging eclipse", 3));
+		assertTrue(matcher.closest("installing", 3).isEmpty());
+	}
+
+	@Test
+	void removedTitleIsNotMatched() {
+		FuzzyTitleMatcher matcher = matcherOf("Installing Eclipse", "Installing JavaFX");
+
+		matcher.remove(2);
+		matcher.remove(7);
+
+		assertEquals(List.of(1), matcher.closest("installing javafx", 3));
+	}
+
+	@Test
+	void clearRemovesEveryTitle() {
+		FuzzyTitleMatcher matcher = matcherOf("Installing Eclipse", "Git Basics");
+
+		matcher.clear();
+
+		assertTrue(matcher.closest("git basics", 3).isEmpty());
+	}
+
+
+	/** ------------ Helpers  ------------ */
+
+	@Test
+	void normalizeFoldsCaseAndPunctuation() {
+		assertEquals("what s new in java 21", FuzzyTitleMatcher.normalize("  What's NEW -- in Java 21?! "));
+		assertEquals("", FuzzyTitleMatcher.normalize(null));
+		assertEquals("", FuzzyTitleMatcher.normalize("..."));
+	}
+
+	@Test
+	void trigramsArePaddedAndDistinct() {
+		assertEquals(Set.of(" gi", "git", "it "), FuzzyTitleMatcher.trigrams("git"));
+		assertEquals(Set.of(" aa", "aaa", "aa "), FuzzyTitleMatcher.trigrams("aaaa"));
+	}
+
+	@Test
+	void distanceCountsEdits() {
+		assertEquals(0, FuzzyTitleMatcher.distance("java", "java"));
+		assertEquals(4, FuzzyTitleMatcher.distance("", "java"));
+		assertEquals(4, FuzzyTitleMatcher.distance("java", ""));
+		assertEquals(1, FuzzyTitleMatcher.distance("java", "jave"));
+		assertEquals(1, FuzzyTitleMatcher.distance("java", "jva"));
+		assertEquals(3, FuzzyTitleMatcher.distance("kitten", "sitting"));
+	}
+}
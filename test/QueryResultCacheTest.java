@@ -0,0 +1,148 @@
+/**
+ * The QueryResultCacheTest class checks the cache of article listings by author and
+ * by group.
+ *
+ * Responsibilities:
+ * - Check that a write to an article makes the listings of its group and author stale
+ *   and leaves the others cached.
+ * - Check that a listing computed while a write landed is not cached.
+ * - Check that a full invalidation drops every listing.
+ * - Check that the least recently used listing is evicted at the entry limit.
+ *
+ * @version 1.0
+ * @date October 18, 2026
+ */
+
+package simpleDatabase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+
+class QueryResultCacheTest {
+
+	private static final String GROUP = QueryResultCache.BY_GROUP;
+	private static final String AUTHOR = QueryResultCache.BY_AUTHOR;
+	private static final String SCOPE = "admin";
+
+	private static void putCurrent(QueryResultCache cache, String kind, String parameter, String result) {
+		cache.put(kind, SCOPE, parameter, cache.stamp(kind, parameter), result);
+	}
+
+
+	/** ------------ Invalidation  ------------ */
+
+	@Test
+	void articleChangeMakesItsGroupAndAuthorStale() {
+		QueryResultCache cache = new QueryResultCache(16);
+		putCurrent(cache, GROUP, "java", "java listing");
+		putCurrent(cache, GROUP, "python", "python listing");
+		putCurrent(cache, AUTHOR, "ada", "ada listing");
+		putCurrent(cache, AUTHOR, "alan", "alan listing");
+
+		cache.articleChanged("java", "ada");
+
+		assertNull(cache.get(GROUP, SCOPE, "java"));
+		assertNull(cache.get(AUTHOR, SCOPE, "ada"));
+		assertEquals("python listing", cache.get(GROUP, SCOPE, "python"));
+		assertEquals("alan listing", cache.get(AUTHOR, SCOPE, "alan"));
+	}
+
+	@Test
+	void groupChangeLeavesAuthorsCached() {
+		QueryResultCache cache = new QueryResultCache(16);
+		putCurrent(cache, GROUP, "java", "java listing");
+		putCurrent(cache, GROUP, "python", "python listing");
+		putCurrent(cache, AUTHOR, "ada", "ada listing");
+
+		cache.groupChanged("java");
+
+		assertNull(cache.get(GROUP, SCOPE, "java"));
+		assertEquals("python listing", cache.get(GROUP, SCOPE, "python"));
+		assertEquals("ada listing", cache.get(AUTHOR, SCOPE, "ada"));
+	}
+
+	@Test
+	void groupAndAuthorOfTheSameNameAreSeparate() {
+		QueryResultCache cache = new QueryResultCache(16);
+		putCurrent(cache, GROUP, "same", "group listing");
+		putCurrent(cache, AUTHOR, "same", "author listing");
+
+		cache.groupChanged("same");
+
+		assertNull(cache.get(GROUP, SCOPE, "same"));
+		assertEquals("author listing", cache.get(AUTHOR, SCOPE, "same"));
+	}
+
+	@Test
+	void listingComputedAcrossAWriteIsNotCached() {
+		QueryResultCache cache = new QueryResultCache(16);
+		long version = cache.stamp(GROUP, "java");
+		cache.articleChanged("java", "ada");
+
+		cache.put(GROUP, SCOPE, "java", version, "stale listing");
+
+		assertNull(cache.get(GROUP, SCOPE, "java"));
+	}
+
+	@Test
+	void allChangedDropsEveryListing() {
+		QueryResultCache cache = new QueryResultCache(16);
+		long version = cache.stamp(GROUP, "java");
+		putCurrent(cache, GROUP, "java", "java listing");
+		putCurrent(cache, AUTHOR, "ada", "ada listing");
+
+		cache.allChanged();
+
+		assertNull(cache.get(GROUP, SCOPE, "java"));
+		assertNull(cache.get(AUTHOR, SCOPE, "ada"));
+		cache.put(GROUP, SCOPE, "java", version, "stale listing");
+		assertNull(cache.get(GROUP, SCOPE, "java"));
+		putCurrent(cache, GROUP, "java", "new listing");
+		assertEquals("new listing", cache.get(GROUP, SCOPE, "java"));
+	}
+
+	@Test
+	void latestChangesWithEveryWrite() {
+		QueryResultCache cache = new QueryResultCache(16);
+		long first = cache.latest();
+		cache.groupChanged("java");
+		long second = cache.latest();
+		cache.articleChanged("python", "ada");
+
+		assertTrue(first < second);
+		assertTrue(second < cache.latest());
+	}
+
+
+	/** ------------ Lookup  ------------ */
+
+	@Test
+	void listingsAreKeptPerScope() {
+		QueryResultCache cache = new QueryResultCache(16);
+		cache.put(GROUP, "admin", "java", cache.stamp(GROUP, "java"), "every article");
+		cache.put(GROUP, "student", "java", cache.stamp(GROUP, "java"), "public articles");
+
+		assertEquals("every article", cache.get(GROUP, "admin", "java"));
+		assertEquals("public articles", cache.get(GROUP, "student", "java"));
+		assertNull(cache.get(GROUP, "instructor", "java"));
+	}
+
+	@Test
+	void leastRecentlyUsedListingIsEvicted() {
+		QueryResultCache cache = new QueryResultCache(2);
+		putCurrent(cache, GROUP, "one", "one listing");
+		putCurrent(cache, GROUP, "two", "two listing");
+		assertEquals("one listing", cache.get(GROUP, SCOPE, "one"));
+
+		putCurrent(cache, GROUP, "three", "three listing");
+
+		assertEquals("one listing", cache.get(GROUP, SCOPE, "one"));
+		assertNull(cache.get(GROUP, SCOPE, "two"));
+		assertEquals("three listing", cache.get(GROUP, SCOPE, "three"));
+		assertTrue(cache.getStatistics().startsWith("Entries: 2,"), cache.getStatistics());
+	}
+}